@@ -0,0 +1,61 @@
+package io.github.elenaaltuhova.vouchersystem.benchmark;
+
+import io.github.elenaaltuhova.vouchersystem.util.ApiKeyAuthentication;
+import io.github.elenaaltuhova.vouchersystem.util.ApiKeyRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the API key check that runs before every request, for a valid and for a rejected key,
+ * with registries of different sizes.
+ *
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class AuthenticationFilterBenchmark {
+    private static final String TOKEN = "benchmarkkey";
+
+    @Param({"1", "1000", "10000"})
+    private int keys;
+
+    private ApiKeyRegistry apiKeyRegistry;
+    private String validKey;
+
+    @Setup
+    public void setup() {
+        StringBuilder keysFile = new StringBuilder();
+        for (int i = 1; i < keys; i++) {
+            keysFile.append("partner-").append(i).append(' ').append(ApiKeyRegistry.digestOf("partnerkey-" + i)).append(" vouchers\n");
+        }
+        apiKeyRegistry = new ApiKeyRegistry(TOKEN, new ByteArrayResource(keysFile.toString().getBytes(StandardCharsets.UTF_8)));
+        validKey = keys > 1 ? "partnerkey-" + (keys / 2) : TOKEN;
+    }
+
+    @Benchmark
+    public Optional<ApiKeyAuthentication> validApiKey() {
+        return apiKeyRegistry.authenticate(validKey);
+    }
+
+    @Benchmark
+    public Optional<ApiKeyAuthentication> invalidApiKey() {
+        return apiKeyRegistry.authenticate("wrongkey");
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.elenaaltuhova.vouchersystem.benchmark;
+
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import io.github.elenaaltuhova.vouchersystem.model.IssuedVoucher;
+import io.github.elenaaltuhova.vouchersystem.repository.SqlDialect;
+import io.github.elenaaltuhova.vouchersystem.repository.VoucherBulkRepositoryImpl;
+import io.github.elenaaltuhova.vouchersystem.service.VoucherCodesGeneratorService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of generating and bulk inserting voucher codes, for every code generator, reported in rows per second.
+ * <p>
+ * Every trial recreates a bare <code>vouchers</code> table with a unique index on the code and keeps inserting chunks
+ * into it, so the index grows through the run like it does in production. At the end of every iteration the rows in
+ * the table and the size of the code index, or of the table with its indexes on H2, are reported as the
+ * <code>rows</code>, <code>indexBytes</code> and <code>bytesPerRow</code> secondary results, which also land in the
+ * <code>-rf json</code> report. JMH sums such counters over the measurement iterations, so the size after each
+ * iteration is in the raw data of those results. By default it runs against an H2 file in <code>target</code>; point
+ * it to a scratch PostgreSQL database, never a real one, since the table is dropped:
+ * <p>
+ * <code>-Djmh.args="CodeInsertBenchmark -p url=jdbc:postgresql://localhost:5432/scratch -p user=... -p password=..."</code>
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class CodeInsertBenchmark {
+    private static final int CHUNK_SIZE = 10000;
+
+    @Param({"random", "thread-local-random", "time-ordered", "parallel", "signed"})
+    private String generator;
+
+    @Param({"jdbc:h2:file:./target/code-insert;DB_CLOSE_DELAY=-1"})
+    private String url;
+
+    @Param({"sa"})
+    private String user;
+
+    @Param({""})
+    private String password;
+
+    private JdbcTemplate jdbcTemplate;
+    private SqlDialect dialect;
+    private VoucherBulkRepositoryImpl voucherBulkRepository;
+    private VoucherCodesGeneratorService voucherCodesGeneratorService;
+    private CodeGeneratorType type;
+
+    @Setup
+    public void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, user, password);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        dialect = SqlDialect.of(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS vouchers");
+        jdbcTemplate.execute("CREATE TABLE vouchers (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+            "code UUID NOT NULL, campaign_id BIGINT NOT NULL, status SMALLINT NOT NULL)");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX vouchers_code_idx ON vouchers (code)");
+
+        voucherBulkRepository = new VoucherBulkRepositoryImpl(dataSource);
+        voucherCodesGeneratorService = VoucherCodesGeneratorBenchmark.generatorService(generator);
+        type = CodeGeneratorType.fromValue(generator);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE vouchers");
+    }
+
+    /**
+     * Size of the table at the end of an iteration, reported by JMH as secondary results of the insert benchmark.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class IndexSize {
+        public long rows;
+        public long indexBytes;
+        public double bytesPerRow;
+
+        @TearDown(Level.Iteration)
+        public void measure(CodeInsertBenchmark benchmark) {
+            JdbcTemplate jdbcTemplate = benchmark.jdbcTemplate;
+            rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vouchers", Long.class);
+            if (benchmark.dialect == SqlDialect.POSTGRESQL) {
+                jdbcTemplate.execute("VACUUM ANALYZE vouchers");
+                indexBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size('vouchers_code_idx')", Long.class);
+            } else {
+                jdbcTemplate.execute("CHECKPOINT SYNC");
+                indexBytes = jdbcTemplate.queryForObject("SELECT DISK_SPACE_USED('VOUCHERS')", Long.class);
+            }
+            bytesPerRow = (double) indexBytes / rows;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_SIZE)
+    public List<IssuedVoucher> insertChunk(IndexSize indexSize) {
+        return voucherBulkRepository.insertIssuedVouchers(1L, voucherCodesGeneratorService.generate(type, 1L, CHUNK_SIZE));
+    }
+}
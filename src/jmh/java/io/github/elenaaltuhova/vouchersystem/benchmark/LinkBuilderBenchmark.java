@@ -0,0 +1,105 @@
+package io.github.elenaaltuhova.vouchersystem.benchmark;
+
+import io.github.elenaaltuhova.vouchersystem.controller.CampaignController;
+import io.github.elenaaltuhova.vouchersystem.controller.LinkTemplates;
+import io.github.elenaaltuhova.vouchersystem.controller.VoucherController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the HATEOAS links both controllers add to every response, built with <code>WebMvcLinkBuilder</code>
+ * and with the {@link LinkTemplates} the controllers use.
+ * <p>
+ * The link builders read the host and port from the current request, so every benchmark thread binds one,
+ * as the servlet container does for a real request. The <code>createdVouchersLinks</code> benchmarks build the
+ * check links of a 500-voucher response.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class LinkBuilderBenchmark {
+    private final Long id = 1L;
+    private final String code = "ce90dfbd-ff2a-4e43-941c-ea26c04c6e7e";
+    private final String[] codes = new String[500];
+
+    public LinkBuilderBenchmark() {
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/vouchers/" + code + "/check");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown(Level.Trial)
+    public void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public Link campaignSelfLink() {
+        return WebMvcLinkBuilder.linkTo(CampaignController.class).slash(id).withSelfRel();
+    }
+
+    @Benchmark
+    public Link voucherJobSelfLink() {
+        return WebMvcLinkBuilder.linkTo(CampaignController.class).slash(id).slash("voucher-jobs").slash(id).withSelfRel();
+    }
+
+    @Benchmark
+    public Link voucherRedeemLink() {
+        return WebMvcLinkBuilder.linkTo(VoucherController.class).slash(id).slash("/redeem").withRel("redeem");
+    }
+
+    @Benchmark
+    public Link voucherCheckLink() {
+        return WebMvcLinkBuilder.linkTo(VoucherController.class).slash(code).slash("/check").withRel("check");
+    }
+
+    @Benchmark
+    public Link voucherCheckLinkFromTemplates() {
+        return LinkTemplates.forCurrentRequest().voucherCheck(code);
+    }
+
+    @Benchmark
+    public void createdVouchersLinksWithLinkBuilder(Blackhole blackhole) {
+        for (String voucherCode : codes) {
+            blackhole.consume(WebMvcLinkBuilder.linkTo(VoucherController.class).slash(voucherCode).slash("/check").withRel("check"));
+        }
+    }
+
+    @Benchmark
+    public void createdVouchersLinksFromTemplates(Blackhole blackhole) {
+        LinkTemplates links = LinkTemplates.forCurrentRequest();
+        for (String voucherCode : codes) {
+            blackhole.consume(links.voucherCheck(voucherCode));
+        }
+    }
+}
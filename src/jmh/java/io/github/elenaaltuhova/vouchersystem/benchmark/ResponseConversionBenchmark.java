@@ -0,0 +1,47 @@
+package io.github.elenaaltuhova.vouchersystem.benchmark;
+
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import io.github.elenaaltuhova.vouchersystem.model.CachedVoucher;
+import io.github.elenaaltuhova.vouchersystem.model.Campaign;
+import io.github.elenaaltuhova.vouchersystem.model.Voucher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of converting a voucher to the response DTO, from the entity and from the check cache.
+ *
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ResponseConversionBenchmark {
+    private final UUID code = UUID.fromString("ce90dfbd-ff2a-4e43-941c-ea26c04c6e7e");
+    private final Campaign campaign = new Campaign(1L, "Free Shipping", LocalDate.parse("2023-05-23"), null);
+    private final Voucher voucher = new Voucher(1L, code, campaign, VoucherStatus.ISSUED);
+    private final CachedVoucher cachedVoucher = new CachedVoucher(1L, 1L, VoucherStatus.ISSUED);
+
+    @Benchmark
+    public VoucherResponseDTO convertEntityToResponseDTO() {
+        return voucher.convertEntityToResponseDTO();
+    }
+
+    @Benchmark
+    public VoucherResponseDTO convertCachedVoucherToResponseDTO() {
+        return cachedVoucher.convertToResponseDTO(code, campaign.getTitle());
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.elenaaltuhova.vouchersystem.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.dto.response.Response;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.Link;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of writing and reading voucher responses as JSON, CBOR and Smile, for a single voucher and for the
+ * 500 vouchers of a creation response, with the object mappers Spring Boot configures for each format.
+ * <p>
+ * The size of the payload each read benchmark decodes is reported as its <code>payloadBytes</code> secondary result,
+ * which also lands in the <code>-rf json</code> report. JMH sums such counters over the measurement iterations, so the
+ * size itself is the value of every iteration in the raw data of that result.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ResponseFormatBenchmark {
+    private static final TypeReference<Response<VoucherResponseDTO>> VOUCHER = new TypeReference<>() {
+    };
+    private static final TypeReference<Response<List<VoucherResponseDTO>>> VOUCHERS = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private final Response<VoucherResponseDTO> voucherResponse = new Response<>();
+    private final Response<List<VoucherResponseDTO>> vouchersResponse = new Response<>();
+    private byte[] voucherPayload;
+    private byte[] vouchersPayload;
+
+    @Setup(Level.Trial)
+    public void createPayloads() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+
+        voucherResponse.setData(voucher(1L, "ce90dfbd-ff2a-4e43-941c-ea26c04c6e7e", "redeem"));
+        List<VoucherResponseDTO> vouchers = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            vouchers.add(voucher(id, UUID.randomUUID().toString(), "check"));
+        }
+        vouchersResponse.setData(vouchers);
+
+        voucherPayload = objectMapper.writeValueAsBytes(voucherResponse);
+        vouchersPayload = objectMapper.writeValueAsBytes(vouchersResponse);
+    }
+
+    /**
+     * Size of the payload a benchmark decodes, reported by JMH as a secondary result of the benchmarks that take it.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+
+    @Benchmark
+    public byte[] writeVoucher() throws IOException {
+        return objectMapper.writeValueAsBytes(voucherResponse);
+    }
+
+    @Benchmark
+    public Response<VoucherResponseDTO> readVoucher(PayloadSize size) throws IOException {
+        size.payloadBytes = voucherPayload.length;
+        return objectMapper.readValue(voucherPayload, VOUCHER);
+    }
+
+    @Benchmark
+    public byte[] writeVouchers() throws IOException {
+        return objectMapper.writeValueAsBytes(vouchersResponse);
+    }
+
+    @Benchmark
+    public Response<List<VoucherResponseDTO>> readVouchers(PayloadSize size) throws IOException {
+        size.payloadBytes = vouchersPayload.length;
+        return objectMapper.readValue(vouchersPayload, VOUCHERS);
+    }
+
+    private static VoucherResponseDTO voucher(Long id, String code, String rel) {
+        VoucherResponseDTO voucher = new VoucherResponseDTO(id, code, "Free Shipping", "SENT");
+        voucher.add(Link.of("http://localhost:8080/v1/vouchers/" + ("check".equals(rel) ? code + "/check" : id + "/redeem"), rel));
+        return voucher;
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.elenaaltuhova.vouchersystem.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.elenaaltuhova.vouchersystem.dto.CampaignResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.dto.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.Link;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of writing the <code>Response</code> envelope to JSON, with the object mapper Spring Boot configures.
+ *
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final Response<VoucherResponseDTO> voucherResponse = new Response<>();
+    private final Response<CampaignResponseDTO> campaignResponse = new Response<>();
+    private final Response<VoucherResponseDTO> errorResponse = new Response<>();
+
+    public ResponseSerializationBenchmark() {
+        VoucherResponseDTO voucher = new VoucherResponseDTO(1L, "ce90dfbd-ff2a-4e43-941c-ea26c04c6e7e", "Free Shipping", "ISSUED");
+        voucher.add(Link.of("http://localhost:8080/v1/vouchers/1/redeem", "redeem"));
+        voucherResponse.setData(voucher);
+
+        CampaignResponseDTO campaign = new CampaignResponseDTO();
+        campaign.setId(1L);
+        campaign.setTitle("Free Shipping");
+        campaign.setStartDate(LocalDate.parse("2023-05-23"));
+        campaign.add(Link.of("http://localhost:8080/v1/campaigns/1"));
+        campaignResponse.setData(campaign);
+
+        errorResponse.addErrorMsgToResponse("Voucher is already redeemed.");
+    }
+
+    @Benchmark
+    public byte[] serializeVoucherResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(voucherResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeCampaignResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(campaignResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeErrorResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(errorResponse);
+    }
+}
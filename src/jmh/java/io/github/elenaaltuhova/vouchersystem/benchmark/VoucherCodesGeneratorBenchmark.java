@@ -0,0 +1,66 @@
+package io.github.elenaaltuhova.vouchersystem.benchmark;
+
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import io.github.elenaaltuhova.vouchersystem.generator.ParallelCodeGenerator;
+import io.github.elenaaltuhova.vouchersystem.generator.RandomCodeGenerator;
+import io.github.elenaaltuhova.vouchersystem.generator.SignedCodeGenerator;
+import io.github.elenaaltuhova.vouchersystem.generator.SignedVoucherCodes;
+import io.github.elenaaltuhova.vouchersystem.generator.ThreadLocalRandomCodeGenerator;
+import io.github.elenaaltuhova.vouchersystem.generator.TimeOrderedCodeGenerator;
+import io.github.elenaaltuhova.vouchersystem.service.VoucherCodesGeneratorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of voucher code generation for a single insert chunk, for every code generator.
+ * <p>
+ * Run it with <code>-t 4</code> or more to see the generators that share one secure random contend.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class VoucherCodesGeneratorBenchmark {
+    @Param({"100", "1000", "10000"})
+    private int count;
+
+    @Param({"random", "thread-local-random", "time-ordered", "parallel", "signed"})
+    private String generator;
+
+    private VoucherCodesGeneratorService voucherCodesGeneratorService;
+    private CodeGeneratorType type;
+
+    @Setup
+    public void setUp() {
+        voucherCodesGeneratorService = generatorService(generator);
+        type = CodeGeneratorType.fromValue(generator);
+    }
+
+    @Benchmark
+    public List<UUID> generateUUIDCodes() {
+        return voucherCodesGeneratorService.generate(type, 1L, count);
+    }
+
+    static VoucherCodesGeneratorService generatorService(String defaultType) {
+        TimeOrderedCodeGenerator timeOrdered = new TimeOrderedCodeGenerator();
+        ParallelCodeGenerator parallel = new ParallelCodeGenerator(timeOrdered, 1000);
+        return new VoucherCodesGeneratorService(
+            List.of(new RandomCodeGenerator(), new ThreadLocalRandomCodeGenerator(), timeOrdered, parallel,
+                new SignedCodeGenerator(new SignedVoucherCodes("benchmark"))), defaultType);
+    }
+}
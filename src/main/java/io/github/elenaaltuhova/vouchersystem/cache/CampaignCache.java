@@ -0,0 +1,118 @@
+package io.github.elenaaltuhova.vouchersystem.cache;
+
+import io.github.elenaaltuhova.vouchersystem.model.CachedCampaign;
+import io.github.elenaaltuhova.vouchersystem.model.Campaign;
+import io.github.elenaaltuhova.vouchersystem.model.CampaignVersion;
+import io.github.elenaaltuhova.vouchersystem.repository.CampaignRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-through cache of campaign metadata (title, start and end date, code generator) keyed by campaign id.
+ * <p>
+ * There are only a few hundred campaigns and they rarely change, so all of them that were ever read stay cached.
+ * Every campaign carries a version that JPA increments on each update; the cache periodically reads the ids and
+ * versions of all campaigns and reloads the ones whose version moved, which also picks up changes made by other
+ * application instances. Campaigns created here are cached right away.
+ */
+@Log4j2
+@Component
+public class CampaignCache {
+    private final Map<Long, CachedCampaign> campaigns = new ConcurrentHashMap<>();
+
+    @Autowired
+    CampaignRepository campaignRepository;
+
+    /**
+     * Method that returns the metadata of a campaign, reading it from the database the first time.
+     *
+     * @param id
+     * @return Optional<CachedCampaign>, empty when there is no campaign with such id
+     */
+    public Optional<CachedCampaign> get(Long id) {
+        CachedCampaign cached = campaigns.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return campaignRepository.findById(id).map(this::put);
+    }
+
+    /**
+     * Method that returns the metadata of a campaign only when it is cached, without reading the database.
+     *
+     * @param id
+     * @return Optional<CachedCampaign>, empty when the campaign is not cached
+     */
+    public Optional<CachedCampaign> getCached(Long id) {
+        return Optional.ofNullable(campaigns.get(id));
+    }
+
+    /**
+     * Method that caches the metadata of a campaign that was just read or saved.
+     *
+     * @param campaign
+     * @return <code>CachedCampaign</code> object
+     */
+    public CachedCampaign put(Campaign campaign) {
+        return put(CachedCampaign.of(campaign));
+    }
+
+    /**
+     * Method that caches campaign metadata read together with another row, unless a newer version is cached.
+     *
+     * @param cached
+     * @return <code>CachedCampaign</code> object
+     */
+    public CachedCampaign put(CachedCampaign cached) {
+        campaigns.merge(cached.getId(), cached, (current, loaded) -> loaded.getVersion() >= current.getVersion() ? loaded : current);
+        return cached;
+    }
+
+    /**
+     * Method that returns the number of cached campaigns.
+     *
+     * @return size
+     */
+    public int size() {
+        return campaigns.size();
+    }
+
+    /**
+     * Method that drops every cached campaign.
+     */
+    public void clear() {
+        campaigns.clear();
+    }
+
+    /**
+     * Method that reloads cached campaigns whose version changed in the database and drops deleted ones.
+     */
+    @Scheduled(fixedDelayString = "${voucher.campaign-cache.refresh-interval}")
+    public void refresh() {
+        if (campaigns.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> versions = new HashMap<>();
+        for (CampaignVersion campaignVersion : campaignRepository.findAllVersions()) {
+            versions.put(campaignVersion.getId(), campaignVersion.getVersion());
+        }
+
+        campaigns.values().forEach(cached -> {
+            Long version = versions.get(cached.getId());
+            if (version == null) {
+                campaigns.remove(cached.getId());
+            } else if (version != cached.getVersion()) {
+                log.info("Reloading campaign {} (version {} -> {})", cached.getId(), cached.getVersion(), version);
+                campaignRepository.findById(cached.getId()).ifPresentOrElse(this::put, () -> campaigns.remove(cached.getId()));
+            }
+        });
+    }
+}
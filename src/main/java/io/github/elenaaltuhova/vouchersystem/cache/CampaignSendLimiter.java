@@ -0,0 +1,133 @@
+package io.github.elenaaltuhova.vouchersystem.cache;
+
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherSendThrottledException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-campaign admission control for sending vouchers, so a flash sale on one campaign cannot take every database
+ * connection.
+ * <p>
+ * Every campaign has a token bucket that refills at <code>voucher.send.rate</code> tokens per second and holds up to
+ * <code>voucher.send.burst</code> tokens. The bucket is kept as the single time at which it will be full again (the
+ * generic cell rate algorithm), so taking a token is one compare-and-set and never blocks.
+ * <p>
+ * A campaign whose issued vouchers ran out is flagged as exhausted, and sends are answered without a query until
+ * vouchers are inserted for it again. Vouchers inserted by another application instance are not seen, so the flag
+ * also expires after <code>voucher.send.exhausted-ttl</code>.
+ */
+@Component
+public class CampaignSendLimiter {
+    private final Map<Long, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Map<Long, Long> exhausted = new ConcurrentHashMap<>();
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final long exhaustedTtl;
+    private final LongSupplier nanoTime;
+
+    @Autowired
+    public CampaignSendLimiter(@Value(value = "${voucher.send.rate}") double rate,
+                               @Value(value = "${voucher.send.burst}") int burst,
+                               @Value(value = "${voucher.send.exhausted-ttl}") Duration exhaustedTtl) {
+        this(rate, burst, exhaustedTtl, System::nanoTime);
+    }
+
+    CampaignSendLimiter(double rate, int burst, Duration exhaustedTtl, LongSupplier nanoTime) {
+        this.emissionInterval = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+        this.burstTolerance = emissionInterval * Math.max(0, burst - 1);
+        this.exhaustedTtl = exhaustedTtl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Method that takes a token from the bucket of a campaign. A rate of 0 admits every send.
+     *
+     * @param campaignId
+     * @throws VoucherSendThrottledException when the bucket is empty, with the seconds until the next token
+     */
+    public void acquire(Long campaignId) throws VoucherSendThrottledException {
+        acquire(campaignId, 1);
+    }
+
+    /**
+     * Method that takes several tokens from the bucket of a campaign at once, for a batch of sends. The batch is
+     * admitted whenever a single send would be, even when it is larger than the burst, and all its tokens are charged,
+     * so later sends of the campaign wait until the rate has paid for the batch.
+     *
+     * @param campaignId
+     * @param permits
+     * @throws VoucherSendThrottledException when the bucket is empty, with the seconds until the next token
+     */
+    public void acquire(Long campaignId, int permits) throws VoucherSendThrottledException {
+        if (emissionInterval == 0) {
+            return;
+        }
+
+        AtomicLong bucket = buckets.computeIfAbsent(campaignId, id -> new AtomicLong(Long.MIN_VALUE));
+        long now = nanoTime.getAsLong();
+        while (true) {
+            long fullAt = bucket.get();
+            long start = fullAt == Long.MIN_VALUE || fullAt - now < 0 ? now : fullAt;
+            long wait = start - now - burstTolerance;
+            if (wait > 0) {
+                throw new VoucherSendThrottledException(String.format("Too many vouchers requested for campaign with ID=%d", campaignId),
+                    Math.max(1, (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+            }
+            if (bucket.compareAndSet(fullAt, start + emissionInterval * permits)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Method that tells whether a campaign recently ran out of issued vouchers.
+     *
+     * @param campaignId
+     * @return true when sends can be answered without a query
+     */
+    public boolean isExhausted(Long campaignId) {
+        Long exhaustedAt = exhausted.get(campaignId);
+        if (exhaustedAt == null) {
+            return false;
+        }
+        if (nanoTime.getAsLong() - exhaustedAt < exhaustedTtl) {
+            return true;
+        }
+        exhausted.remove(campaignId, exhaustedAt);
+        return false;
+    }
+
+    /**
+     * Method that flags a campaign whose claim found no issued voucher.
+     *
+     * @param campaignId
+     */
+    public void markExhausted(Long campaignId) {
+        exhausted.put(campaignId, nanoTime.getAsLong());
+    }
+
+    /**
+     * Method that clears the flag of a campaign once vouchers were inserted for it.
+     *
+     * @param campaignId
+     */
+    public void markRestocked(Long campaignId) {
+        exhausted.remove(campaignId);
+    }
+
+    /**
+     * Method that drops every bucket and flag.
+     */
+    public void clear() {
+        buckets.clear();
+        exhausted.clear();
+    }
+}
@@ -0,0 +1,359 @@
+package io.github.elenaaltuhova.vouchersystem.cache;
+
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import io.github.elenaaltuhova.vouchersystem.model.CacheStats;
+import io.github.elenaaltuhova.vouchersystem.model.CachedVoucher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded read-through cache of voucher checks keyed on the two longs of the voucher code.
+ * <p>
+ * Entries live in primitive arrays with open addressing (linear probing, backward shift on removal), so neither
+ * keys nor slots allocate objects. The table is split into segments, each guarded by its own lock and kept at
+ * most half full. When a segment is full a CLOCK hand sweeps it: every hit raises the frequency of an entry up
+ * to {@link #MAX_FREQUENCY}, the hand lowers it again, and the first entry found at zero is evicted, so codes that
+ * keep being checked survive one-off lookups.
+ * <p>
+ * The cache only answers checks; redeem and send always go to the database and invalidate the code here.
+ * Every segment counts its invalidations. A check reads that {@link #stamp(UUID)} before it reads the voucher from
+ * the database, and {@link #put} drops the entry when the segment was invalidated in between, so a state read
+ * before a concurrent redeem or send is never cached after it. With more than one application instance a redeem
+ * elsewhere is not invalidated here, so entries also expire after <code>voucher.check-cache.ttl</code>.
+ */
+@Component
+public class VoucherCheckCache {
+    static final int MAX_FREQUENCY = 3;
+    private static final byte EMPTY = 0;
+
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final long ttl;
+    private final LongSupplier nanoTime;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public VoucherCheckCache(@Value(value = "${voucher.check-cache.capacity}") int capacity,
+                             @Value(value = "${voucher.check-cache.segments}") int segmentCount,
+                             @Value(value = "${voucher.check-cache.ttl}") Duration ttl) {
+        this(capacity, segmentCount, ttl, System::nanoTime);
+    }
+
+    VoucherCheckCache(int capacity, int segmentCount, Duration ttl, LongSupplier nanoTime) {
+        this.ttl = ttl.toNanos();
+        this.nanoTime = nanoTime;
+        int count = Integer.highestOneBit(Math.max(1, segmentCount));
+        int segmentCapacity = Math.max(1, (capacity + count - 1) / count);
+        this.segments = new Segment[count];
+        this.segmentShift = 64 - Integer.numberOfTrailingZeros(count);
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Method that looks up the cached state of a voucher code and counts the hit or miss.
+     *
+     * @param code
+     * @return <code>CachedVoucher</code> object, or null when the code is not cached
+     */
+    public CachedVoucher get(UUID code) {
+        long msb = code.getMostSignificantBits();
+        long lsb = code.getLeastSignificantBits();
+        long hash = hash(msb, lsb);
+        CachedVoucher cached = segmentFor(hash).get(msb, lsb, hash, nanoTime.getAsLong());
+        (cached == null ? misses : hits).increment();
+        return cached;
+    }
+
+    /**
+     * Method that returns the invalidation stamp of the segment of a voucher code, to be read before the voucher
+     * is read from the database and passed to {@link #put}.
+     *
+     * @param code
+     * @return stamp
+     */
+    public long stamp(UUID code) {
+        return segmentFor(hash(code.getMostSignificantBits(), code.getLeastSignificantBits())).invalidations;
+    }
+
+    /**
+     * Method that caches the state of a voucher code read after the given stamp, evicting a cold entry when the
+     * segment is full. Nothing is cached when the segment was invalidated since the stamp was read.
+     *
+     * @param code
+     * @param stamp
+     * @param voucherId
+     * @param campaignId
+     * @param status
+     * @return true when the state was cached
+     */
+    public boolean put(UUID code, long stamp, long voucherId, long campaignId, VoucherStatus status) {
+        long msb = code.getMostSignificantBits();
+        long lsb = code.getLeastSignificantBits();
+        long hash = hash(msb, lsb);
+        int result = segmentFor(hash).put(msb, lsb, hash, stamp, voucherId, campaignId, (byte) status.getCode(),
+            nanoTime.getAsLong() + ttl);
+        if (result == Segment.EVICTED) {
+            evictions.increment();
+        }
+        return result != Segment.STALE;
+    }
+
+    /**
+     * Method that drops a voucher code from the cache after its state changed.
+     *
+     * @param code
+     */
+    public void invalidate(UUID code) {
+        long msb = code.getMostSignificantBits();
+        long lsb = code.getLeastSignificantBits();
+        long hash = hash(msb, lsb);
+        segmentFor(hash).remove(msb, lsb, hash);
+    }
+
+    /**
+     * Method that drops every cached voucher code.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Method that returns the current size and the hit, miss and eviction counters of the cache.
+     *
+     * @return <code>CacheStats</code> object
+     */
+    public CacheStats stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new CacheStats(size, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments.length == 1 ? segments[0] : segments[(int) (hash >>> segmentShift)];
+    }
+
+    /**
+     * Method that mixes both halves of a code, so time-ordered codes spread as well as random ones.
+     *
+     * @param msb
+     * @param lsb
+     * @return hash of the code
+     */
+    static long hash(long msb, long lsb) {
+        long hash = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * One lock-guarded open addressing table; a slot is empty while its status is {@link #EMPTY}.
+     */
+    private static final class Segment {
+        static final int PUT = 0;
+        static final int EVICTED = 1;
+        static final int STALE = 2;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int maxSize;
+        private final int mask;
+        private final long[] msbs;
+        private final long[] lsbs;
+        private final long[] voucherIds;
+        private final long[] campaignIds;
+        private final byte[] statuses;
+        private final byte[] frequencies;
+        private final long[] expiresAt;
+        private int size;
+        private int hand;
+        private volatile long invalidations;
+
+        Segment(int maxSize) {
+            int tableSize = Integer.highestOneBit(maxSize * 2 - 1) << 1;
+            this.maxSize = maxSize;
+            this.mask = tableSize - 1;
+            this.msbs = new long[tableSize];
+            this.lsbs = new long[tableSize];
+            this.voucherIds = new long[tableSize];
+            this.campaignIds = new long[tableSize];
+            this.statuses = new byte[tableSize];
+            this.frequencies = new byte[tableSize];
+            this.expiresAt = new long[tableSize];
+        }
+
+        CachedVoucher get(long msb, long lsb, long hash, long now) {
+            lock.lock();
+            try {
+                int slot = find(msb, lsb, hash);
+                if (slot < 0) {
+                    return null;
+                }
+                if (expiresAt[slot] - now <= 0) {
+                    removeAt(slot);
+                    return null;
+                }
+                if (frequencies[slot] < MAX_FREQUENCY) {
+                    frequencies[slot]++;
+                }
+                return new CachedVoucher(voucherIds[slot], campaignIds[slot], VoucherStatus.fromCode(statuses[slot]));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return {@link #STALE} when the segment was invalidated since the stamp, {@link #EVICTED} when an entry had
+         * to be evicted to make room, {@link #PUT} otherwise
+         */
+        int put(long msb, long lsb, long hash, long stamp, long voucherId, long campaignId, byte status, long expiry) {
+            lock.lock();
+            try {
+                if (invalidations != stamp) {
+                    return STALE;
+                }
+
+                int slot = find(msb, lsb, hash);
+                if (slot >= 0) {
+                    voucherIds[slot] = voucherId;
+                    campaignIds[slot] = campaignId;
+                    statuses[slot] = status;
+                    expiresAt[slot] = expiry;
+                    return PUT;
+                }
+
+                int result = PUT;
+                if (size >= maxSize) {
+                    evict();
+                    result = EVICTED;
+                }
+
+                slot = (int) hash & mask;
+                while (statuses[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                msbs[slot] = msb;
+                lsbs[slot] = lsb;
+                voucherIds[slot] = voucherId;
+                campaignIds[slot] = campaignId;
+                statuses[slot] = status;
+                frequencies[slot] = 0;
+                expiresAt[slot] = expiry;
+                size++;
+                return result;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(long msb, long lsb, long hash) {
+            lock.lock();
+            try {
+                invalidations++;
+                int slot = find(msb, lsb, hash);
+                if (slot >= 0) {
+                    removeAt(slot);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                invalidations++;
+                Arrays.fill(statuses, EMPTY);
+                size = 0;
+                hand = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int find(long msb, long lsb, long hash) {
+            int slot = (int) hash & mask;
+            while (statuses[slot] != EMPTY) {
+                if (msbs[slot] == msb && lsbs[slot] == lsb) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        /**
+         * Method that advances the CLOCK hand, ageing every entry it passes, until it finds one that was not hit
+         * since the last sweep. Frequencies are capped, so this stops within a few rounds of the table.
+         */
+        private void evict() {
+            while (true) {
+                int slot = hand;
+                hand = (hand + 1) & mask;
+                if (statuses[slot] == EMPTY) {
+                    continue;
+                }
+                if (frequencies[slot] == 0) {
+                    removeAt(slot);
+                    return;
+                }
+                frequencies[slot]--;
+            }
+        }
+
+        /**
+         * Method that empties a slot and shifts back the entries of its probe run, so lookups never need tombstones.
+         */
+        private void removeAt(int slot) {
+            int hole = slot;
+            int next = slot;
+            while (true) {
+                next = (next + 1) & mask;
+                if (statuses[next] == EMPTY) {
+                    break;
+                }
+                int home = (int) hash(msbs[next], lsbs[next]) & mask;
+                boolean reachable = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+                if (reachable) {
+                    continue;
+                }
+                msbs[hole] = msbs[next];
+                lsbs[hole] = lsbs[next];
+                voucherIds[hole] = voucherIds[next];
+                campaignIds[hole] = campaignIds[next];
+                statuses[hole] = statuses[next];
+                frequencies[hole] = frequencies[next];
+                expiresAt[hole] = expiresAt[next];
+                hole = next;
+            }
+            statuses[hole] = EMPTY;
+            size--;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package io.github.elenaaltuhova.vouchersystem.cache;
+
+import io.github.elenaaltuhova.vouchersystem.model.CodeFilterStats;
+import io.github.elenaaltuhova.vouchersystem.repository.VoucherRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bloom filter of all voucher codes, used to reject unknown codes without a database query.
+ * <p>
+ * The bit array is sized from the expected number of codes and the target false positive rate, and every code sets
+ * the bits of a few hash functions derived from its two longs (double hashing). Bits are only ever set, with
+ * lock-free compare-and-set, so lookups never block. Vouchers are never deleted, which is why a Bloom filter is
+ * enough and removals are not supported.
+ * <p>
+ * The filter is filled by a streaming scan of all codes once the application is ready, by every bulk insert of this
+ * instance and by refreshes that scan the codes with an id above the highest one seen so far, so vouchers written by
+ * other instances or straight into the database are picked up too. Until the first scan has finished every code is
+ * let through.
+ * <p>
+ * Unknown codes are rejected from the bits alone, so they never reach the database. Codes written by other instances
+ * are therefore rejected until the next refresh, at most <code>voucher.code-filter.refresh-interval</code> after they
+ * were committed. Identity ids are taken at insert and become visible at commit, so a row may show up below the highest
+ * id seen; each refresh therefore rescans from the highest id seen by the previous one, which picks up rows whose
+ * transaction committed up to a refresh interval late.
+ */
+@Log4j2
+@Component
+public class VoucherCodeFilter {
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final LongAdder insertions = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile boolean ready;
+    private long highWaterMark;
+    private long rescanFrom;
+
+    @Autowired
+    VoucherRepository voucherRepository;
+
+    public VoucherCodeFilter(@Value(value = "${voucher.code-filter.expected-insertions}") long expectedInsertions,
+                             @Value(value = "${voucher.code-filter.false-positive-rate}") double falsePositiveRate) {
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Method that fills the filter with the codes of all vouchers already in the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long startedAt = System.nanoTime();
+        refreshLock.lock();
+        try {
+            long scanned = scan(0);
+            rescanFrom = highWaterMark;
+            ready = true;
+            log.info("Voucher code filter built from {} codes in {} ms ({} bits, {} hash functions)", scanned,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), bitCount, hashCount);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Method that adds the codes written since the previous scheduled refresh, including rows that committed late.
+     */
+    @Scheduled(fixedDelayString = "${voucher.code-filter.refresh-interval}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            long from = rescanFrom;
+            rescanFrom = highWaterMark;
+            long scanned = scan(from);
+            log.debug("Voucher code filter refreshed with {} codes above id {}", scanned, from);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Method that records a code in the filter.
+     *
+     * @param code
+     */
+    public void add(UUID code) {
+        long hash1 = VoucherCheckCache.hash(code.getMostSignificantBits(), code.getLeastSignificantBits());
+        long hash2 = hash1 >>> 32 | hash1 << 32;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(hash1 + i * hash2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * Method that tells whether a code may exist, from the bits alone. A negative answer is right as of the last scan
+     * and the inserts of this instance, a positive one may be false.
+     *
+     * @param code
+     * @return false only when the code did not exist at the last scan
+     */
+    public boolean mightContain(UUID code) {
+        if (!ready) {
+            return true;
+        }
+        if (!isSet(code)) {
+            rejected.increment();
+            return false;
+        }
+        passed.increment();
+        return true;
+    }
+
+    /**
+     * Method that records that a code let through by the filter did not exist.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * Method that returns the counters of the filter with its expected and observed false positive rates.
+     *
+     * @return <code>CodeFilterStats</code> object
+     */
+    public CodeFilterStats stats() {
+        long inserted = insertions.sum();
+        double expectedFalsePositiveRate = Math.pow(1 - Math.exp(-(double) hashCount * inserted / bitCount), hashCount);
+        return new CodeFilterStats(inserted, expectedFalsePositiveRate, rejected.sum(), passed.sum(), falsePositives.sum());
+    }
+
+    private boolean isSet(UUID code) {
+        long hash1 = VoucherCheckCache.hash(code.getMostSignificantBits(), code.getLeastSignificantBits());
+        long hash2 = hash1 >>> 32 | hash1 << 32;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(hash1 + i * hash2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method that adds the codes with an id above the given one and raises the high-water mark. Only codes above the
+     * previous high-water mark count as insertions. Must be called holding the refresh lock, and only ever runs on the
+     * startup and scheduler threads, never on a request.
+     *
+     * @param afterId
+     * @return number of scanned codes
+     */
+    private long scan(long afterId) {
+        long[] highest = {highWaterMark};
+        long scanned = voucherRepository.exportCodes(afterId, (id, code) -> {
+            add(code);
+            if (id > highest[0]) {
+                highest[0] = id;
+                insertions.increment();
+            }
+        });
+        highWaterMark = highest[0];
+        return scanned;
+    }
+
+    private long index(long hash) {
+        return (hash & Long.MAX_VALUE) % bitCount;
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.elenaaltuhova.vouchersystem.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.elenaaltuhova.vouchersystem.controller.ReactiveVoucherHandler;
+import io.github.elenaaltuhova.vouchersystem.repository.ReactiveCampaignRepository;
+import io.github.elenaaltuhova.vouchersystem.repository.ReactiveCampaignRepositoryImpl;
+import io.github.elenaaltuhova.vouchersystem.repository.ReactiveVoucherRepository;
+import io.github.elenaaltuhova.vouchersystem.repository.ReactiveVoucherRepositoryImpl;
+import io.github.elenaaltuhova.vouchersystem.repository.SqlDialect;
+import io.github.elenaaltuhova.vouchersystem.util.ApiKeyRegistry;
+import io.github.elenaaltuhova.vouchersystem.util.ReactiveAuthenticationFilter;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+/**
+ * Configuration of the reactive variant of the voucher API, enabled with <code>voucher.reactive.enabled</code>.
+ * <p>
+ * Check, redeem and send are served on <code>voucher.reactive.port</code> by a Netty server with
+ * <code>voucher.reactive.event-loop-threads</code> event loops, next to the servlet API, and read the database
+ * through an R2DBC pool of <code>voucher.reactive.pool-size</code> connections. The pool is deliberately not a
+ * <code>ConnectionFactory</code> bean: Spring Boot would then back off from the JDBC data source and JPA.
+ */
+@Configuration
+@ConditionalOnProperty(name = "voucher.reactive.enabled", havingValue = "true")
+public class ReactiveConfig {
+
+    @Value(value = "${voucher.reactive.r2dbc-url}")
+    private String url;
+
+    @Value(value = "${spring.datasource.username}")
+    private String username;
+
+    @Value(value = "${spring.datasource.password}")
+    private String password;
+
+    @Value(value = "${voucher.reactive.pool-size}")
+    private int poolSize;
+
+    @Value(value = "${voucher.reactive.port}")
+    private int port;
+
+    @Value(value = "${voucher.reactive.event-loop-threads}")
+    private int eventLoopThreads;
+
+    @Value(value = "${application.auth.header}")
+    private String header;
+
+    private SqlDialect dialect;
+
+    private ConnectionPool connectionPool;
+
+    @PostConstruct
+    public void createConnectionPool() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+            .option(ConnectionFactoryOptions.USER, username)
+            .option(ConnectionFactoryOptions.PASSWORD, password)
+            .build());
+        dialect = SqlDialect.of(connectionFactory);
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+            .initialSize(Math.min(poolSize, 10))
+            .maxSize(poolSize)
+            .build());
+    }
+
+    @PreDestroy
+    public void closeConnectionPool() {
+        connectionPool.dispose();
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public ReactiveVoucherRepository reactiveVoucherRepository(DatabaseClient reactiveDatabaseClient) {
+        return new ReactiveVoucherRepositoryImpl(reactiveDatabaseClient, dialect);
+    }
+
+    @Bean
+    public ReactiveCampaignRepository reactiveCampaignRepository(DatabaseClient reactiveDatabaseClient) {
+        return new ReactiveCampaignRepositoryImpl(reactiveDatabaseClient);
+    }
+
+    @Bean
+    public ReactiveServer reactiveServer(ReactiveVoucherHandler reactiveVoucherHandler, ObjectMapper objectMapper,
+                                         ApiKeyRegistry apiKeyRegistry) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+            .codecs(codecs -> {
+                codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+            })
+            .build();
+        return new ReactiveServer(port, eventLoopThreads, RouterFunctions.toHttpHandler(
+            reactiveVoucherHandler.routes(new ReactiveAuthenticationFilter(header, apiKeyRegistry)), strategies));
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.elenaaltuhova.vouchersystem.config;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Netty server of the reactive voucher API, started and stopped with the application context.
+ * <p>
+ * It runs on its own small set of event-loop threads, so it neither shares them with the R2DBC driver nor competes
+ * with the servlet container for request threads.
+ */
+@Log4j2
+public class ReactiveServer implements SmartLifecycle {
+    private final LoopResources loopResources;
+    private final WebServer webServer;
+    private volatile boolean running;
+
+    public ReactiveServer(int port, int eventLoopThreads, HttpHandler httpHandler) {
+        this.loopResources = LoopResources.create("reactive-voucher", eventLoopThreads, true);
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory(port);
+        factory.addServerCustomizers(server -> server.runOn(loopResources));
+        this.webServer = factory.getWebServer(httpHandler);
+    }
+
+    @Override
+    public void start() {
+        webServer.start();
+        running = true;
+        log.info("Reactive voucher API started on port {}", webServer.getPort());
+    }
+
+    @Override
+    public void stop() {
+        webServer.stop();
+        loopResources.dispose();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Method that returns the port the server listens on, which is only known after start when configured as 0.
+     *
+     * @return port
+     */
+    public int getPort() {
+        return webServer.getPort();
+    }
+}
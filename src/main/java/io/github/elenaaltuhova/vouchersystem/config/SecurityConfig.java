@@ -1,6 +1,8 @@
 package io.github.elenaaltuhova.vouchersystem.config;
 
 
+import io.github.elenaaltuhova.vouchersystem.util.ApiKeyAuthentication;
+import io.github.elenaaltuhova.vouchersystem.util.ApiKeyRegistry;
 import io.github.elenaaltuhova.vouchersystem.util.AuthenticationFilter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -19,17 +21,16 @@ public class SecurityConfig {
     @Value(value = "${application.auth.header}")
     private String header;
 
-    @Value(value = "${application.auth.token}")
-    private String token;
-
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, ApiKeyRegistry apiKeyRegistry) throws Exception {
 
         http.authorizeHttpRequests(authz -> authz
-                .requestMatchers("/**").permitAll()
-                .anyRequest().authenticated())
+                .requestMatchers("/v1/campaigns/**").hasAuthority(ApiKeyAuthentication.authorityOf(ApiKeyRegistry.SCOPE_CAMPAIGNS))
+                .requestMatchers("/v1/vouchers/**").hasAuthority(ApiKeyAuthentication.authorityOf(ApiKeyRegistry.SCOPE_VOUCHERS))
+                .requestMatchers("/actuator/**").hasAuthority(ApiKeyAuthentication.authorityOf(ApiKeyRegistry.SCOPE_METRICS))
+                .anyRequest().permitAll())
             .sessionManagement(smc -> smc.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .addFilterBefore(new AuthenticationFilter(header, token), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(new AuthenticationFilter(header, apiKeyRegistry), UsernamePasswordAuthenticationFilter.class);
         http.csrf(AbstractHttpConfigurer::disable);
 
         return http.build();
@@ -0,0 +1,35 @@
+package io.github.elenaaltuhova.vouchersystem.config;
+
+import io.github.elenaaltuhova.vouchersystem.metrics.SqlStatsListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuration that routes every statement of the application data source through the {@link SqlStatsListener}.
+ *
+ */
+@Configuration
+public class SqlStatsConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourcePostProcessor(Environment environment) {
+        Duration slowThreshold = DurationStyle.detectAndParse(environment.getRequiredProperty("voucher.sql-stats.slow-threshold"));
+        SqlStatsListener listener = new SqlStatsListener(slowThreshold);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource).name(beanName).listener(listener).build();
+                }
+                return bean;
+            }
+        };
+    }
+}
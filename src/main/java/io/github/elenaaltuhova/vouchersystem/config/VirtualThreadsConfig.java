@@ -0,0 +1,37 @@
+package io.github.elenaaltuhova.vouchersystem.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Configuration that runs request handling on virtual threads when <code>voucher.threads.virtual</code> is true.
+ * <p>
+ * Tomcat hands every request to a new virtual thread instead of its pool of platform threads, so a request blocked on
+ * JDBC no longer holds a platform thread and concurrency is bounded by the connection pool rather than by
+ * <code>server.tomcat.threads.max</code>. Asynchronous requests, such as streamed exports, run on virtual threads too.
+ * The voucher job executor keeps its pool size as a bound on concurrent jobs but creates virtual threads, see
+ * {@link VoucherJobConfig}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "voucher.threads.virtual", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory()));
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-virtual-", 0).factory()));
+    }
+}
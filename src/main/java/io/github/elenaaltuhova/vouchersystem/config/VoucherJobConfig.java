@@ -0,0 +1,37 @@
+package io.github.elenaaltuhova.vouchersystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration of the bounded executor that runs asynchronous voucher generation jobs.
+ * With <code>voucher.threads.virtual</code> its threads are virtual; the pool size still bounds concurrent jobs.
+ */
+@Configuration
+public class VoucherJobConfig {
+
+    @Value(value = "${voucher.jobs.pool-size}")
+    private int poolSize;
+
+    @Value(value = "${voucher.jobs.queue-capacity}")
+    private int queueCapacity;
+
+    @Value(value = "${voucher.threads.virtual}")
+    private boolean virtualThreads;
+
+    @Bean
+    public ThreadPoolTaskExecutor voucherJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("voucher-job-");
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name("voucher-job-", 0).factory());
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
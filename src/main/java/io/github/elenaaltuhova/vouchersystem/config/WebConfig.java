@@ -0,0 +1,51 @@
+package io.github.elenaaltuhova.vouchersystem.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.github.elenaaltuhova.vouchersystem.util.CompactJsonHttpMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuration of the representations the servlet API can read and write next to the default JSON.
+ * <p>
+ * The compact converter goes first, because the default JSON converter also accepts every <code>+json</code> type.
+ * The binary <code>application/cbor</code> and <code>application/x-jackson-smile</code> converters Spring MVC adds
+ * for Jackson's data formats are replaced with ones built like the JSON object mapper, so dates and the other
+ * <code>spring.jackson</code> settings are the same in every format. They stay after the JSON converters, so
+ * clients accepting anything still get JSON.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Autowired
+    public WebConfig(ObjectMapper objectMapper, ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapper = objectMapper;
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> {
+            if (converter instanceof MappingJackson2CborHttpMessageConverter) {
+                return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.getObject().factory(new CBORFactory()).build());
+            }
+            if (converter instanceof MappingJackson2SmileHttpMessageConverter) {
+                return new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.getObject().factory(new SmileFactory()).build());
+            }
+            return converter;
+        });
+        converters.add(0, new CompactJsonHttpMessageConverter(objectMapper));
+    }
+}
@@ -1,19 +1,27 @@
 package io.github.elenaaltuhova.vouchersystem.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.elenaaltuhova.vouchersystem.dto.CampaignDTO;
 import io.github.elenaaltuhova.vouchersystem.dto.CampaignResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherJobResponseDTO;
 import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
 import io.github.elenaaltuhova.vouchersystem.dto.response.Response;
+import io.github.elenaaltuhova.vouchersystem.enums.ExportFormat;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherJobStatus;
 import io.github.elenaaltuhova.vouchersystem.exception.CampaignAlreadyExistsException;
 import io.github.elenaaltuhova.vouchersystem.exception.VoucherCreationLimitException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherJobRejectedException;
 import io.github.elenaaltuhova.vouchersystem.service.CampaignService;
+import io.github.elenaaltuhova.vouchersystem.service.VoucherExportService;
+import io.github.elenaaltuhova.vouchersystem.service.VoucherJobService;
 import io.github.elenaaltuhova.vouchersystem.service.VoucherService;
 import jakarta.validation.Valid;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.hateoas.Link;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,6 +31,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -36,11 +45,18 @@ import java.util.NoSuchElementException;
 public class CampaignController {
     VoucherService voucherService;
     CampaignService campaignService;
+    VoucherJobService voucherJobService;
+    VoucherExportService voucherExportService;
+    ObjectMapper objectMapper;
 
     @Autowired
-    public CampaignController(VoucherService voucherService, CampaignService campaignService) {
+    public CampaignController(VoucherService voucherService, CampaignService campaignService, VoucherJobService voucherJobService,
+                              VoucherExportService voucherExportService, ObjectMapper objectMapper) {
         this.voucherService = voucherService;
         this.campaignService = campaignService;
+        this.voucherJobService = voucherJobService;
+        this.voucherExportService = voucherExportService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -73,14 +89,14 @@ public class CampaignController {
         CampaignResponseDTO campaignResponseDTO;
         try {
             campaignResponseDTO = campaignService.create(campaignDTO);
-        } catch (CampaignAlreadyExistsException exception) {
+        } catch (CampaignAlreadyExistsException | IllegalArgumentException exception) {
             response.addErrorMsgToResponse(exception.getMessage());
             log.error(exception.getMessage());
             return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
         }
 
         response.setData(campaignResponseDTO);
-        createSelfLink(campaignResponseDTO);
+        createSelfLink(LinkTemplates.forCurrentRequest(), campaignResponseDTO);
 
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
@@ -114,7 +130,7 @@ public class CampaignController {
             return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
         }
         response.setData(campaignResponseDTO);
-        createSelfLink(campaignResponseDTO);
+        createSelfLink(LinkTemplates.forCurrentRequest(), campaignResponseDTO);
 
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -155,28 +171,192 @@ public class CampaignController {
         }
 
         response.setData(createdVouchers);
-        createdVouchers.forEach(this::createCheckLink);
+        LinkTemplates links = LinkTemplates.forCurrentRequest();
+        createdVouchers.forEach(voucher -> createCheckLink(links, voucher));
 
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Method that starts an asynchronous generation of N vouchers for a Campaign in the Voucher System.
+     *
+     * @param id
+     * @param count
+     * @return ResponseEntity with a Response<VoucherJobResponseDTO> object and the HTTP status
+     * <p>
+     * HTTP Status:
+     * <p>
+     * 202 - Accepted: The job was queued, its progress can be followed on the self link.
+     * 400 - Bad Request: The requested number of vouchers is out of range.
+     * 401 - Unauthorized: No valid API key provided.
+     * 404 - Not found: There is no campaign with such id.
+     * 503 - Service Unavailable: Too many jobs are queued already.
+     * 500, 502, 503, 504 - Server Errors: something went wrong on API end (These are rare).
+     */
+    @PostMapping(value = "/{id}/voucher-jobs")
+    public ResponseEntity<Response<VoucherJobResponseDTO>> addVoucherJob(
+        @PathVariable("id")
+        Long id,
+        @RequestParam
+        Long count) {
+        Response<VoucherJobResponseDTO> response = new Response<>();
+
+        VoucherJobResponseDTO voucherJob;
+        try {
+            voucherJob = voucherJobService.submit(id, count);
+        } catch (NoSuchElementException exception) {
+            response.addErrorMsgToResponse(exception.getMessage());
+            log.error(exception.getMessage());
+            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+        } catch (VoucherCreationLimitException exception) {
+            response.addErrorMsgToResponse(exception.getMessage());
+            log.error(exception.getMessage());
+            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        } catch (VoucherJobRejectedException exception) {
+            response.addErrorMsgToResponse(exception.getMessage());
+            log.error(exception.getMessage());
+            return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        response.setData(voucherJob);
+        createJobLinks(LinkTemplates.forCurrentRequest(), voucherJob);
+
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Method that returns the progress of a voucher generation job in the Voucher System.
+     *
+     * @param id
+     * @param jobId
+     * @return ResponseEntity with a Response<VoucherJobResponseDTO> object and the HTTP status
+     * <p>
+     * HTTP Status:
+     * <p>
+     * 200 - OK: Everything worked as expected.
+     * 401 - Unauthorized: No valid API key provided.
+     * 404 - Not found: There is no such job for this campaign.
+     * 500, 502, 503, 504 - Server Errors: something went wrong on API end (These are rare).
+     */
+    @GetMapping(value = "/{id}/voucher-jobs/{jobId}")
+    public ResponseEntity<Response<VoucherJobResponseDTO>> findVoucherJob(
+        @PathVariable("id")
+        Long id,
+        @PathVariable("jobId")
+        Long jobId) {
+        Response<VoucherJobResponseDTO> response = new Response<>();
+
+        VoucherJobResponseDTO voucherJob;
+        try {
+            voucherJob = voucherJobService.findById(id, jobId);
+        } catch (NoSuchElementException exception) {
+            response.addErrorMsgToResponse(exception.getMessage());
+            log.error(exception.getMessage());
+            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+        }
+
+        response.setData(voucherJob);
+        createJobLinks(LinkTemplates.forCurrentRequest(), voucherJob);
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Method that streams all vouchers of a Campaign in the Voucher System as NDJSON or CSV.
+     *
+     * @param id
+     * @param format ndjson (default) or csv
+     * @return ResponseEntity with the streamed vouchers, or a streamed Response object with the errors, and the HTTP status
+     * <p>
+     * HTTP Status:
+     * <p>
+     * 200 - OK: Everything worked as expected.
+     * 400 - Bad Request: The export format is not supported.
+     * 401 - Unauthorized: No valid API key provided.
+     * 404 - Not found: There is no campaign with such id.
+     * 500, 502, 503, 504 - Server Errors: something went wrong on API end (These are rare).
+     */
+    @GetMapping(value = "/{id}/vouchers/export")
+    public ResponseEntity<StreamingResponseBody> exportVouchers(
+        @PathVariable("id")
+        Long id,
+        @RequestParam(defaultValue = "ndjson")
+        String format) {
+        Response<Void> response = new Response<>();
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromValue(format);
+            campaignService.findById(id);
+        } catch (IllegalArgumentException exception) {
+            response.addErrorMsgToResponse(exception.getMessage());
+            log.error(exception.getMessage());
+            return streamErrors(response, HttpStatus.BAD_REQUEST);
+        } catch (NoSuchElementException exception) {
+            response.addErrorMsgToResponse(exception.getMessage());
+            log.error(exception.getMessage());
+            return streamErrors(response, HttpStatus.NOT_FOUND);
+        }
+
+        StreamingResponseBody body = outputStream -> voucherExportService.export(id, exportFormat, outputStream);
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(String.format("campaign-%d-vouchers.%s", id, exportFormat.getValue())).build().toString())
+            .body(body);
+    }
+
+    /**
+     * Method that writes a Response object with errors as the body of a streaming end-point
+     *
+     * @param response
+     * @param status
+     * @return ResponseEntity with the streamed Response object and the HTTP status
+     */
+    private ResponseEntity<StreamingResponseBody> streamErrors(Response<?> response, HttpStatus status) {
+        StreamingResponseBody body = outputStream -> objectMapper.writeValue(outputStream, response);
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * Method that creates a self link to a marketing campaign object
      *
+     * @param links
      * @param campaignResponseDTO
      */
-    private void createSelfLink(CampaignResponseDTO campaignResponseDTO) {
-        Link selfLink = WebMvcLinkBuilder.linkTo(CampaignController.class).slash(campaignResponseDTO.getId()).withSelfRel();
-        campaignResponseDTO.add(selfLink);
+    private void createSelfLink(LinkTemplates links, CampaignResponseDTO campaignResponseDTO) {
+        if (links.isEnabled()) {
+            campaignResponseDTO.add(links.campaign(campaignResponseDTO.getId()));
+        }
+    }
+
+    /**
+     * Method that creates self and campaign links for a voucher generation job, and a download link once it is completed
+     *
+     * @param links
+     * @param voucherJobResponseDTO
+     */
+    private void createJobLinks(LinkTemplates links, VoucherJobResponseDTO voucherJobResponseDTO) {
+        if (!links.isEnabled()) {
+            return;
+        }
+        voucherJobResponseDTO.add(links.voucherJob(voucherJobResponseDTO.getCampaignId(), voucherJobResponseDTO.getId()),
+            links.campaign(voucherJobResponseDTO.getCampaignId(), "campaign"));
+
+        if (VoucherJobStatus.COMPLETED.name().equals(voucherJobResponseDTO.getStatus())) {
+            voucherJobResponseDTO.add(links.voucherExport(voucherJobResponseDTO.getCampaignId()));
+        }
     }
 
     /**
      * Method that creates a check link for Voucher
      *
+     * @param links
      * @param voucherResponseDTO
      */
-    private void createCheckLink(VoucherResponseDTO voucherResponseDTO) {
-        Link redeemLink = WebMvcLinkBuilder.linkTo(VoucherController.class).slash(voucherResponseDTO.getCode()).slash("/check").withRel("check");
-        voucherResponseDTO.add(redeemLink);
+    private void createCheckLink(LinkTemplates links, VoucherResponseDTO voucherResponseDTO) {
+        if (links.isEnabled()) {
+            voucherResponseDTO.add(links.voucherCheck(voucherResponseDTO.getCode()));
+        }
     }
 }
@@ -0,0 +1,81 @@
+package io.github.elenaaltuhova.vouchersystem.controller;
+
+import io.github.elenaaltuhova.vouchersystem.util.CompactJsonHttpMessageConverter;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Links of the campaign and voucher end-points, built by appending to a base URI that is resolved once per request.
+ * <p>
+ * <code>WebMvcLinkBuilder.linkTo</code> resolves the current request and the controller mapping on every call, which
+ * adds up when a response holds hundreds of vouchers. The controller paths are read from their mappings once, and
+ * the base URI once per instance. When the client asked for the compact representation no link is built at all.
+ */
+public final class LinkTemplates {
+    private static final String CAMPAIGNS = mappingOf(CampaignController.class);
+    private static final String VOUCHERS = mappingOf(VoucherController.class);
+
+    private final String campaigns;
+    private final String vouchers;
+    private final boolean enabled;
+
+    private LinkTemplates(String baseUri, boolean enabled) {
+        this.campaigns = baseUri + CAMPAIGNS + "/";
+        this.vouchers = baseUri + VOUCHERS + "/";
+        this.enabled = enabled;
+    }
+
+    /**
+     * Method that resolves the links of the request that is being served.
+     *
+     * @return <code>LinkTemplates</code> object
+     */
+    public static LinkTemplates forCurrentRequest() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        if (CompactJsonHttpMessageConverter.isRequested(attributes.getRequest())) {
+            return new LinkTemplates("", false);
+        }
+        return new LinkTemplates(ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString(), true);
+    }
+
+    /**
+     * Method that tells whether links are written for this request.
+     *
+     * @return false when the client asked for the compact representation
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Link campaign(Long campaignId) {
+        return Link.of(campaigns + campaignId, IanaLinkRelations.SELF);
+    }
+
+    public Link campaign(Long campaignId, String rel) {
+        return Link.of(campaigns + campaignId, rel);
+    }
+
+    public Link voucherJob(Long campaignId, Long jobId) {
+        return Link.of(campaigns + campaignId + "/voucher-jobs/" + jobId, IanaLinkRelations.SELF);
+    }
+
+    public Link voucherExport(Long campaignId) {
+        return Link.of(campaigns + campaignId + "/vouchers/export", "download");
+    }
+
+    public Link voucherCheck(String code) {
+        return Link.of(vouchers + code + "/check", "check");
+    }
+
+    public Link voucherRedeem(Long voucherId) {
+        return Link.of(vouchers + voucherId + "/redeem", "redeem");
+    }
+
+    private static String mappingOf(Class<?> controller) {
+        return controller.getAnnotation(RequestMapping.class).value()[0];
+    }
+}
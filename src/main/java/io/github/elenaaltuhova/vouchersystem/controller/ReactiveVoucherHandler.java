@@ -0,0 +1,171 @@
+package io.github.elenaaltuhova.vouchersystem.controller;
+
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.dto.response.Response;
+import io.github.elenaaltuhova.vouchersystem.exception.CampaignExpiredException;
+import io.github.elenaaltuhova.vouchersystem.exception.NoValidVouchersAvailableException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherAlreadyRedeemedException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherExpiredException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherNotValidException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherSendThrottledException;
+import io.github.elenaaltuhova.vouchersystem.service.ReactiveVoucherService;
+import io.github.elenaaltuhova.vouchersystem.util.ReactiveAuthenticationFilter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Handler of the reactive variant of the voucher end-points, served by the event-loop server of
+ * {@link io.github.elenaaltuhova.vouchersystem.config.ReactiveConfig} under the same paths as {@link VoucherController}.
+ * <p>
+ * Responses and HTTP statuses are the ones of {@link VoucherController}; links point to the reactive server.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "voucher.reactive.enabled", havingValue = "true")
+public class ReactiveVoucherHandler {
+    ReactiveVoucherService reactiveVoucherService;
+
+    @Autowired
+    public ReactiveVoucherHandler(ReactiveVoucherService reactiveVoucherService) {
+        this.reactiveVoucherService = reactiveVoucherService;
+    }
+
+    /**
+     * Method that maps the voucher end-points to this handler behind the API key filter.
+     *
+     * @param authenticationFilter
+     * @return RouterFunction<ServerResponse>
+     */
+    public RouterFunction<ServerResponse> routes(ReactiveAuthenticationFilter authenticationFilter) {
+        return RouterFunctions.route()
+            .path("/v1/vouchers", builder -> builder
+                .GET("/{code}/check", this::check)
+                .POST("/{id:\\d+}/redeem", this::redeem)
+                .POST("/{code:[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}}/redeem", this::redeemByCode)
+                .GET("/send", this::sendValidVoucher))
+            .filter(authenticationFilter)
+            .build();
+    }
+
+    /**
+     * Method that checks voucher validity.
+     *
+     * HTTP Status:
+     *
+     * 200 - Voucher is valid and can be redeemed.
+     * 400 - Bad Request: Voucher is invalid. It's either expired, redeemed.
+     * 404 - Not Found: Voucher with this code was not found or marketing company hasn't started yet.
+     */
+    public Mono<ServerResponse> check(ServerRequest request) {
+        return reactiveVoucherService.check(request.pathVariable("code"))
+            .flatMap(voucher -> ok(addLink(request, voucher, voucher.getId() + "/redeem", "redeem")))
+            .onErrorResume(VoucherNotValidException.class, exception -> error(exception, HttpStatus.NOT_FOUND))
+            .onErrorResume(exception -> exception instanceof VoucherExpiredException || exception instanceof VoucherAlreadyRedeemedException,
+                exception -> error(exception, HttpStatus.BAD_REQUEST));
+    }
+
+    /**
+     * Method that redeems voucher.
+     *
+     * HTTP Status:
+     *
+     * 200 - Voucher was successfully redeemed.
+     * 400 - Bad Request: Voucher is invalid. It's either expired, redeemed or was not found.
+     */
+    public Mono<ServerResponse> redeem(ServerRequest request) {
+        return redeemed(request, reactiveVoucherService.redeem(Long.valueOf(request.pathVariable("id"))));
+    }
+
+    /**
+     * Method that redeems voucher by its code.
+     *
+     * HTTP Status:
+     *
+     * 200 - Voucher was successfully redeemed.
+     * 400 - Bad Request: Voucher is invalid. It's either expired, redeemed or was not found.
+     */
+    public Mono<ServerResponse> redeemByCode(ServerRequest request) {
+        return redeemed(request, reactiveVoucherService.redeemByCode(request.pathVariable("code")));
+    }
+
+    private Mono<ServerResponse> redeemed(ServerRequest request, Mono<VoucherResponseDTO> redemption) {
+        return redemption
+            .flatMap(voucher -> ok(addLink(request, voucher, voucher.getCode() + "/check", "check")))
+            .onErrorResume(exception -> exception instanceof VoucherNotValidException || exception instanceof VoucherExpiredException
+                || exception instanceof VoucherAlreadyRedeemedException, exception -> error(exception, HttpStatus.BAD_REQUEST));
+    }
+
+    /**
+     * Method that sends back a valid voucher for a specific campaign.
+     *
+     * HTTP Status:
+     *
+     * 200 - Valid voucher is returned.
+     * 400 - Bad Request: Campaign not valid or expired or hasn't started yet.
+     * 404 - Not Found: Valid voucher was not found or marketing company hasn't started yet.
+     * 429 - Too Many Requests: The campaign sends too fast, retry after the seconds in the Retry-After header.
+     */
+    public Mono<ServerResponse> sendValidVoucher(ServerRequest request) {
+        Optional<String> campaignId = request.queryParam("campaignId");
+        if (campaignId.isEmpty()) {
+            return ServerResponse.badRequest().build();
+        }
+
+        return reactiveVoucherService.sendValidVoucherForACampaign(Long.valueOf(campaignId.get()))
+            .flatMap(voucher -> ok(addLink(request, voucher, voucher.getCode() + "/check", "check")))
+            .onErrorResume(CampaignExpiredException.class, exception -> error(exception, HttpStatus.BAD_REQUEST))
+            .onErrorResume(exception -> exception instanceof NoSuchElementException || exception instanceof NoValidVouchersAvailableException,
+                exception -> error(exception, HttpStatus.NOT_FOUND))
+            .onErrorResume(VoucherSendThrottledException.class, this::throttled);
+    }
+
+    private Mono<ServerResponse> ok(VoucherResponseDTO voucher) {
+        Response<VoucherResponseDTO> response = new Response<>();
+        response.setData(voucher);
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(response);
+    }
+
+    private Mono<ServerResponse> error(Throwable exception, HttpStatus status) {
+        log.error(exception.getMessage());
+        Response<VoucherResponseDTO> response = new Response<>();
+        response.addErrorMsgToResponse(exception.getMessage());
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(response);
+    }
+
+    private Mono<ServerResponse> throttled(VoucherSendThrottledException exception) {
+        log.error(exception.getMessage());
+        Response<VoucherResponseDTO> response = new Response<>();
+        response.addErrorMsgToResponse(exception.getMessage());
+        return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+            .contentType(MediaType.APPLICATION_JSON).bodyValue(response);
+    }
+
+    /**
+     * Method that adds a link to another voucher end-point of this server.
+     *
+     * @param request
+     * @param voucher
+     * @param path path below /v1/vouchers
+     * @param rel
+     * @return <code>VoucherResponseDTO</code> object
+     */
+    private VoucherResponseDTO addLink(ServerRequest request, VoucherResponseDTO voucher, String path, String rel) {
+        String href = request.uriBuilder().replacePath("/v1/vouchers/" + path).replaceQuery(null).build().toString();
+        voucher.add(Link.of(href, rel));
+        return voucher;
+    }
+}
@@ -1,26 +1,37 @@
 package io.github.elenaaltuhova.vouchersystem.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.elenaaltuhova.vouchersystem.dto.CheckBatchDTO;
+import io.github.elenaaltuhova.vouchersystem.dto.RedeemBatchDTO;
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherCheckResultDTO;
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherRedemptionDTO;
 import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
 import io.github.elenaaltuhova.vouchersystem.dto.response.Response;
 import io.github.elenaaltuhova.vouchersystem.exception.CampaignExpiredException;
 import io.github.elenaaltuhova.vouchersystem.exception.NoValidVouchersAvailableException;
 import io.github.elenaaltuhova.vouchersystem.exception.VoucherAlreadyRedeemedException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherBatchLimitException;
 import io.github.elenaaltuhova.vouchersystem.exception.VoucherExpiredException;
 import io.github.elenaaltuhova.vouchersystem.exception.VoucherNotValidException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherSendThrottledException;
+import io.github.elenaaltuhova.vouchersystem.service.VoucherSendService;
 import io.github.elenaaltuhova.vouchersystem.service.VoucherService;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.hateoas.Link;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.NoSuchElementException;
 
 /**
@@ -32,10 +43,14 @@ import java.util.NoSuchElementException;
 @RequestMapping("/v1/vouchers")
 public class VoucherController {
     VoucherService voucherService;
+    VoucherSendService voucherSendService;
+    ObjectMapper objectMapper;
 
     @Autowired
-    public VoucherController(VoucherService voucherService) {
+    public VoucherController(VoucherService voucherService, VoucherSendService voucherSendService, ObjectMapper objectMapper) {
         this.voucherService = voucherService;
+        this.voucherSendService = voucherSendService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -72,7 +87,40 @@ public class VoucherController {
 
         response.setData(voucherDTO);
 
-        createRedeemLink(voucherDTO);
+        createRedeemLink(LinkTemplates.forCurrentRequest(), voucherDTO);
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Method that checks a batch of vouchers by their codes in the Travels Java API.
+     * Every requested code gets its own outcome instead of failing the whole request.
+     *
+     * @param checkBatchDTO
+     * @return ResponseEntity with a Response<List<VoucherCheckResultDTO>> object and the HTTP status
+     *
+     * HTTP Status:
+     *
+     * 200 - Batch was processed: each code is valid, already_redeemed, expired or not_found.
+     * 400 - Bad Request: Too many vouchers requested at once.
+     * 401 - Unauthorized: No valid API key provided.
+     * 500, 502, 503, 504 - Server Errors: something went wrong on API end (These are rare).
+     */
+    @PostMapping(value = "/check:batch")
+    public ResponseEntity<Response<List<VoucherCheckResultDTO>>> checkBatch(@RequestBody CheckBatchDTO checkBatchDTO) {
+
+        Response<List<VoucherCheckResultDTO>> response = new Response<>();
+        List<VoucherCheckResultDTO> results = null;
+
+        try {
+            results = voucherService.checkBatch(checkBatchDTO.getCodes());
+        } catch (VoucherBatchLimitException exception) {
+            log.error(exception.getMessage());
+            response.addErrorMsgToResponse(exception.getMessage());
+            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        }
+
+        response.setData(results);
 
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -91,7 +139,7 @@ public class VoucherController {
      * 404 - Not Found: Voucher with this code was not found.
      * 500, 502, 503, 504 - Server Errors: something went wrong on API end (These are rare).
      */
-    @PostMapping(value = "/{id}/redeem")
+    @PostMapping(value = "/{id:\\d+}/redeem")
     public ResponseEntity<Response<VoucherResponseDTO>> redeem(@PathVariable("id") Long voucherId) {
 
         Response<VoucherResponseDTO> response = new Response<>();
@@ -106,7 +154,73 @@ public class VoucherController {
         }
 
         response.setData(voucherDTO);
-        createCheckLink(voucherDTO);
+        createCheckLink(LinkTemplates.forCurrentRequest(), voucherDTO);
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Method that redeems voucher by its code in the Travels Java API.
+     *
+     *
+     * @return ResponseEntity with a Response<VoucherResponseDTO> object and the HTTP status
+     *
+     * HTTP Status:
+     *
+     * 200 - Voucher was successfully redeemed.
+     * 400 - Bad Request: Voucher is invalid. It's either expired, redeemed or was not found.
+     * 401 - Unauthorized: No valid API key provided.
+     * 500, 502, 503, 504 - Server Errors: something went wrong on API end (These are rare).
+     */
+    @PostMapping(value = "/{code:[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}}/redeem")
+    public ResponseEntity<Response<VoucherResponseDTO>> redeemByCode(@PathVariable("code") String voucherCode) {
+
+        Response<VoucherResponseDTO> response = new Response<>();
+        VoucherResponseDTO voucherDTO = null;
+
+        try {
+            voucherDTO = voucherService.redeemByCode(voucherCode);
+        } catch (VoucherNotValidException | VoucherExpiredException | VoucherAlreadyRedeemedException exception) {
+            log.error(exception.getMessage());
+            response.addErrorMsgToResponse(exception.getMessage());
+            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        }
+
+        response.setData(voucherDTO);
+        createCheckLink(LinkTemplates.forCurrentRequest(), voucherDTO);
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Method that redeems a batch of vouchers by their ids and codes in the Travels Java API.
+     * Every requested voucher gets its own outcome; one voucher failing does not roll back the others.
+     *
+     * @param redeemBatchDTO
+     * @return ResponseEntity with a Response<List<VoucherRedemptionDTO>> object and the HTTP status
+     *
+     * HTTP Status:
+     *
+     * 200 - Batch was processed: each item is redeemed, already_redeemed, expired or not_found.
+     * 400 - Bad Request: Too many vouchers requested at once.
+     * 401 - Unauthorized: No valid API key provided.
+     * 500, 502, 503, 504 - Server Errors: something went wrong on API end (These are rare).
+     */
+    @PostMapping(value = "/redeem:batch")
+    public ResponseEntity<Response<List<VoucherRedemptionDTO>>> redeemBatch(@RequestBody RedeemBatchDTO redeemBatchDTO) {
+
+        Response<List<VoucherRedemptionDTO>> response = new Response<>();
+        List<VoucherRedemptionDTO> redemptions = null;
+
+        try {
+            redemptions = voucherService.redeemBatch(redeemBatchDTO.getIds(), redeemBatchDTO.getCodes());
+        } catch (VoucherBatchLimitException exception) {
+            log.error(exception.getMessage());
+            response.addErrorMsgToResponse(exception.getMessage());
+            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        }
+
+        response.setData(redemptions);
 
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -123,6 +237,7 @@ public class VoucherController {
      * 400 - Bad Request: Campaign not valid or expired or hasn't started yet.
      * 401 - Unauthorized: No valid API key provided.
      * 404 - Not Found: Valid voucher was not found or marketing company hasn't started yet.
+     * 429 - Too Many Requests: The campaign sends too fast, retry after the seconds in the Retry-After header.
      * 500, 502, 503, 504 - Server Errors: something went wrong on API end (These are rare).
      */
     @GetMapping(value = "/send")
@@ -141,32 +256,109 @@ public class VoucherController {
             log.error(exception.getMessage());
             response.addErrorMsgToResponse(exception.getMessage());
             return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+        } catch (VoucherSendThrottledException exception) {
+            log.error(exception.getMessage());
+            response.addErrorMsgToResponse(exception.getMessage());
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()));
+            return new ResponseEntity<>(response, headers, HttpStatus.TOO_MANY_REQUESTS);
         }
 
 
         response.setData(voucherDTO);
-        createCheckLink(voucherDTO);
+        createCheckLink(LinkTemplates.forCurrentRequest(), voucherDTO);
 
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * Method that sends back up to count valid vouchers for a specific campaign in the Travels Java API,
+     * claimed with a single statement and streamed as they are claimed.
+     *
+     * @param campaignId
+     * @param count
+     * @return ResponseEntity with the streamed Response<List<VoucherResponseDTO>> object and the HTTP status
+     *
+     * HTTP Status:
+     *
+     * 200 - Valid vouchers are returned; fewer than count, or none, when the campaign runs out of vouchers.
+     * 400 - Bad Request: Campaign expired or count is out of the limit.
+     * 401 - Unauthorized: No valid API key provided.
+     * 404 - Not Found: There is no campaign with such id.
+     * 429 - Too Many Requests: The campaign sends too fast, retry after the seconds in the Retry-After header.
+     * 500, 502, 503, 504 - Server Errors: something went wrong on API end (These are rare).
+     */
+    @GetMapping(value = "/send:batch")
+    public ResponseEntity<StreamingResponseBody> sendValidVouchers(@RequestParam Long campaignId, @RequestParam int count) {
+        Response<Void> response = new Response<>();
+
+        try {
+            voucherSendService.checkSendable(campaignId, count);
+        } catch (CampaignExpiredException | VoucherBatchLimitException exception) {
+            log.error(exception.getMessage());
+            response.addErrorMsgToResponse(exception.getMessage());
+            return streamErrors(response, HttpStatus.BAD_REQUEST);
+        } catch (NoSuchElementException exception) {
+            log.error(exception.getMessage());
+            response.addErrorMsgToResponse(exception.getMessage());
+            return streamErrors(response, HttpStatus.NOT_FOUND);
+        } catch (VoucherSendThrottledException exception) {
+            log.error(exception.getMessage());
+            response.addErrorMsgToResponse(exception.getMessage());
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()));
+            return streamErrors(response, headers, HttpStatus.TOO_MANY_REQUESTS);
+        }
+
+        StreamingResponseBody body = outputStream -> voucherSendService.send(campaignId, count, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * Method that creates a redeem link for a voucher
      *
+     * @param links
      * @param voucherResponseDTO
      */
-    private void createRedeemLink(VoucherResponseDTO voucherResponseDTO) {
-        Link redeemLink = WebMvcLinkBuilder.linkTo(VoucherController.class).slash(voucherResponseDTO.getId()).slash("/redeem").withRel("redeem");
-        voucherResponseDTO.add(redeemLink);
+    private void createRedeemLink(LinkTemplates links, VoucherResponseDTO voucherResponseDTO) {
+        if (links.isEnabled()) {
+            voucherResponseDTO.add(links.voucherRedeem(voucherResponseDTO.getId()));
+        }
     }
 
     /**
      * Method that creates a check link for Voucher
      *
+     * @param links
      * @param voucherResponseDTO
      */
-    private void createCheckLink(VoucherResponseDTO voucherResponseDTO) {
-        Link redeemLink = WebMvcLinkBuilder.linkTo(VoucherController.class).slash(voucherResponseDTO.getCode()).slash("/check").withRel("check");
-        voucherResponseDTO.add(redeemLink);
+    private void createCheckLink(LinkTemplates links, VoucherResponseDTO voucherResponseDTO) {
+        if (links.isEnabled()) {
+            voucherResponseDTO.add(links.voucherCheck(voucherResponseDTO.getCode()));
+        }
+    }
+
+    /**
+     * Method that writes a Response object with errors as the body of a streaming end-point
+     *
+     * @param response
+     * @param status
+     * @return ResponseEntity with the streamed Response object and the HTTP status
+     */
+    private ResponseEntity<StreamingResponseBody> streamErrors(Response<?> response, HttpStatus status) {
+        return streamErrors(response, new HttpHeaders(), status);
+    }
+
+    /**
+     * Method that writes a Response object with errors as the body of a streaming end-point, with extra headers
+     *
+     * @param response
+     * @param headers
+     * @param status
+     * @return ResponseEntity with the streamed Response object and the HTTP status
+     */
+    private ResponseEntity<StreamingResponseBody> streamErrors(Response<?> response, HttpHeaders headers, HttpStatus status) {
+        StreamingResponseBody body = outputStream -> objectMapper.writeValue(outputStream, response);
+        return ResponseEntity.status(status).headers(headers).contentType(MediaType.APPLICATION_JSON).body(body);
     }
 }
@@ -1,5 +1,6 @@
 package io.github.elenaaltuhova.vouchersystem.dto;
 
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
 import io.github.elenaaltuhova.vouchersystem.model.Campaign;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
@@ -29,16 +30,27 @@ public class CampaignDTO extends RepresentationModel<CampaignDTO> {
     @Future(message = "End date should be in the future.")
     private LocalDate endDate;
 
+    @Length(max = 32, message = "Code generator should be at most 32 symbols long.")
+    private String codeGenerator;
+
+    public CampaignDTO(String title, LocalDate startDate, LocalDate endDate) {
+        this(title, startDate, endDate, null);
+    }
+
     /**
      * Method to convert a CampaignDTO to a campaign entity.
      *
+     * @param defaultCodeGenerator generator of the campaign when none is given
      * @return a <code>Campaign</code> object
+     * @throws IllegalArgumentException if the code generator is not supported
      */
-    public Campaign convertDTOtoEntity() {
+    public Campaign convertDTOtoEntity(CodeGeneratorType defaultCodeGenerator) {
         Campaign campaign = new Campaign();
         campaign.setTitle(this.getTitle());
         campaign.setStartDate(this.getStartDate());
         campaign.setEndDate(this.getEndDate());
+        campaign.setCodeGenerator(this.getCodeGenerator() == null
+            ? defaultCodeGenerator : CodeGeneratorType.fromValue(this.getCodeGenerator()));
         return campaign;
     }
 }
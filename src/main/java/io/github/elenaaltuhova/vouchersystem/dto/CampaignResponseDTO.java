@@ -19,4 +19,5 @@ public class CampaignResponseDTO extends RepresentationModel<CampaignResponseDTO
     private String title;
     private LocalDate startDate;
     private LocalDate endDate;
+    private String codeGenerator;
 }
@@ -0,0 +1,21 @@
+package io.github.elenaaltuhova.vouchersystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.util.List;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class RedeemBatchDTO extends RepresentationModel<RedeemBatchDTO> {
+    private List<Long> ids;
+
+    private List<String> codes;
+}
@@ -0,0 +1,30 @@
+package io.github.elenaaltuhova.vouchersystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.hateoas.RepresentationModel;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VoucherCheckResultDTO extends RepresentationModel<VoucherCheckResultDTO> {
+    private Long id;
+
+    @NotNull(message = "Code cannot be null.")
+    private String code;
+
+    private String campaignName;
+
+    private String status;
+
+    @NotNull(message = "Outcome cannot be null.")
+    private String outcome;
+}
@@ -0,0 +1,28 @@
+package io.github.elenaaltuhova.vouchersystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.time.LocalDateTime;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VoucherJobResponseDTO extends RepresentationModel<VoucherJobResponseDTO> {
+    private Long id;
+    private Long campaignId;
+    private Long requested;
+    private Long created;
+    private String status;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
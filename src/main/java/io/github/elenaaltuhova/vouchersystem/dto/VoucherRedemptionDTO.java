@@ -0,0 +1,27 @@
+package io.github.elenaaltuhova.vouchersystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.hateoas.RepresentationModel;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VoucherRedemptionDTO extends RepresentationModel<VoucherRedemptionDTO> {
+    private Long id;
+
+    private String code;
+
+    private String campaignName;
+
+    @NotNull(message = "Outcome cannot be null.")
+    private String outcome;
+}
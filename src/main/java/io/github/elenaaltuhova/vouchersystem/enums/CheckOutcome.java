@@ -0,0 +1,46 @@
+package io.github.elenaaltuhova.vouchersystem.enums;
+
+import java.time.LocalDate;
+
+public enum CheckOutcome {
+    VALID("valid"),
+    ALREADY_REDEEMED("already_redeemed"),
+    EXPIRED("expired"),
+    NOT_STARTED("not_found"),
+    NOT_FOUND("not_found");
+
+    private final String value;
+
+    CheckOutcome(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Method that returns the outcome reported to clients; a campaign that has not started is reported as not found,
+     * like a single check does.
+     *
+     * @return value
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Method that finds the outcome of checking a voucher on the given date, validating the campaign dates first.
+     *
+     * @param date
+     * @param startDate
+     * @param endDate
+     * @param status
+     * @return CheckOutcome
+     */
+    public static CheckOutcome of(LocalDate date, LocalDate startDate, LocalDate endDate, VoucherStatus status) {
+        if (date.isBefore(startDate)) {
+            return NOT_STARTED;
+        }
+        if (endDate != null && date.isAfter(endDate)) {
+            return EXPIRED;
+        }
+        return status == VoucherStatus.REDEEMED ? ALREADY_REDEEMED : VALID;
+    }
+}
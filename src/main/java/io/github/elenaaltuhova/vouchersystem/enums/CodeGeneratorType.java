@@ -0,0 +1,34 @@
+package io.github.elenaaltuhova.vouchersystem.enums;
+
+public enum CodeGeneratorType {
+    RANDOM("random"),
+    THREAD_LOCAL_RANDOM("thread-local-random"),
+    TIME_ORDERED("time-ordered"),
+    PARALLEL("parallel"),
+    SIGNED("signed");
+    private String value;
+
+    private CodeGeneratorType(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Method that finds the code generator with the given value, ignoring case.
+     *
+     * @param value
+     * @return CodeGeneratorType
+     * @throws IllegalArgumentException if there is no such generator
+     */
+    public static CodeGeneratorType fromValue(String value) {
+        for (CodeGeneratorType type : values()) {
+            if (type.value.equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Code generator '%s' is not supported.", value));
+    }
+}
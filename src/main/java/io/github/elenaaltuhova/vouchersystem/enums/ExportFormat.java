@@ -0,0 +1,39 @@
+package io.github.elenaaltuhova.vouchersystem.enums;
+
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+    CSV("csv", MediaType.parseMediaType("text/csv"));
+    private String value;
+    private MediaType mediaType;
+
+    private ExportFormat(String value, MediaType mediaType) {
+        this.value = value;
+        this.mediaType = mediaType;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Method that finds the export format with the given value, ignoring case.
+     *
+     * @param value
+     * @return ExportFormat
+     * @throws IllegalArgumentException if there is no such format
+     */
+    public static ExportFormat fromValue(String value) {
+        for (ExportFormat format : values()) {
+            if (format.value.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Export format '%s' is not supported.", value));
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.elenaaltuhova.vouchersystem.enums;
+
+import java.time.LocalDate;
+
+public enum RedemptionOutcome {
+    REDEEMED("redeemed"),
+    ALREADY_REDEEMED("already_redeemed"),
+    EXPIRED("expired"),
+    NOT_STARTED("not_found"),
+    NOT_FOUND("not_found");
+
+    private final String value;
+
+    RedemptionOutcome(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Method that returns the outcome reported to clients; a campaign that has not started is reported as not found,
+     * like a single redeem does.
+     *
+     * @return value
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Method that finds the outcome of redeeming a voucher on the given date from its state before the redeem.
+     *
+     * @param date
+     * @param startDate
+     * @param endDate
+     * @param alreadyRedeemed
+     * @return RedemptionOutcome
+     */
+    public static RedemptionOutcome of(LocalDate date, LocalDate startDate, LocalDate endDate, boolean alreadyRedeemed) {
+        if (date.isBefore(startDate)) {
+            return NOT_STARTED;
+        }
+        if (endDate != null && date.isAfter(endDate)) {
+            return EXPIRED;
+        }
+        return alreadyRedeemed ? ALREADY_REDEEMED : REDEEMED;
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.elenaaltuhova.vouchersystem.enums;
+
+public enum VoucherJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
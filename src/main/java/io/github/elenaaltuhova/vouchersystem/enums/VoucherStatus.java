@@ -1,16 +1,37 @@
 package io.github.elenaaltuhova.vouchersystem.enums;
 
 public enum VoucherStatus {
-    ISSUED("ISSUED"),
-    SENT("SENT"),
-    REDEEMED("REDEEMED");
+    ISSUED("ISSUED", (short) 1),
+    SENT("SENT", (short) 3),
+    REDEEMED("REDEEMED", (short) 2);
+    private static final VoucherStatus[] BY_CODE = {null, ISSUED, REDEEMED, SENT};
     private String value;
+    private short code;
 
-    private VoucherStatus(String value) {
+    private VoucherStatus(String value, short code) {
         this.value = value;
+        this.code = code;
     }
 
     public String getValue() {
         return value;
     }
+
+    public short getCode() {
+        return code;
+    }
+
+    /**
+     * Method that finds the status stored in the database with the given code.
+     *
+     * @param code
+     * @return VoucherStatus
+     * @throws IllegalArgumentException if there is no status with such code
+     */
+    public static VoucherStatus fromCode(short code) {
+        if (code > 0 && code < BY_CODE.length) {
+            return BY_CODE[code];
+        }
+        throw new IllegalArgumentException(String.format("There is no voucher status with code %d", code));
+    }
 }
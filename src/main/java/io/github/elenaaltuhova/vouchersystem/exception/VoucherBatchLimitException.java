@@ -0,0 +1,18 @@
+package io.github.elenaaltuhova.vouchersystem.exception;
+
+/**
+ * Class that implements VoucherBatchLimitException in the API
+ */
+public class VoucherBatchLimitException extends Exception{
+    public VoucherBatchLimitException(){
+        super();
+    }
+
+    public VoucherBatchLimitException(String msg){
+        super(msg);
+    }
+
+    public VoucherBatchLimitException(String msg, Throwable cause){
+        super(msg, cause);
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.elenaaltuhova.vouchersystem.exception;
+
+/**
+ * Class that implements VoucherJobRejectedException in the API
+ */
+public class VoucherJobRejectedException extends Exception{
+    public VoucherJobRejectedException(){
+        super();
+    }
+
+    public VoucherJobRejectedException(String msg){
+        super(msg);
+    }
+
+    public VoucherJobRejectedException(String msg, Throwable cause){
+        super(msg, cause);
+    }
+}
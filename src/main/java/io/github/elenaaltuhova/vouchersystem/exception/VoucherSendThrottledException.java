@@ -0,0 +1,28 @@
+package io.github.elenaaltuhova.vouchersystem.exception;
+
+import lombok.Getter;
+
+/**
+ * Class that implements VoucherSendThrottledException in the API
+ */
+@Getter
+public class VoucherSendThrottledException extends Exception{
+    private long retryAfterSeconds = 1;
+
+    public VoucherSendThrottledException(){
+        super();
+    }
+
+    public VoucherSendThrottledException(String msg){
+        super(msg);
+    }
+
+    public VoucherSendThrottledException(String msg, Throwable cause){
+        super(msg, cause);
+    }
+
+    public VoucherSendThrottledException(String msg, long retryAfterSeconds){
+        super(msg);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
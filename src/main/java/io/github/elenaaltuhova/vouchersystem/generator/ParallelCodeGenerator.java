@@ -0,0 +1,83 @@
+package io.github.elenaaltuhova.vouchersystem.generator;
+
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generator that splits large batches of time-ordered codes over the common fork/join pool.
+ * <p>
+ * Batches are halved until they are at most <code>voucher.code-generator.parallel-threshold</code> codes, and every
+ * part is generated by {@link TimeOrderedCodeGenerator} straight into its own range of one array. Smaller batches
+ * are generated on the calling thread. Codes of different parts are ordered within each part only.
+ */
+@Component
+public class ParallelCodeGenerator implements VoucherCodeGenerator {
+    private final TimeOrderedCodeGenerator timeOrderedCodeGenerator;
+    private final int threshold;
+
+    @Autowired
+    public ParallelCodeGenerator(TimeOrderedCodeGenerator timeOrderedCodeGenerator,
+                                 @Value(value = "${voucher.code-generator.parallel-threshold}") int threshold) {
+        this.timeOrderedCodeGenerator = timeOrderedCodeGenerator;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @see VoucherCodeGenerator#getType()
+     */
+    @Override
+    public CodeGeneratorType getType() {
+        return CodeGeneratorType.PARALLEL;
+    }
+
+    /**
+     * @see VoucherCodeGenerator#generate(Long, int)
+     */
+    @Override
+    public List<UUID> generate(Long campaignId, int count) {
+        if (count <= threshold) {
+            return timeOrderedCodeGenerator.generate(campaignId, count);
+        }
+        UUID[] codes = new UUID[count];
+        ForkJoinPool.commonPool().invoke(new GenerateRange(campaignId, codes, 0, count));
+        return Arrays.asList(codes);
+    }
+
+    /**
+     * Task that fills a range of the code array, splitting it while it is above the threshold.
+     */
+    private final class GenerateRange extends RecursiveAction {
+        private final Long campaignId;
+        private final UUID[] codes;
+        private final int from;
+        private final int to;
+
+        GenerateRange(Long campaignId, UUID[] codes, int from, int to) {
+            this.campaignId = campaignId;
+            this.codes = codes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                List<UUID> part = timeOrderedCodeGenerator.generate(campaignId, to - from);
+                for (int i = 0; i < part.size(); i++) {
+                    codes[from + i] = part.get(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new GenerateRange(campaignId, codes, from, middle), new GenerateRange(campaignId, codes, middle, to));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.elenaaltuhova.vouchersystem.generator;
+
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Generator of random (version 4) codes from {@link UUID#randomUUID()}.
+ * <p>
+ * Every call goes through one <code>SecureRandom</code> shared by the whole JVM, so concurrent jobs contend on it,
+ * and random codes land all over the unique index on <code>vouchers.code</code>.
+ */
+@Component
+public class RandomCodeGenerator implements VoucherCodeGenerator {
+    /**
+     * @see VoucherCodeGenerator#getType()
+     */
+    @Override
+    public CodeGeneratorType getType() {
+        return CodeGeneratorType.RANDOM;
+    }
+
+    /**
+     * @see VoucherCodeGenerator#generate(Long, int)
+     */
+    @Override
+    public List<UUID> generate(Long campaignId, int count) {
+        List<UUID> codes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            codes.add(UUID.randomUUID());
+        }
+        return codes;
+    }
+}
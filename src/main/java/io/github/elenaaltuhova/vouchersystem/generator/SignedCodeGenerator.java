@@ -0,0 +1,47 @@
+package io.github.elenaaltuhova.vouchersystem.generator;
+
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Generator of self-validating codes in the {@link SignedVoucherCodes} format.
+ * <p>
+ * Checks of these codes reject forgeries and expired campaigns before any database lookup. A code has 58 random
+ * bits, and the campaign id can be read from it.
+ */
+@Component
+public class SignedCodeGenerator implements VoucherCodeGenerator {
+    private final SignedVoucherCodes signedVoucherCodes;
+
+    @Autowired
+    public SignedCodeGenerator(SignedVoucherCodes signedVoucherCodes) {
+        this.signedVoucherCodes = signedVoucherCodes;
+    }
+
+    /**
+     * @see VoucherCodeGenerator#getType()
+     */
+    @Override
+    public CodeGeneratorType getType() {
+        return CodeGeneratorType.SIGNED;
+    }
+
+    /**
+     * @see VoucherCodeGenerator#generate(Long, int)
+     */
+    @Override
+    public List<UUID> generate(Long campaignId, int count) {
+        SecureRandom random = ThreadLocalSecureRandom.current();
+        List<UUID> codes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            codes.add(signedVoucherCodes.sign(campaignId, random.nextLong()));
+        }
+        return codes;
+    }
+}
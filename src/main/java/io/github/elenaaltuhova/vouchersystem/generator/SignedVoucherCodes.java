@@ -0,0 +1,96 @@
+package io.github.elenaaltuhova.vouchersystem.generator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Format of self-validating voucher codes: version 8 UUIDs that carry their campaign id and an HMAC tag.
+ * <p>
+ * Layout, from the most significant bit: 32-bit campaign id, 16 random bits, version <code>8</code>, 12 random bits,
+ * variant, 30 random bits and the first 32 bits of the HMAC-SHA256 of everything before, keyed with
+ * <code>voucher.signed-codes.key</code>. A code that has the version but not a matching tag is forged or mistyped,
+ * which is known without reading the database; the campaign of a valid one is known as well. Any other UUID is not
+ * a signed code and is looked up as before.
+ */
+@Component
+public class SignedVoucherCodes {
+    private static final int VERSION = 8;
+    private static final long MAX_CAMPAIGN_ID = 0xFFFFFFFFL;
+    private static final long TAG_MASK = 0xFFFFFFFFL;
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final ThreadLocal<Mac> macs;
+
+    public SignedVoucherCodes(@Value(value = "${voucher.signed-codes.key}") String key) {
+        if (key.isBlank()) {
+            throw new IllegalStateException("voucher.signed-codes.key must not be blank");
+        }
+        SecretKeySpec secretKey = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(secretKey);
+                return mac;
+            } catch (GeneralSecurityException exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+    }
+
+    /**
+     * Method that builds a signed code for a campaign.
+     *
+     * @param campaignId
+     * @param random 64 random bits, 58 of them are used
+     * @return UUID
+     */
+    public UUID sign(long campaignId, long random) {
+        if (campaignId < 0 || campaignId > MAX_CAMPAIGN_ID) {
+            throw new IllegalArgumentException(String.format("Campaign with ID=%d cannot have signed codes", campaignId));
+        }
+        long msb = campaignId << 32 | (random >>> 48) << 16 | VERSION << 12 | random >>> 36 & 0xFFF;
+        long lsb = 0x8000000000000000L | (random & 0x3FFFFFFFL) << 32;
+        return new UUID(msb, lsb | tag(msb, lsb));
+    }
+
+    /**
+     * Method that tells whether a code is in the signed format, valid or not.
+     *
+     * @param code
+     * @return boolean
+     */
+    public boolean isSigned(UUID code) {
+        return code.version() == VERSION && code.variant() == 2;
+    }
+
+    /**
+     * Method that verifies the tag of a signed code.
+     *
+     * @param code
+     * @return Optional<Long> with the campaign id, empty when the code is not signed or its tag does not match
+     */
+    public Optional<Long> verify(UUID code) {
+        if (!isSigned(code)) {
+            return Optional.empty();
+        }
+        long msb = code.getMostSignificantBits();
+        long lsb = code.getLeastSignificantBits();
+        if ((tag(msb, lsb & ~TAG_MASK) ^ lsb & TAG_MASK) != 0) {
+            return Optional.empty();
+        }
+        return Optional.of(msb >>> 32);
+    }
+
+    private long tag(long msb, long lsb) {
+        byte[] digest = macs.get().doFinal(ByteBuffer.allocate(16).putLong(msb).putLong(lsb).array());
+        return ByteBuffer.wrap(digest).getInt() & TAG_MASK;
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.elenaaltuhova.vouchersystem.generator;
+
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Generator of random (version 4) codes, like {@link RandomCodeGenerator}, but from a secure random per thread,
+ * so concurrent jobs do not contend.
+ */
+@Component
+public class ThreadLocalRandomCodeGenerator implements VoucherCodeGenerator {
+    /**
+     * @see VoucherCodeGenerator#getType()
+     */
+    @Override
+    public CodeGeneratorType getType() {
+        return CodeGeneratorType.THREAD_LOCAL_RANDOM;
+    }
+
+    /**
+     * @see VoucherCodeGenerator#generate(Long, int)
+     */
+    @Override
+    public List<UUID> generate(Long campaignId, int count) {
+        SecureRandom random = ThreadLocalSecureRandom.current();
+        List<UUID> codes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long msb = random.nextLong() & ~0xF000L | 0x4000L;
+            long lsb = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+            codes.add(new UUID(msb, lsb));
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.elenaaltuhova.vouchersystem.generator;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * One DRBG <code>SecureRandom</code> per thread.
+ * <p>
+ * The default <code>NativePRNG</code> serializes every instance on one lock around <code>/dev/urandom</code>, while
+ * DRBG instances only lock themselves, so generator threads never wait on each other. Each instance is seeded by
+ * the platform once.
+ */
+final class ThreadLocalSecureRandom {
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(ThreadLocalSecureRandom::create);
+
+    private ThreadLocalSecureRandom() {
+    }
+
+    static SecureRandom current() {
+        return RANDOM.get();
+    }
+
+    private static SecureRandom create() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException exception) {
+            return new SecureRandom();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.elenaaltuhova.vouchersystem.generator;
+
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Generator of time-ordered (version 7) codes.
+ * <p>
+ * A code starts with the 48-bit Unix time in milliseconds and a 12-bit counter that orders the codes generated by a
+ * thread within the same millisecond; once it overflows the thread moves on to the next millisecond. The remaining
+ * 62 bits are secure random. Codes generated together are therefore adjacent in the unique index on
+ * <code>vouchers.code</code>, so a bulk insert touches a few index pages instead of one page per code.
+ * <p>
+ * The price is guessability: 62 random bits instead of the 122 of a random code, and the creation time is readable
+ * from the code. Prefer it for campaigns with many vouchers and short lifetimes.
+ */
+@Component
+public class TimeOrderedCodeGenerator implements VoucherCodeGenerator {
+    private static final int MAX_COUNTER = 0xFFF;
+    private static final ThreadLocal<long[]> CLOCK = ThreadLocal.withInitial(() -> new long[2]);
+
+    /**
+     * @see VoucherCodeGenerator#getType()
+     */
+    @Override
+    public CodeGeneratorType getType() {
+        return CodeGeneratorType.TIME_ORDERED;
+    }
+
+    /**
+     * @see VoucherCodeGenerator#generate(Long, int)
+     */
+    @Override
+    public List<UUID> generate(Long campaignId, int count) {
+        SecureRandom random = ThreadLocalSecureRandom.current();
+        long[] clock = CLOCK.get();
+        long timestamp = clock[0];
+        long counter = clock[1];
+        List<UUID> codes = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            long now = System.currentTimeMillis();
+            if (now > timestamp) {
+                timestamp = now;
+                counter = 0;
+            } else if (++counter > MAX_COUNTER) {
+                timestamp++;
+                counter = 0;
+            }
+            long msb = timestamp << 16 | 0x7000L | counter;
+            long lsb = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+            codes.add(new UUID(msb, lsb));
+        }
+
+        clock[0] = timestamp;
+        clock[1] = counter;
+        return codes;
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.elenaaltuhova.vouchersystem.generator;
+
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Interface of a strategy that generates voucher codes.
+ *
+ */
+public interface VoucherCodeGenerator {
+    /**
+     * Method that tells which generator a campaign has to select to use this strategy.
+     *
+     * @return CodeGeneratorType
+     */
+    CodeGeneratorType getType();
+
+    /**
+     * Method that generates new voucher codes for a campaign. Codes are unique with overwhelming probability;
+     * the bulk insert still skips the rare duplicate.
+     *
+     * @param campaignId
+     * @param count
+     * @return List<UUID> with <code>count</code> codes
+     */
+    List<UUID> generate(Long campaignId, int count);
+}
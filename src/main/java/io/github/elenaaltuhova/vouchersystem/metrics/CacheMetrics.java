@@ -0,0 +1,64 @@
+package io.github.elenaaltuhova.vouchersystem.metrics;
+
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignCache;
+import io.github.elenaaltuhova.vouchersystem.cache.VoucherCheckCache;
+import io.github.elenaaltuhova.vouchersystem.cache.VoucherCodeFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component that publishes the counters of the in-memory caches and of the voucher code filter.
+ *
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+    private final VoucherCheckCache voucherCheckCache;
+    private final VoucherCodeFilter voucherCodeFilter;
+    private final CampaignCache campaignCache;
+
+    @Autowired
+    public CacheMetrics(VoucherCheckCache voucherCheckCache, VoucherCodeFilter voucherCodeFilter, CampaignCache campaignCache) {
+        this.voucherCheckCache = voucherCheckCache;
+        this.voucherCodeFilter = voucherCodeFilter;
+        this.campaignCache = campaignCache;
+    }
+
+    /**
+     * @see MeterBinder#bindTo(MeterRegistry)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("voucher.check.cache.size", voucherCheckCache, cache -> cache.stats().getSize())
+            .register(registry);
+        FunctionCounter.builder("voucher.check.cache.gets", voucherCheckCache, cache -> cache.stats().getHits())
+            .tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("voucher.check.cache.gets", voucherCheckCache, cache -> cache.stats().getMisses())
+            .tag("result", "miss")
+            .register(registry);
+        FunctionCounter.builder("voucher.check.cache.evictions", voucherCheckCache, cache -> cache.stats().getEvictions())
+            .register(registry);
+
+        Gauge.builder("voucher.code.filter.insertions", voucherCodeFilter, filter -> filter.stats().getInsertions())
+            .register(registry);
+        Gauge.builder("voucher.code.filter.expected.false.positive.rate", voucherCodeFilter,
+                filter -> filter.stats().getExpectedFalsePositiveRate())
+            .register(registry);
+        FunctionCounter.builder("voucher.code.filter.checks", voucherCodeFilter, filter -> filter.stats().getRejected())
+            .tag("result", "rejected")
+            .register(registry);
+        FunctionCounter.builder("voucher.code.filter.checks", voucherCodeFilter, filter -> filter.stats().getPassed())
+            .tag("result", "passed")
+            .register(registry);
+        FunctionCounter.builder("voucher.code.filter.false.positives", voucherCodeFilter,
+                filter -> filter.stats().getFalsePositives())
+            .register(registry);
+
+        Gauge.builder("campaign.cache.size", campaignCache, CampaignCache::size)
+            .register(registry);
+    }
+}
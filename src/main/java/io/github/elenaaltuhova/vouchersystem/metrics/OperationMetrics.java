@@ -0,0 +1,142 @@
+package io.github.elenaaltuhova.vouchersystem.metrics;
+
+import io.github.elenaaltuhova.vouchersystem.exception.CampaignAlreadyExistsException;
+import io.github.elenaaltuhova.vouchersystem.exception.CampaignExpiredException;
+import io.github.elenaaltuhova.vouchersystem.exception.NoValidVouchersAvailableException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherAlreadyRedeemedException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherBatchLimitException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherCreationLimitException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherExpiredException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherNotValidException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherSendThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Component that records the duration and outcome of voucher and campaign operations, and counts vouchers per campaign.
+ * <p>
+ * Operations are timed as <code>voucher.operations</code> and <code>campaign.operations</code>, or
+ * <code>voucher.reactive.operations</code> when served by the reactive variant of the voucher API, tagged with the
+ * operation and its outcome: the success outcome the service names, or one derived from the exception that ended it.
+ * Whether the timers publish histograms is configured with <code>management.metrics.distribution.*</code>.
+ */
+@Component
+public class OperationMetrics {
+    public static final String VOUCHER_OPERATIONS = "voucher.operations";
+    public static final String CAMPAIGN_OPERATIONS = "campaign.operations";
+    public static final String REACTIVE_VOUCHER_OPERATIONS = "voucher.reactive.operations";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public OperationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Method that starts timing an operation.
+     *
+     * @return Timer.Sample
+     */
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Method that stops timing an operation and records it with its outcome.
+     *
+     * @param sample
+     * @param name <code>VOUCHER_OPERATIONS</code>, <code>CAMPAIGN_OPERATIONS</code> or <code>REACTIVE_VOUCHER_OPERATIONS</code>
+     * @param operation
+     * @param outcome
+     */
+    public void stop(Timer.Sample sample, String name, String operation, String outcome) {
+        sample.stop(Timer.builder(name)
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .register(meterRegistry));
+    }
+
+    /**
+     * Method that counts vouchers created for a campaign.
+     *
+     * @param campaignId
+     * @param count
+     */
+    public void vouchersCreated(long campaignId, long count) {
+        campaignCounter("vouchers.created", campaignId).increment(count);
+    }
+
+    /**
+     * Method that counts a voucher sent for a campaign.
+     *
+     * @param campaignId
+     */
+    public void voucherSent(long campaignId) {
+        campaignCounter("vouchers.sent", campaignId).increment();
+    }
+
+    /**
+     * Method that counts vouchers sent at once for a campaign.
+     *
+     * @param campaignId
+     * @param count
+     */
+    public void vouchersSent(long campaignId, long count) {
+        campaignCounter("vouchers.sent", campaignId).increment(count);
+    }
+
+    /**
+     * Method that counts a voucher redeemed for a campaign.
+     *
+     * @param campaignId
+     */
+    public void voucherRedeemed(long campaignId) {
+        campaignCounter("vouchers.redeemed", campaignId).increment();
+    }
+
+    /**
+     * Method that names the outcome of an operation that ended with an exception.
+     *
+     * @param exception
+     * @return outcome tag
+     */
+    public static String outcomeOf(Throwable exception) {
+        if (exception instanceof VoucherExpiredException || exception instanceof CampaignExpiredException) {
+            return "expired";
+        }
+        if (exception instanceof VoucherAlreadyRedeemedException) {
+            return "already_redeemed";
+        }
+        if (exception instanceof VoucherNotValidException || exception instanceof NoSuchElementException) {
+            return "not_found";
+        }
+        if (exception instanceof NoValidVouchersAvailableException) {
+            return "exhausted";
+        }
+        if (exception instanceof VoucherCreationLimitException || exception instanceof VoucherBatchLimitException) {
+            return "limit_exceeded";
+        }
+        if (exception instanceof VoucherSendThrottledException) {
+            return "throttled";
+        }
+        if (exception instanceof CampaignAlreadyExistsException) {
+            return "duplicate";
+        }
+        if (exception instanceof IllegalArgumentException) {
+            return "invalid_argument";
+        }
+        return "error";
+    }
+
+    private Counter campaignCounter(String name, long campaignId) {
+        return Counter.builder(name)
+            .tag("campaign", String.valueOf(campaignId))
+            .register(meterRegistry);
+    }
+}
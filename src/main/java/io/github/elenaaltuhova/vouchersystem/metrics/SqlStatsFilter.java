@@ -0,0 +1,41 @@
+package io.github.elenaaltuhova.vouchersystem.metrics;
+
+import io.github.elenaaltuhova.vouchersystem.model.SqlStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter that starts a fresh count of SQL statements for every request and logs what the request issued.
+ *
+ */
+@Log4j2
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        SqlStatsListener.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStats stats = SqlStatsListener.current();
+            if (stats.getCount() > 0) {
+                log.debug("{} {} issued {} statements in {} ms, slowest {} ms: {}", request.getMethod(), request.getRequestURI(),
+                    stats.getCount(), stats.getElapsedMillis(), TimeUnit.NANOSECONDS.toMillis(stats.getSlowestNanos()),
+                    stats.getSlowestSql());
+            }
+        }
+    }
+}
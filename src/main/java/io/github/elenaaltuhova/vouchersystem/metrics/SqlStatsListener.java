@@ -0,0 +1,125 @@
+package io.github.elenaaltuhova.vouchersystem.metrics;
+
+import io.github.elenaaltuhova.vouchersystem.model.SqlStats;
+import lombok.extern.log4j.Log4j2;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.sql.Array;
+import java.time.Duration;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener of every statement executed through the data source, JPA and plain JDBC alike.
+ * <p>
+ * Statements are counted and timed per thread, so a request served on one thread can read what it issued with
+ * {@link #current()} after calling {@link #reset()} at its start; tests read it the same way to assert query budgets.
+ * Statements slower than the threshold are logged with the types of their bind parameters, never their values.
+ */
+@Log4j2
+public class SqlStatsListener implements QueryExecutionListener {
+    private static final ThreadLocal<Recording> RECORDING = ThreadLocal.withInitial(Recording::new);
+
+    private final long slowThresholdNanos;
+
+    public SqlStatsListener(Duration slowThreshold) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    /**
+     * Method that forgets the statements the current thread issued so far.
+     */
+    public static void reset() {
+        RECORDING.get().reset();
+    }
+
+    /**
+     * Method that returns the statements the current thread issued since it was last reset.
+     *
+     * @return <code>SqlStats</code> object
+     */
+    public static SqlStats current() {
+        Recording recording = RECORDING.get();
+        return new SqlStats(recording.count, recording.elapsedNanos, recording.slowestSql, recording.slowestNanos);
+    }
+
+    /**
+     * @see QueryExecutionListener#beforeQuery(ExecutionInfo, List)
+     */
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RECORDING.get().startedAt = System.nanoTime();
+    }
+
+    /**
+     * @see QueryExecutionListener#afterQuery(ExecutionInfo, List)
+     */
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Recording recording = RECORDING.get();
+        long elapsedNanos = System.nanoTime() - recording.startedAt;
+        String sql = queryInfoList.size() == 1 ? queryInfoList.get(0).getQuery() : String.format("batch of %d statements", queryInfoList.size());
+
+        recording.count += queryInfoList.size();
+        recording.elapsedNanos += elapsedNanos;
+        if (elapsedNanos > recording.slowestNanos) {
+            recording.slowestNanos = elapsedNanos;
+            recording.slowestSql = sql;
+        }
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            log.warn("Slow SQL took {} ms, binds {}: {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), bindShape(queryInfoList), sql);
+        }
+    }
+
+    /**
+     * Method that describes the bind parameters of the statements by their types.
+     *
+     * @param queryInfoList
+     * @return for example <code>(Long, Short, Array)</code>, followed by the batch size for batches
+     */
+    private static String bindShape(List<QueryInfo> queryInfoList) {
+        StringJoiner shapes = new StringJoiner("; ");
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+            if (parametersList.isEmpty()) {
+                shapes.add("()");
+                continue;
+            }
+            StringJoiner shape = new StringJoiner(", ", "(", ")");
+            parametersList.get(0).forEach(operation ->
+                shape.add(typeOf(operation.getArgs().length > 1 ? operation.getArgs()[1] : null)));
+            shapes.add(parametersList.size() == 1 ? shape.toString() : shape + " x " + parametersList.size());
+        }
+        return shapes.toString();
+    }
+
+    private static String typeOf(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        return value instanceof Array ? "Array" : value.getClass().getSimpleName();
+    }
+
+    /**
+     * Statements of one thread.
+     */
+    private static final class Recording {
+        private long count;
+        private long elapsedNanos;
+        private String slowestSql;
+        private long slowestNanos;
+        private long startedAt;
+
+        private void reset() {
+            count = 0;
+            elapsedNanos = 0;
+            slowestSql = null;
+            slowestNanos = 0;
+        }
+    }
+}
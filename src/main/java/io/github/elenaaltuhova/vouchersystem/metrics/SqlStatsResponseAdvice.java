@@ -0,0 +1,39 @@
+package io.github.elenaaltuhova.vouchersystem.metrics;
+
+import io.github.elenaaltuhova.vouchersystem.model.SqlStats;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+/**
+ * Advice that tells the client how many statements a response took and how long they ran, right before the body
+ * is written. Enabled by <code>voucher.sql-stats.headers</code>, which is meant for non-production profiles.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "voucher.sql-stats.headers", havingValue = "true")
+public class SqlStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String DB_TIME_HEADER = "X-DB-Time";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStats stats = SqlStatsListener.current();
+        response.getHeaders().set(QUERY_COUNT_HEADER, String.valueOf(stats.getCount()));
+        response.getHeaders().set(DB_TIME_HEADER, String.format(Locale.ROOT, "%.3f", stats.getElapsedMillis()));
+        return body;
+    }
+}
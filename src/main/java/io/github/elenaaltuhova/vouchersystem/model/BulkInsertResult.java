@@ -0,0 +1,31 @@
+package io.github.elenaaltuhova.vouchersystem.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class that summarizes a bulk voucher insert.
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class BulkInsertResult {
+    private final long inserted;
+    private final long duplicates;
+    private final long elapsedNanos;
+
+    /**
+     * Method that returns the insert throughput.
+     *
+     * @return rows inserted per second
+     */
+    public long getRowsPerSecond() {
+        return inserted * TimeUnit.SECONDS.toNanos(1) / Math.max(elapsedNanos, 1);
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.elenaaltuhova.vouchersystem.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Class that holds a snapshot of the counters of an in-memory cache.
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class CacheStats {
+    private final long size;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+
+    /**
+     * Method that calculates the share of lookups answered by the cache.
+     *
+     * @return hit ratio between 0 and 1
+     */
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
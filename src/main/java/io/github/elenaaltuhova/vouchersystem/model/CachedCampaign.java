@@ -0,0 +1,53 @@
+package io.github.elenaaltuhova.vouchersystem.model;
+
+import io.github.elenaaltuhova.vouchersystem.dto.CampaignResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Class that holds the campaign metadata kept by the campaign cache.
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class CachedCampaign {
+    private final long id;
+    private final String title;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long version;
+    private final CodeGeneratorType codeGenerator;
+
+    /**
+     * Method to copy the metadata of a campaign entity.
+     *
+     * @param campaign
+     * @return a <code>CachedCampaign</code> object
+     */
+    public static CachedCampaign of(Campaign campaign) {
+        return new CachedCampaign(campaign.getId(), campaign.getTitle(), campaign.getStartDate(), campaign.getEndDate(),
+            campaign.getVersion(), campaign.getCodeGenerator());
+    }
+
+    /**
+     * Method to convert a cached campaign to a CampaignResponseDTO entity.
+     *
+     * @return a <code>CampaignResponseDTO</code> object
+     */
+    public CampaignResponseDTO convertToDTO() {
+        CampaignResponseDTO dto = new CampaignResponseDTO();
+        dto.setId(this.getId());
+        dto.setTitle(this.getTitle());
+        dto.setStartDate(this.getStartDate());
+        dto.setEndDate(this.getEndDate());
+        dto.setCodeGenerator(this.getCodeGenerator().getValue());
+        return dto;
+    }
+}
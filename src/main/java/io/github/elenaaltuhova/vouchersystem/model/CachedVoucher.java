@@ -0,0 +1,54 @@
+package io.github.elenaaltuhova.vouchersystem.model;
+
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherCheckResultDTO;
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.enums.CheckOutcome;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Class that holds what the check cache knows about a voucher.
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class CachedVoucher {
+    private final long id;
+    private final long campaignId;
+    private final VoucherStatus status;
+
+    /**
+     * Method to convert a cached voucher to a Voucher Response DTO.
+     *
+     * @param code
+     * @param campaignName
+     * @return a <code>VoucherResponseDTO</code> object
+     */
+    public VoucherResponseDTO convertToResponseDTO(UUID code, String campaignName) {
+        VoucherResponseDTO dto = new VoucherResponseDTO();
+        dto.setId(this.getId());
+        dto.setCode(String.valueOf(code));
+        dto.setCampaignName(campaignName);
+        dto.setStatus(this.getStatus().getValue());
+        return dto;
+    }
+
+    /**
+     * Method to convert a cached voucher to the result of checking it in a batch.
+     *
+     * @param code
+     * @param campaignName
+     * @param outcome
+     * @return a <code>VoucherCheckResultDTO</code> object
+     */
+    public VoucherCheckResultDTO convertToCheckResultDTO(UUID code, String campaignName, CheckOutcome outcome) {
+        return new VoucherCheckResultDTO(this.getId(), String.valueOf(code), campaignName, this.getStatus().getValue(), outcome.getValue());
+    }
+}
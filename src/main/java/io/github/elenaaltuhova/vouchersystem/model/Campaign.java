@@ -1,12 +1,16 @@
 package io.github.elenaaltuhova.vouchersystem.model;
 
 import io.github.elenaaltuhova.vouchersystem.dto.CampaignResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -37,6 +41,16 @@ public class Campaign {
     private LocalDate startDate;
     @Column(name = "end_date")
     private LocalDate endDate;
+    @Version
+    private long version;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "code_generator")
+    @NotNull
+    private CodeGeneratorType codeGenerator;
+
+    public Campaign(Long id, String title, LocalDate startDate, LocalDate endDate) {
+        this(id, title, startDate, endDate, 0, CodeGeneratorType.RANDOM);
+    }
 
     /**
      * Method to convert a campaign to a CampaignResponseDTO entity.
@@ -49,6 +63,7 @@ public class Campaign {
         dto.setTitle(this.getTitle());
         dto.setStartDate(this.getStartDate());
         dto.setEndDate(this.getEndDate());
+        dto.setCodeGenerator(this.getCodeGenerator().getValue());
         return dto;
     }
 }
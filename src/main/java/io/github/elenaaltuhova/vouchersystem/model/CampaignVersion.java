@@ -0,0 +1,11 @@
+package io.github.elenaaltuhova.vouchersystem.model;
+
+/**
+ * Interface that projects a campaign on its id and version.
+ *
+ */
+public interface CampaignVersion {
+    Long getId();
+
+    long getVersion();
+}
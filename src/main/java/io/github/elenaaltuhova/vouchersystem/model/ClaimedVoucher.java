@@ -0,0 +1,38 @@
+package io.github.elenaaltuhova.vouchersystem.model;
+
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Class that holds the row returned by an atomic voucher claim.
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ClaimedVoucher {
+    private final Long id;
+    private final UUID code;
+
+    /**
+     * Method to convert a claimed voucher to a Voucher Response DTO.
+     *
+     * @param campaignName
+     * @return a <code>VoucherResponseDTO</code> object
+     */
+    public VoucherResponseDTO convertToResponseDTO(String campaignName) {
+        VoucherResponseDTO dto = new VoucherResponseDTO();
+        dto.setId(this.getId());
+        dto.setCode(String.valueOf(this.getCode()));
+        dto.setCampaignName(campaignName);
+        dto.setStatus(VoucherStatus.SENT.getValue());
+        return dto;
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.elenaaltuhova.vouchersystem.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Class that holds a snapshot of the counters of the voucher code filter.
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class CodeFilterStats {
+    private final long insertions;
+    private final double expectedFalsePositiveRate;
+    private final long rejected;
+    private final long passed;
+    private final long falsePositives;
+
+    /**
+     * Method that calculates the share of unknown codes the filter let through to the database.
+     *
+     * @return observed false positive rate between 0 and 1
+     */
+    public double getObservedFalsePositiveRate() {
+        long unknown = rejected + falsePositives;
+        return unknown == 0 ? 0 : (double) falsePositives / unknown;
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.elenaaltuhova.vouchersystem.model;
+
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Class that holds a row read by a voucher export.
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ExportedVoucher {
+    private final long id;
+    private final UUID code;
+    private final VoucherStatus status;
+}
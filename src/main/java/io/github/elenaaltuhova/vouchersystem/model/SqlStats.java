@@ -0,0 +1,32 @@
+package io.github.elenaaltuhova.vouchersystem.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class that holds a snapshot of the SQL statements a thread issued since it was last reset.
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class SqlStats {
+    private final long count;
+    private final long elapsedNanos;
+    private final String slowestSql;
+    private final long slowestNanos;
+
+    /**
+     * Method that returns the total database time in milliseconds.
+     *
+     * @return elapsed milliseconds, with microsecond precision
+     */
+    public double getElapsedMillis() {
+        return (double) TimeUnit.NANOSECONDS.toMicros(elapsedNanos) / 1000;
+    }
+}
@@ -1,11 +1,15 @@
 package io.github.elenaaltuhova.vouchersystem.model;
 
 import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -30,22 +34,23 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode
-@Table(name = "vouchers")
+@Table(name = "vouchers", indexes = @Index(name = "idx_vouchers_campaign_status", columnList = "campaign_id, status, id"))
 public class Voucher {
     @Id
     @GeneratedValue(strategy= GenerationType.IDENTITY)
     private Long id;
     @NotNull
+    @Column(unique = true)
     private UUID code;
     @JoinColumn(name = "campaign_id", referencedColumnName = "id")
     @ManyToOne(fetch = FetchType.LAZY)
     @NotNull
     private Campaign campaign;
 
-    @JoinColumn(name = "status_id", referencedColumnName = "id")
-    @ManyToOne(fetch = FetchType.LAZY)
+    @Convert(converter = VoucherStatusConverter.class)
+    @Column(name = "status")
     @NotNull
-    private Status status;
+    private VoucherStatus status;
 
     /**
      * Method to convert a Voucher entity to a Voucher Response DTO.
@@ -57,7 +62,7 @@ public class Voucher {
         dto.setId(this.getId());
         dto.setCode(String.valueOf(this.getCode()));
         dto.setCampaignName(this.getCampaign().getTitle());
-        dto.setStatus(String.valueOf(this.getStatus().getStatusName()));
+        dto.setStatus(this.getStatus().getValue());
         return dto;
     }
 }
@@ -0,0 +1,48 @@
+package io.github.elenaaltuhova.vouchersystem.model;
+
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Class that holds a voucher joined with its campaign, read in one query for a voucher check.
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class VoucherCheckView {
+    private final Long id;
+    private final Long campaignId;
+    private final VoucherStatus status;
+    private final String campaignTitle;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long campaignVersion;
+    private final CodeGeneratorType codeGenerator;
+
+    /**
+     * Method to keep the voucher part of the view in the check cache.
+     *
+     * @return a <code>CachedVoucher</code> object
+     */
+    public CachedVoucher toCachedVoucher() {
+        return new CachedVoucher(this.getId(), this.getCampaignId(), this.getStatus());
+    }
+
+    /**
+     * Method to keep the campaign part of the view in the campaign cache.
+     *
+     * @return a <code>CachedCampaign</code> object
+     */
+    public CachedCampaign toCachedCampaign() {
+        return new CachedCampaign(this.getCampaignId(), this.getCampaignTitle(), this.getStartDate(), this.getEndDate(),
+            this.getCampaignVersion(), this.getCodeGenerator());
+    }
+}
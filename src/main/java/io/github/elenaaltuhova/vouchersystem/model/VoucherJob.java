@@ -0,0 +1,73 @@
+package io.github.elenaaltuhova.vouchersystem.model;
+
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherJobResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherJobStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Class that implements VoucherJob entity, the persisted progress of an asynchronous voucher generation.
+ *
+ */
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "voucher_jobs")
+public class VoucherJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @NotNull
+    @Column(name = "campaign_id")
+    private Long campaignId;
+    @NotNull
+    private Long requested;
+    @NotNull
+    private Long created;
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private VoucherJobStatus status;
+    private String error;
+    private String owner;
+    @NotNull
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    @NotNull
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Method to convert a voucher job to a VoucherJobResponseDTO.
+     *
+     * @return a <code>VoucherJobResponseDTO</code> object
+     */
+    public VoucherJobResponseDTO convertEntityToDTO() {
+        VoucherJobResponseDTO dto = new VoucherJobResponseDTO();
+        dto.setId(this.getId());
+        dto.setCampaignId(this.getCampaignId());
+        dto.setRequested(this.getRequested());
+        dto.setCreated(this.getCreated());
+        dto.setStatus(String.valueOf(this.getStatus()));
+        dto.setError(this.getError());
+        dto.setCreatedAt(this.getCreatedAt());
+        dto.setUpdatedAt(this.getUpdatedAt());
+        return dto;
+    }
+}
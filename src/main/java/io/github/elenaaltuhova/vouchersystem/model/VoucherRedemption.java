@@ -0,0 +1,61 @@
+package io.github.elenaaltuhova.vouchersystem.model;
+
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherRedemptionDTO;
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.enums.RedemptionOutcome;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Class that holds the row returned by an atomic conditional redeem together with its outcome.
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class VoucherRedemption {
+    private final Long id;
+    private final UUID code;
+    private final Long campaignId;
+    private final String campaignName;
+    private final RedemptionOutcome outcome;
+
+    /**
+     * Method that creates a redemption for a voucher that does not exist.
+     *
+     * @return a <code>VoucherRedemption</code> object
+     */
+    public static VoucherRedemption notFound() {
+        return new VoucherRedemption(null, null, null, null, RedemptionOutcome.NOT_FOUND);
+    }
+
+    /**
+     * Method to convert a redeemed voucher to a Voucher Response DTO.
+     *
+     * @return a <code>VoucherResponseDTO</code> object
+     */
+    public VoucherResponseDTO convertToResponseDTO() {
+        VoucherResponseDTO dto = new VoucherResponseDTO();
+        dto.setId(this.getId());
+        dto.setCode(String.valueOf(this.getCode()));
+        dto.setCampaignName(this.getCampaignName());
+        dto.setStatus(VoucherStatus.REDEEMED.getValue());
+        return dto;
+    }
+
+    /**
+     * Method to convert the redemption of a voucher in a batch to a Voucher Redemption DTO.
+     *
+     * @param outcome outcome to report, which differs from the own outcome for a voucher requested twice
+     * @return a <code>VoucherRedemptionDTO</code> object
+     */
+    public VoucherRedemptionDTO convertToRedemptionDTO(RedemptionOutcome outcome) {
+        return new VoucherRedemptionDTO(this.getId(), String.valueOf(this.getCode()), this.getCampaignName(), outcome.getValue());
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.elenaaltuhova.vouchersystem.model;
+
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Class that stores a {@link VoucherStatus} as its fixed smallint code, so the code of a status never changes
+ * when the enum constants are reordered.
+ *
+ */
+@Converter
+public class VoucherStatusConverter implements AttributeConverter<VoucherStatus, Short> {
+    /**
+     * @see AttributeConverter#convertToDatabaseColumn(Object)
+     */
+    @Override
+    public Short convertToDatabaseColumn(VoucherStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    /**
+     * @see AttributeConverter#convertToEntityAttribute(Object)
+     */
+    @Override
+    public VoucherStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : VoucherStatus.fromCode(code);
+    }
+}
@@ -1,9 +1,13 @@
 package io.github.elenaaltuhova.vouchersystem.repository;
 
 import io.github.elenaaltuhova.vouchersystem.model.Campaign;
+import io.github.elenaaltuhova.vouchersystem.model.CampaignVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Interface that implements the Campaign Repository, with JPA CRUD methods.
  *
@@ -17,4 +21,12 @@ public interface CampaignRepository extends JpaRepository<Campaign, Long> {
      * @return List<Optional<Campaign>>
      */
     Campaign findByTitle(String campaignTitle);
+
+    /**
+     * Method to list the id and version of every Campaign.
+     *
+     * @return List<CampaignVersion>
+     */
+    @Query("SELECT campaign.id AS id, campaign.version AS version FROM Campaign campaign")
+    List<CampaignVersion> findAllVersions();
 }
@@ -0,0 +1,18 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.model.Campaign;
+import reactor.core.publisher.Mono;
+
+/**
+ * Interface that mirrors the campaign lookups of {@link CampaignRepository} without blocking the calling thread.
+ *
+ */
+public interface ReactiveCampaignRepository {
+    /**
+     * Method that reads a campaign by id.
+     *
+     * @param id
+     * @return Mono<Campaign>, empty when there is no campaign with such id
+     */
+    Mono<Campaign> findById(Long id);
+}
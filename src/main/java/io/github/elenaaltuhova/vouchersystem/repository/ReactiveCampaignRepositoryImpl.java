@@ -0,0 +1,37 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import io.github.elenaaltuhova.vouchersystem.model.Campaign;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Class that implements {@link ReactiveCampaignRepository} with R2DBC.
+ *
+ */
+public class ReactiveCampaignRepositoryImpl implements ReactiveCampaignRepository {
+    private static final String FIND_BY_ID =
+        "SELECT c.id, c.title, c.start_date, c.end_date, c.version, c.code_generator " +
+        "FROM campaigns c WHERE c.id = :id";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCampaignRepositoryImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * @see ReactiveCampaignRepository#findById(Long)
+     */
+    @Override
+    public Mono<Campaign> findById(Long id) {
+        return databaseClient.sql(FIND_BY_ID)
+            .bind("id", id)
+            .map((row, metadata) -> new Campaign(row.get("id", Long.class), row.get("title", String.class),
+                row.get("start_date", LocalDate.class), row.get("end_date", LocalDate.class), row.get("version", Long.class),
+                CodeGeneratorType.valueOf(row.get("code_generator", String.class))))
+            .one();
+    }
+}
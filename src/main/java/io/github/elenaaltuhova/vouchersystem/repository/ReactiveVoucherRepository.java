@@ -0,0 +1,51 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.model.ClaimedVoucher;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherCheckView;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherRedemption;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Interface that mirrors the voucher queries of {@link VoucherRepository} used by check, redeem and send,
+ * without blocking the calling thread.
+ *
+ */
+public interface ReactiveVoucherRepository {
+    /**
+     * Method that reads a voucher together with its campaign by code.
+     *
+     * @param code
+     * @return Mono<VoucherCheckView>, empty when there is no voucher with such code
+     */
+    Mono<VoucherCheckView> findCheckViewByCode(UUID code);
+
+    /**
+     * Method that picks the first ISSUED voucher of a campaign and marks it as SENT,
+     * so concurrent callers never receive the same voucher.
+     *
+     * @param campaignId
+     * @return Mono<ClaimedVoucher>, empty when the campaign has no issued vouchers left
+     */
+    Mono<ClaimedVoucher> claimIssuedVoucher(Long campaignId);
+
+    /**
+     * Method that redeems a voucher by id if it is not redeemed yet and its campaign is running on the given date.
+     *
+     * @param id
+     * @param date
+     * @return Mono<VoucherRedemption>
+     */
+    Mono<VoucherRedemption> redeemById(Long id, LocalDate date);
+
+    /**
+     * Method that redeems a voucher by code if it is not redeemed yet and its campaign is running on the given date.
+     *
+     * @param code
+     * @param date
+     * @return Mono<VoucherRedemption>
+     */
+    Mono<VoucherRedemption> redeemByCode(UUID code, LocalDate date);
+}
@@ -0,0 +1,176 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import io.github.elenaaltuhova.vouchersystem.enums.RedemptionOutcome;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import io.github.elenaaltuhova.vouchersystem.model.ClaimedVoucher;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherCheckView;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherRedemption;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.ISSUED;
+import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.REDEEMED;
+import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.SENT;
+
+/**
+ * Class that implements {@link ReactiveVoucherRepository} with R2DBC.
+ * <p>
+ * The statements are the ones of {@link VoucherClaimRepositoryImpl}: a single <code>UPDATE ... RETURNING</code> with
+ * <code>FOR UPDATE SKIP LOCKED</code> to claim and a data-modifying CTE to redeem on PostgreSQL, and a conditional
+ * update followed by a read of the row on H2.
+ */
+public class ReactiveVoucherRepositoryImpl implements ReactiveVoucherRepository {
+    private static final String FIND_CHECK_VIEW =
+        "SELECT v.id, v.campaign_id, v.status, c.title, c.start_date, c.end_date, c.version, c.code_generator " +
+        "FROM vouchers v JOIN campaigns c ON c.id = v.campaign_id WHERE v.code = :code";
+
+    private static final String POSTGRESQL_CLAIM =
+        "UPDATE vouchers SET status = :sent " +
+        "WHERE id = (SELECT v.id FROM vouchers v " +
+        "WHERE v.campaign_id = :campaignId AND v.status = :issued " +
+        "ORDER BY v.id LIMIT 1 FOR UPDATE SKIP LOCKED) " +
+        "RETURNING id, code";
+
+    private static final String H2_FIND_ISSUED =
+        "SELECT v.id, v.code FROM vouchers v WHERE v.campaign_id = :campaignId AND v.status = :issued " +
+        "ORDER BY v.id LIMIT 1";
+
+    private static final String H2_CLAIM =
+        "UPDATE vouchers SET status = :sent WHERE id = :id AND status = :issued";
+
+    private static final String SELECT_TARGET =
+        "SELECT v.id, v.code, v.campaign_id, v.status = :redeemed AS already_redeemed, " +
+        "c.title, c.start_date, c.end_date " +
+        "FROM vouchers v JOIN campaigns c ON c.id = v.campaign_id ";
+
+    private static final String POSTGRESQL_REDEEM =
+        "WITH target AS (" + SELECT_TARGET + "WHERE v.%s = :key FOR UPDATE OF v), " +
+        "redeemed AS (" +
+        "UPDATE vouchers SET status = :redeemed FROM target " +
+        "WHERE vouchers.id = target.id AND NOT target.already_redeemed " +
+        "AND target.start_date <= :date AND (target.end_date IS NULL OR target.end_date >= :date)) " +
+        "SELECT * FROM target";
+
+    private static final String H2_REDEEM =
+        "UPDATE vouchers SET status = :redeemed " +
+        "WHERE %s = :key AND status <> :redeemed " +
+        "AND campaign_id IN (SELECT c.id FROM campaigns c " +
+        "WHERE c.start_date <= :date AND (c.end_date IS NULL OR c.end_date >= :date))";
+
+    private static final String H2_FIND_TARGET = SELECT_TARGET + "WHERE v.%s = :key";
+
+    private final DatabaseClient databaseClient;
+    private final boolean postgresql;
+
+    public ReactiveVoucherRepositoryImpl(DatabaseClient databaseClient, SqlDialect dialect) {
+        this.databaseClient = databaseClient;
+        this.postgresql = dialect == SqlDialect.POSTGRESQL;
+    }
+
+    /**
+     * @see ReactiveVoucherRepository#findCheckViewByCode(UUID)
+     */
+    @Override
+    public Mono<VoucherCheckView> findCheckViewByCode(UUID code) {
+        return databaseClient.sql(FIND_CHECK_VIEW)
+            .bind("code", code)
+            .map(row -> new VoucherCheckView(row.get("id", Long.class), row.get("campaign_id", Long.class),
+                VoucherStatus.fromCode(row.get("status", Short.class)), row.get("title", String.class),
+                row.get("start_date", LocalDate.class), row.get("end_date", LocalDate.class), row.get("version", Long.class),
+                CodeGeneratorType.valueOf(row.get("code_generator", String.class))))
+            .one();
+    }
+
+    /**
+     * @see ReactiveVoucherRepository#claimIssuedVoucher(Long)
+     */
+    @Override
+    public Mono<ClaimedVoucher> claimIssuedVoucher(Long campaignId) {
+        if (postgresql) {
+            return databaseClient.sql(POSTGRESQL_CLAIM)
+                .bind("sent", SENT.getCode())
+                .bind("campaignId", campaignId)
+                .bind("issued", ISSUED.getCode())
+                .map(ReactiveVoucherRepositoryImpl::claimedVoucher)
+                .one();
+        }
+
+        return databaseClient.sql(H2_FIND_ISSUED)
+            .bind("campaignId", campaignId)
+            .bind("issued", ISSUED.getCode())
+            .map(ReactiveVoucherRepositoryImpl::claimedVoucher)
+            .one()
+            .flatMap(candidate -> databaseClient.sql(H2_CLAIM)
+                .bind("sent", SENT.getCode())
+                .bind("id", candidate.getId())
+                .bind("issued", ISSUED.getCode())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated == 1 ? Mono.just(candidate) : claimIssuedVoucher(campaignId)));
+    }
+
+    /**
+     * @see ReactiveVoucherRepository#redeemById(Long, LocalDate)
+     */
+    @Override
+    public Mono<VoucherRedemption> redeemById(Long id, LocalDate date) {
+        return redeem("id", id, date);
+    }
+
+    /**
+     * @see ReactiveVoucherRepository#redeemByCode(UUID, LocalDate)
+     */
+    @Override
+    public Mono<VoucherRedemption> redeemByCode(UUID code, LocalDate date) {
+        return redeem("code", code, date);
+    }
+
+    private Mono<VoucherRedemption> redeem(String keyColumn, Object key, LocalDate date) {
+        if (postgresql) {
+            return databaseClient.sql(String.format(POSTGRESQL_REDEEM, keyColumn))
+                .bind("redeemed", REDEEMED.getCode())
+                .bind("key", key)
+                .bind("date", date)
+                .map(row -> redemption(row, date))
+                .one()
+                .defaultIfEmpty(VoucherRedemption.notFound());
+        }
+
+        return databaseClient.sql(String.format(H2_REDEEM, keyColumn))
+            .bind("redeemed", REDEEMED.getCode())
+            .bind("key", key)
+            .bind("date", date)
+            .fetch()
+            .rowsUpdated()
+            .flatMap(updated -> databaseClient.sql(String.format(H2_FIND_TARGET, keyColumn))
+                .bind("redeemed", REDEEMED.getCode())
+                .bind("key", key)
+                .map(row -> redemption(row, date))
+                .one()
+                .map(voucher -> updated == 1 ? new VoucherRedemption(voucher.getId(), voucher.getCode(),
+                    voucher.getCampaignId(), voucher.getCampaignName(), RedemptionOutcome.REDEEMED) : voucher)
+                .defaultIfEmpty(VoucherRedemption.notFound()));
+    }
+
+    private static ClaimedVoucher claimedVoucher(Readable row) {
+        return new ClaimedVoucher(row.get("id", Long.class), row.get("code", UUID.class));
+    }
+
+    /**
+     * Method that maps a voucher row, as it was before redeeming, to the outcome of redeeming it on the given date.
+     *
+     * @param row
+     * @param date
+     * @return VoucherRedemption
+     */
+    private static VoucherRedemption redemption(Readable row, LocalDate date) {
+        return new VoucherRedemption(row.get("id", Long.class), row.get("code", UUID.class), row.get("campaign_id", Long.class),
+            row.get("title", String.class), RedemptionOutcome.of(date, row.get("start_date", LocalDate.class),
+            row.get("end_date", LocalDate.class), Boolean.TRUE.equals(row.get("already_redeemed", Boolean.class))));
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.support.AbstractSqlTypeValue;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * Enum of the databases the hand-written voucher SQL is tuned for.
+ * Anything that is not PostgreSQL gets the portable H2 statements.
+ */
+public enum SqlDialect {
+    POSTGRESQL,
+    H2;
+
+    /**
+     * Method that detects the dialect of a data source from its metadata.
+     *
+     * @param dataSource
+     * @return SqlDialect
+     */
+    public static SqlDialect of(DataSource dataSource) throws MetaDataAccessException {
+        String databaseName = JdbcUtils.commonDatabaseName(
+            JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+        return "PostgreSQL".equals(databaseName) ? POSTGRESQL : H2;
+    }
+
+    /**
+     * Method that detects the dialect of a reactive connection factory from its metadata.
+     *
+     * @param connectionFactory
+     * @return SqlDialect
+     */
+    public static SqlDialect of(ConnectionFactory connectionFactory) {
+        return "PostgreSQL".equals(connectionFactory.getMetadata().getName()) ? POSTGRESQL : H2;
+    }
+
+    /**
+     * Method that binds values as an SQL array of the given element type, for <code>= ANY(?)</code> conditions
+     * that both dialects support.
+     *
+     * @param typeName
+     * @param values
+     * @return SqlTypeValue
+     */
+    public static SqlTypeValue array(String typeName, Collection<?> values) {
+        Object[] elements = values.toArray();
+        return new AbstractSqlTypeValue() {
+            @Override
+            protected Object createTypeValue(Connection connection, int sqlType, String sqlTypeName) throws SQLException {
+                return connection.createArrayOf(typeName, elements);
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.model.IssuedVoucher;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Interface that provides set-based bulk inserts of vouchers.
+ *
+ */
+public interface VoucherBulkRepository {
+    /**
+     * Method that inserts ISSUED vouchers for a campaign in one statement.
+     * Codes that already exist are skipped instead of failing the whole insert.
+     *
+     * @param campaignId
+     * @param codes
+     * @return List<IssuedVoucher> with the vouchers that were actually inserted
+     */
+    List<IssuedVoucher> insertIssuedVouchers(Long campaignId, List<UUID> codes);
+}
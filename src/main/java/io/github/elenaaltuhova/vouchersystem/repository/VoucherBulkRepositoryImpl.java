@@ -0,0 +1,60 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.model.IssuedVoucher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+
+import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.ISSUED;
+
+/**
+ * Class that implements {@link VoucherBulkRepository} with plain JDBC.
+ * <p>
+ * The whole chunk of codes is bound as a single array parameter and unnested server side, so a chunk is one
+ * statement and one round trip no matter how many codes it holds, and ids still come from the column default.
+ * On PostgreSQL duplicate codes are dropped by <code>ON CONFLICT DO NOTHING</code>; H2 filters them with
+ * <code>NOT EXISTS</code>. Both return only the rows that were inserted.
+ */
+public class VoucherBulkRepositoryImpl implements VoucherBulkRepository {
+    private static final String POSTGRESQL_INSERT =
+        "INSERT INTO vouchers (code, campaign_id, status) " +
+        "SELECT t.code, ?, ? FROM unnest(?::uuid[]) AS t(code) " +
+        "ON CONFLICT (code) DO NOTHING " +
+        "RETURNING id, code";
+
+    private static final String H2_INSERT =
+        "SELECT id, code FROM FINAL TABLE (" +
+        "INSERT INTO vouchers (code, campaign_id, status) " +
+        "SELECT DISTINCT t.code, ?, ? FROM UNNEST(?) AS t(code) " +
+        "WHERE NOT EXISTS (SELECT 1 FROM vouchers v WHERE v.code = t.code))";
+
+    private static final RowMapper<IssuedVoucher> ISSUED_VOUCHER_MAPPER =
+        (rs, rowNum) -> new IssuedVoucher(rs.getLong("id"), rs.getObject("code", UUID.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertSql;
+
+    public VoucherBulkRepositoryImpl(DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.insertSql = SqlDialect.of(dataSource) == SqlDialect.POSTGRESQL ? POSTGRESQL_INSERT : H2_INSERT;
+    }
+
+    /**
+     * @see VoucherBulkRepository#insertIssuedVouchers(Long, List)
+     */
+    @Override
+    public List<IssuedVoucher> insertIssuedVouchers(Long campaignId, List<UUID> codes) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(insertSql);
+            statement.setLong(1, campaignId);
+            statement.setShort(2, ISSUED.getCode());
+            statement.setArray(3, connection.createArrayOf("uuid", codes.toArray()));
+            return statement;
+        }, ISSUED_VOUCHER_MAPPER);
+    }
+}
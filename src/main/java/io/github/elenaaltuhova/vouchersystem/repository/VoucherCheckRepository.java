@@ -0,0 +1,21 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.model.VoucherCheckView;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Interface that provides set-based reads of vouchers for checking several codes at once.
+ *
+ */
+public interface VoucherCheckRepository {
+    /**
+     * Method to read the vouchers with the given codes and their campaigns in a single query, without managed entities.
+     *
+     * @param codes
+     * @return the found vouchers by code; codes that were not found are left out
+     */
+    Map<UUID, VoucherCheckView> findCheckViewsByCodes(Collection<UUID> codes);
+}
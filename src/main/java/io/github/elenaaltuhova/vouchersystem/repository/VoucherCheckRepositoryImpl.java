@@ -0,0 +1,51 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherCheckView;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Class that implements {@link VoucherCheckRepository} with plain JDBC.
+ * <p>
+ * All codes are bound as one array and matched with <code>= ANY(?)</code>, so the statement text is the same
+ * whatever the number of codes and both PostgreSQL and H2 resolve it with the unique index on the code.
+ */
+public class VoucherCheckRepositoryImpl implements VoucherCheckRepository {
+    private static final String FIND_CHECK_VIEWS =
+        "SELECT v.code, v.id, v.campaign_id, v.status, c.title, c.start_date, c.end_date, c.version, c.code_generator " +
+        "FROM vouchers v JOIN campaigns c ON c.id = v.campaign_id WHERE v.code = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VoucherCheckRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * @see VoucherCheckRepository#findCheckViewsByCodes(Collection)
+     */
+    @Override
+    public Map<UUID, VoucherCheckView> findCheckViewsByCodes(Collection<UUID> codes) {
+        Map<UUID, VoucherCheckView> views = new HashMap<>();
+        if (codes.isEmpty()) {
+            return views;
+        }
+
+        RowCallbackHandler handler = (ResultSet rs) -> views.put(rs.getObject("code", UUID.class),
+            new VoucherCheckView(rs.getLong("id"), rs.getLong("campaign_id"), VoucherStatus.fromCode(rs.getShort("status")),
+                rs.getString("title"), rs.getObject("start_date", LocalDate.class), rs.getObject("end_date", LocalDate.class),
+                rs.getLong("version"), CodeGeneratorType.valueOf(rs.getString("code_generator"))));
+        jdbcTemplate.query(FIND_CHECK_VIEWS, handler, SqlDialect.array("uuid", codes));
+        return views;
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.model.ClaimedVoucher;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherRedemption;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Interface that provides atomic, single-statement state transitions for vouchers.
+ *
+ */
+public interface VoucherClaimRepository {
+    /**
+     * Method that picks the first ISSUED voucher of a campaign and marks it as SENT in one statement,
+     * so concurrent callers never receive the same voucher.
+     *
+     * @param campaignId
+     * @return Optional<ClaimedVoucher>
+     */
+    Optional<ClaimedVoucher> claimIssuedVoucher(Long campaignId);
+
+    /**
+     * Method that picks up to count ISSUED vouchers of a campaign in id order and marks them as SENT in one
+     * statement, handing every claimed voucher to the consumer as soon as it is returned.
+     *
+     * @param campaignId
+     * @param count
+     * @param consumer
+     * @return number of claimed vouchers, less than count when the campaign runs out of ISSUED vouchers
+     */
+    long claimIssuedVouchers(Long campaignId, int count, Consumer<ClaimedVoucher> consumer);
+
+    /**
+     * Method that returns claimed vouchers that could not be delivered to ISSUED, leaving the ones that are no
+     * longer SENT untouched.
+     *
+     * @param ids
+     * @return number of released vouchers
+     */
+    int releaseSentVouchers(Collection<Long> ids);
+
+    /**
+     * Method that redeems a voucher by id if it is not redeemed yet and its campaign is running on the given date.
+     *
+     * @param id
+     * @param date
+     * @return VoucherRedemption
+     */
+    VoucherRedemption redeemById(Long id, LocalDate date);
+
+    /**
+     * Method that redeems a voucher by code if it is not redeemed yet and its campaign is running on the given date.
+     *
+     * @param code
+     * @param date
+     * @return VoucherRedemption
+     */
+    VoucherRedemption redeemByCode(UUID code, LocalDate date);
+
+    /**
+     * Method that redeems every voucher with one of the given ids or codes that is not redeemed yet and whose campaign
+     * is running on the given date, in a few set-based statements.
+     *
+     * @param ids
+     * @param codes
+     * @param date
+     * @return one VoucherRedemption per voucher found; vouchers that were not found are left out
+     */
+    List<VoucherRedemption> redeemAll(Collection<Long> ids, Collection<UUID> codes, LocalDate date);
+}
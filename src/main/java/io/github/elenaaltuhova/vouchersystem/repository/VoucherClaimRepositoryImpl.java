@@ -0,0 +1,245 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.enums.RedemptionOutcome;
+import io.github.elenaaltuhova.vouchersystem.model.ClaimedVoucher;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherRedemption;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.ISSUED;
+import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.REDEEMED;
+import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.SENT;
+
+/**
+ * Class that implements {@link VoucherClaimRepository} with plain JDBC.
+ * <p>
+ * On PostgreSQL the claim is a single <code>UPDATE ... RETURNING</code> whose target row is picked with
+ * <code>FOR UPDATE SKIP LOCKED</code>, so concurrent senders never wait on each other.
+ * H2 has no <code>SKIP LOCKED</code>, so there the oldest issued voucher is read and then flipped with an update
+ * that re-checks its status; a sender whose update count is zero lost the race and retries with the next voucher.
+ * Claiming several vouchers works the same way with a <code>LIMIT</code> on the picked rows; on H2 every candidate is
+ * flipped on its own and only the ones whose update count is one are handed out.
+ * <p>
+ * Redeem locks the voucher, validates it and flips its status in one data-modifying CTE on PostgreSQL,
+ * returning the prior state so a failed redeem can be explained without another read.
+ * H2 does not support data-modifying CTEs, so there it is a conditional update followed by a read of the row.
+ * A batch redeem runs the same statements for all vouchers at once, matching them with <code>= ANY</code> on arrays
+ * of ids and codes and locking them in id order, so overlapping batches cannot deadlock.
+ */
+public class VoucherClaimRepositoryImpl implements VoucherClaimRepository {
+    private static final String POSTGRESQL_CLAIM =
+        "UPDATE vouchers SET status = ? " +
+        "WHERE id = (SELECT v.id FROM vouchers v " +
+        "WHERE v.campaign_id = ? AND v.status = ? " +
+        "ORDER BY v.id LIMIT 1 FOR UPDATE SKIP LOCKED) " +
+        "RETURNING id, code";
+
+    private static final String H2_FIND_ISSUED =
+        "SELECT v.id, v.code FROM vouchers v WHERE v.campaign_id = ? AND v.status = ? " +
+        "ORDER BY v.id LIMIT 1";
+
+    private static final String H2_CLAIM =
+        "UPDATE vouchers SET status = ? WHERE id = ? AND status = ?";
+
+    private static final String POSTGRESQL_CLAIM_ALL =
+        "UPDATE vouchers SET status = ? " +
+        "WHERE id IN (SELECT v.id FROM vouchers v " +
+        "WHERE v.campaign_id = ? AND v.status = ? " +
+        "ORDER BY v.id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+        "RETURNING id, code";
+
+    private static final String H2_FIND_ALL_ISSUED =
+        "SELECT v.id, v.code FROM vouchers v WHERE v.campaign_id = ? AND v.status = ? " +
+        "ORDER BY v.id LIMIT ?";
+
+    private static final String RELEASE =
+        "UPDATE vouchers SET status = ? WHERE id = ANY(?) AND status = ?";
+
+    private static final String SELECT_TARGET =
+        "SELECT v.id, v.code, v.campaign_id, v.status = ? AS already_redeemed, " +
+        "c.title, c.start_date, c.end_date " +
+        "FROM vouchers v JOIN campaigns c ON c.id = v.campaign_id ";
+
+    private static final String POSTGRESQL_REDEEM =
+        "WITH target AS (" + SELECT_TARGET + "WHERE %s ORDER BY v.id FOR UPDATE OF v), " +
+        "redeemed AS (" +
+        "UPDATE vouchers SET status = ? FROM target " +
+        "WHERE vouchers.id = target.id AND NOT target.already_redeemed " +
+        "AND target.start_date <= ? AND (target.end_date IS NULL OR target.end_date >= ?)) " +
+        "SELECT * FROM target";
+
+    private static final String H2_REDEEM =
+        "SELECT id FROM FINAL TABLE (" +
+        "UPDATE vouchers v SET status = ? " +
+        "WHERE %s AND v.status <> ? " +
+        "AND v.campaign_id IN (SELECT c.id FROM campaigns c " +
+        "WHERE c.start_date <= ? AND (c.end_date IS NULL OR c.end_date >= ?)))";
+
+    private static final String H2_FIND_TARGET = SELECT_TARGET + "WHERE %s";
+
+    private static final String BY_ID = "v.id = ?";
+    private static final String BY_CODE = "v.code = ?";
+    private static final String BY_IDS_OR_CODES = "(v.id = ANY(?) OR v.code = ANY(?))";
+
+    private static final RowMapper<ClaimedVoucher> CLAIMED_VOUCHER_MAPPER =
+        (rs, rowNum) -> new ClaimedVoucher(rs.getLong("id"), rs.getObject("code", UUID.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgresql;
+
+    public VoucherClaimRepositoryImpl(DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.postgresql = SqlDialect.of(dataSource) == SqlDialect.POSTGRESQL;
+    }
+
+    /**
+     * @see VoucherClaimRepository#claimIssuedVoucher(Long)
+     */
+    @Override
+    public Optional<ClaimedVoucher> claimIssuedVoucher(Long campaignId) {
+        if (postgresql) {
+            return first(jdbcTemplate.query(POSTGRESQL_CLAIM, CLAIMED_VOUCHER_MAPPER,
+                SENT.getCode(), campaignId, ISSUED.getCode()));
+        }
+
+        while (true) {
+            Optional<ClaimedVoucher> candidate = first(jdbcTemplate.query(H2_FIND_ISSUED, CLAIMED_VOUCHER_MAPPER,
+                campaignId, ISSUED.getCode()));
+            if (candidate.isEmpty()
+                || jdbcTemplate.update(H2_CLAIM, SENT.getCode(), candidate.get().getId(), ISSUED.getCode()) == 1) {
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * @see VoucherClaimRepository#claimIssuedVouchers(Long, int, Consumer)
+     */
+    @Override
+    public long claimIssuedVouchers(Long campaignId, int count, Consumer<ClaimedVoucher> consumer) {
+        long[] claimed = {0};
+        if (postgresql) {
+            RowCallbackHandler handler = (ResultSet rs) -> {
+                consumer.accept(CLAIMED_VOUCHER_MAPPER.mapRow(rs, (int) claimed[0]));
+                claimed[0]++;
+            };
+            jdbcTemplate.query(POSTGRESQL_CLAIM_ALL, handler, SENT.getCode(), campaignId, ISSUED.getCode(), count);
+            return claimed[0];
+        }
+
+        while (claimed[0] < count) {
+            List<ClaimedVoucher> candidates = jdbcTemplate.query(H2_FIND_ALL_ISSUED, CLAIMED_VOUCHER_MAPPER,
+                campaignId, ISSUED.getCode(), count - claimed[0]);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            for (ClaimedVoucher candidate : candidates) {
+                if (jdbcTemplate.update(H2_CLAIM, SENT.getCode(), candidate.getId(), ISSUED.getCode()) == 1) {
+                    consumer.accept(candidate);
+                    claimed[0]++;
+                }
+            }
+        }
+        return claimed[0];
+    }
+
+    /**
+     * @see VoucherClaimRepository#releaseSentVouchers(Collection)
+     */
+    @Override
+    public int releaseSentVouchers(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(RELEASE, ISSUED.getCode(), SqlDialect.array("bigint", ids), SENT.getCode());
+    }
+
+    /**
+     * @see VoucherClaimRepository#redeemById(Long, LocalDate)
+     */
+    @Override
+    @Transactional
+    public VoucherRedemption redeemById(Long id, LocalDate date) {
+        return first(redeem(BY_ID, date, id)).orElseGet(VoucherRedemption::notFound);
+    }
+
+    /**
+     * @see VoucherClaimRepository#redeemByCode(UUID, LocalDate)
+     */
+    @Override
+    @Transactional
+    public VoucherRedemption redeemByCode(UUID code, LocalDate date) {
+        return first(redeem(BY_CODE, date, code)).orElseGet(VoucherRedemption::notFound);
+    }
+
+    /**
+     * @see VoucherClaimRepository#redeemAll(Collection, Collection, LocalDate)
+     */
+    @Override
+    @Transactional
+    public List<VoucherRedemption> redeemAll(Collection<Long> ids, Collection<UUID> codes, LocalDate date) {
+        if (ids.isEmpty() && codes.isEmpty()) {
+            return List.of();
+        }
+        return redeem(BY_IDS_OR_CODES, date, SqlDialect.array("bigint", ids), SqlDialect.array("uuid", codes));
+    }
+
+    /**
+     * Method that redeems the vouchers matching a condition and returns one redemption per matching voucher.
+     *
+     * @param condition on the vouchers aliased as v, with a placeholder per key
+     * @param date
+     * @param keys
+     * @return List<VoucherRedemption>
+     */
+    private List<VoucherRedemption> redeem(String condition, LocalDate date, Object... keys) {
+        List<Object> args = new ArrayList<>();
+        args.add(REDEEMED.getCode());
+        if (postgresql) {
+            args.addAll(List.of(keys));
+            args.addAll(List.of(REDEEMED.getCode(), date, date));
+            return jdbcTemplate.query(String.format(POSTGRESQL_REDEEM, condition), redemptionMapper(date), args.toArray());
+        }
+
+        args.addAll(List.of(keys));
+        Object[] findArgs = args.toArray();
+        args.addAll(List.of(REDEEMED.getCode(), date, date));
+        Set<Long> redeemed = new HashSet<>(jdbcTemplate.queryForList(String.format(H2_REDEEM, condition), Long.class, args.toArray()));
+
+        return jdbcTemplate.query(String.format(H2_FIND_TARGET, condition), redemptionMapper(date), findArgs).stream()
+            .map(voucher -> redeemed.contains(voucher.getId()) ? new VoucherRedemption(voucher.getId(), voucher.getCode(),
+                voucher.getCampaignId(), voucher.getCampaignName(), RedemptionOutcome.REDEEMED) : voucher)
+            .toList();
+    }
+
+    /**
+     * Method that maps a voucher row, as it was before redeeming, to the outcome of redeeming it on the given date.
+     *
+     * @param date
+     * @return RowMapper<VoucherRedemption>
+     */
+    private static RowMapper<VoucherRedemption> redemptionMapper(LocalDate date) {
+        return (rs, rowNum) -> new VoucherRedemption(rs.getLong("id"), rs.getObject("code", UUID.class),
+            rs.getLong("campaign_id"), rs.getString("title"), RedemptionOutcome.of(date,
+            rs.getObject("start_date", LocalDate.class), rs.getObject("end_date", LocalDate.class), rs.getBoolean("already_redeemed")));
+    }
+
+    private static <T> Optional<T> first(List<T> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.model.ExportedVoucher;
+
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Interface that provides streaming reads of all vouchers of a campaign.
+ *
+ */
+public interface VoucherExportRepository {
+    /**
+     * Method that reads the vouchers of a campaign in id order and hands every row to the consumer as soon as
+     * it is fetched, without keeping the rows or attaching them to the persistence context.
+     *
+     * @param campaignId
+     * @param consumer
+     * @return number of exported vouchers
+     */
+    long exportVouchers(Long campaignId, Consumer<ExportedVoucher> consumer);
+
+    /**
+     * Method that reads the codes of the vouchers with an id above the given one in id order and hands every id
+     * and code to the consumer as soon as they are fetched.
+     *
+     * @param afterId
+     * @param consumer
+     * @return number of read codes
+     */
+    long exportCodes(long afterId, BiConsumer<Long, UUID> consumer);
+}
@@ -0,0 +1,88 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import io.github.elenaaltuhova.vouchersystem.model.ExportedVoucher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Class that implements {@link VoucherExportRepository} with plain JDBC.
+ * <p>
+ * The rows are read through a forward-only, read-only cursor with a fixed fetch size, so only one batch of
+ * rows is held by the driver at a time. PostgreSQL only uses a server side cursor inside a transaction,
+ * which is why the read runs in a read-only one.
+ */
+public class VoucherExportRepositoryImpl implements VoucherExportRepository {
+    private static final String SELECT_VOUCHERS =
+        "SELECT v.id, v.code, v.status FROM vouchers v WHERE v.campaign_id = ? ORDER BY v.id";
+
+    private static final String SELECT_CODES = "SELECT v.id, v.code FROM vouchers v WHERE v.id > ? ORDER BY v.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public VoucherExportRepositoryImpl(DataSource dataSource,
+                                       @Value(value = "${voucher.export.fetch-size}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * @see VoucherExportRepository#exportVouchers(Long, Consumer)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportVouchers(Long campaignId, Consumer<ExportedVoucher> consumer) {
+        long[] exported = {0};
+        RowCallbackHandler handler = (ResultSet rs) -> {
+            consumer.accept(new ExportedVoucher(rs.getLong(1), rs.getObject(2, UUID.class),
+                VoucherStatus.fromCode(rs.getShort(3))));
+            exported[0]++;
+        };
+
+        jdbcTemplate.query(cursor(SELECT_VOUCHERS, campaignId), handler);
+        return exported[0];
+    }
+
+    /**
+     * @see VoucherExportRepository#exportCodes(long, BiConsumer)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCodes(long afterId, BiConsumer<Long, UUID> consumer) {
+        long[] exported = {0};
+        jdbcTemplate.query(cursor(SELECT_CODES, afterId), (ResultSet rs) -> {
+            consumer.accept(rs.getLong(1), rs.getObject(2, UUID.class));
+            exported[0]++;
+        });
+        return exported[0];
+    }
+
+    /**
+     * Method that prepares a forward-only, read-only statement with the configured fetch size.
+     *
+     * @param sql
+     * @param parameters
+     * @return PreparedStatementCreator
+     */
+    private PreparedStatementCreator cursor(String sql, Object... parameters) {
+        return connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            return statement;
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherJobStatus;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface that implements the Voucher Job Repository, with JPA CRUD methods.
+ *
+ */
+@Repository
+public interface VoucherJobRepository extends JpaRepository<VoucherJob, Long> {
+    /**
+     * Method to search a Voucher Job by id within a campaign.
+     *
+     * @param id
+     * @param campaignId
+     * @return Optional<VoucherJob>
+     */
+    Optional<VoucherJob> findByIdAndCampaignId(Long id, Long campaignId);
+
+    /**
+     * Method to search the Voucher Jobs in the given statuses that were not updated since the given time.
+     *
+     * @param statuses
+     * @param updatedAt
+     * @return List<VoucherJob>
+     */
+    List<VoucherJob> findByStatusInAndUpdatedAtBeforeOrderById(Collection<VoucherJobStatus> statuses, LocalDateTime updatedAt);
+
+    /**
+     * Method to claim a Voucher Job for an owner, atomically: a queued job, or a running one whose owner stopped
+     * updating it before staleBefore, is set to RUNNING under the new owner.
+     *
+     * @param id
+     * @param owner
+     * @param updatedAt
+     * @param staleBefore
+     * @return 1 when the job was claimed, 0 otherwise
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VoucherJob job SET job.status = io.github.elenaaltuhova.vouchersystem.enums.VoucherJobStatus.RUNNING, " +
+        "job.owner = :owner, job.updatedAt = :updatedAt WHERE job.id = :id " +
+        "AND (job.status = io.github.elenaaltuhova.vouchersystem.enums.VoucherJobStatus.QUEUED " +
+        "OR (job.status = io.github.elenaaltuhova.vouchersystem.enums.VoucherJobStatus.RUNNING AND job.updatedAt < :staleBefore))")
+    int claim(Long id, String owner, LocalDateTime updatedAt, LocalDateTime staleBefore);
+
+    /**
+     * Method to mark the running Voucher Jobs of an owner as alive.
+     *
+     * @param ids
+     * @param owner
+     * @param updatedAt
+     * @return number of updated jobs
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VoucherJob job SET job.updatedAt = :updatedAt WHERE job.id IN :ids AND job.owner = :owner " +
+        "AND job.status = io.github.elenaaltuhova.vouchersystem.enums.VoucherJobStatus.RUNNING")
+    int heartbeat(Collection<Long> ids, String owner, LocalDateTime updatedAt);
+
+    /**
+     * Method to add the vouchers of a finished chunk to the progress of a job, as long as the owner still holds it.
+     *
+     * @param id
+     * @param owner
+     * @param count
+     * @param updatedAt
+     * @return 1 when the progress was added, 0 when the job was taken over
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VoucherJob job SET job.created = job.created + :count, job.updatedAt = :updatedAt " +
+        "WHERE job.id = :id AND job.owner = :owner")
+    int addProgress(Long id, String owner, long count, LocalDateTime updatedAt);
+
+    /**
+     * Method to change Voucher Job status by id.
+     *
+     * @param id
+     * @param status
+     * @param error
+     * @param updatedAt
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VoucherJob job SET job.status = :status, job.error = :error, job.updatedAt = :updatedAt WHERE job.id = :id")
+    void updateStatusById(Long id, VoucherJobStatus status, String error, LocalDateTime updatedAt);
+
+    /**
+     * Method to change Voucher Job status by id, as long as the owner still holds the job.
+     *
+     * @param id
+     * @param owner
+     * @param status
+     * @param error
+     * @param updatedAt
+     * @return 1 when the status was changed, 0 when the job was taken over
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VoucherJob job SET job.status = :status, job.error = :error, job.updatedAt = :updatedAt " +
+        "WHERE job.id = :id AND job.owner = :owner")
+    int updateStatusByIdAndOwner(Long id, String owner, VoucherJobStatus status, String error, LocalDateTime updatedAt);
+}
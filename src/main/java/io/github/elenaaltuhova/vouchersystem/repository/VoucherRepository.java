@@ -1,8 +1,9 @@
 package io.github.elenaaltuhova.vouchersystem.repository;
 
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
 import io.github.elenaaltuhova.vouchersystem.model.Campaign;
-import io.github.elenaaltuhova.vouchersystem.model.Status;
 import io.github.elenaaltuhova.vouchersystem.model.Voucher;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherCheckView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -18,7 +19,8 @@ import java.util.UUID;
  */
 
 @Repository
-public interface VoucherRepository extends JpaRepository<Voucher, Long> {
+public interface VoucherRepository extends JpaRepository<Voucher, Long>, VoucherClaimRepository, VoucherCheckRepository,
+    VoucherBulkRepository, VoucherExportRepository {
     /**
      * Method to search Voucher by Voucher Code.
      *
@@ -27,6 +29,17 @@ public interface VoucherRepository extends JpaRepository<Voucher, Long> {
      */
     Voucher findByCode(UUID code);
 
+    /**
+     * Method to read a voucher and its campaign by Voucher Code in a single query, without managed entities.
+     *
+     * @param code
+     * @return Optional<VoucherCheckView>
+     */
+    @Query("SELECT new io.github.elenaaltuhova.vouchersystem.model.VoucherCheckView(voucher.id, campaign.id, voucher.status, " +
+        "campaign.title, campaign.startDate, campaign.endDate, campaign.version, campaign.codeGenerator) " +
+        "FROM Voucher voucher JOIN voucher.campaign campaign WHERE voucher.code = :code")
+    Optional<VoucherCheckView> findCheckViewByCode(UUID code);
+
     /**
      * Method to change Voucher status by id.
      *
@@ -36,7 +49,7 @@ public interface VoucherRepository extends JpaRepository<Voucher, Long> {
     @Transactional
     @Modifying(clearAutomatically = true)
     @Query("UPDATE Voucher voucher SET voucher.status = :status WHERE voucher.id = :id")
-    void updateStatusById(Long id, Status status);
+    void updateStatusById(Long id, VoucherStatus status);
 
     /**
      * Method to find a voucher by status and specific campaign id.
@@ -45,5 +58,5 @@ public interface VoucherRepository extends JpaRepository<Voucher, Long> {
      * @param status
      * @return Voucher
      */
-    Optional<Voucher> findFirstByCampaignAndStatus(Campaign campaign, Status status);
+    Optional<Voucher> findFirstByCampaignAndStatus(Campaign campaign, VoucherStatus status);
 }
@@ -1,17 +1,16 @@
 package io.github.elenaaltuhova.vouchersystem.service;
 
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignCache;
 import io.github.elenaaltuhova.vouchersystem.dto.CampaignDTO;
 import io.github.elenaaltuhova.vouchersystem.dto.CampaignResponseDTO;
 import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
-import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
 import io.github.elenaaltuhova.vouchersystem.exception.CampaignAlreadyExistsException;
 import io.github.elenaaltuhova.vouchersystem.exception.VoucherCreationLimitException;
+import io.github.elenaaltuhova.vouchersystem.metrics.OperationMetrics;
+import io.github.elenaaltuhova.vouchersystem.model.CachedCampaign;
 import io.github.elenaaltuhova.vouchersystem.model.Campaign;
-import io.github.elenaaltuhova.vouchersystem.model.Status;
-import io.github.elenaaltuhova.vouchersystem.model.Voucher;
 import io.github.elenaaltuhova.vouchersystem.repository.CampaignRepository;
-import io.github.elenaaltuhova.vouchersystem.repository.StatusRepository;
-import io.github.elenaaltuhova.vouchersystem.repository.VoucherRepository;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -20,7 +19,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.UUID;
+
+import static io.github.elenaaltuhova.vouchersystem.metrics.OperationMetrics.CAMPAIGN_OPERATIONS;
 
 @Service
 public class CampaignServiceImpl implements CampaignService {
@@ -29,14 +29,17 @@ public class CampaignServiceImpl implements CampaignService {
     CampaignRepository campaignRepository;
 
     @Autowired
-    VoucherRepository voucherRepository;
+    CampaignCache campaignCache;
 
     @Autowired
-    StatusRepository statusRepository;
+    VoucherBulkInsertService voucherBulkInsertService;
 
     @Autowired
     VoucherCodesGeneratorService voucherCodesGeneratorService;
 
+    @Autowired
+    OperationMetrics operationMetrics;
+
     @Value(value = "${voucher.creation.limit}")
     int voucherCreationLimit;
 
@@ -45,13 +48,20 @@ public class CampaignServiceImpl implements CampaignService {
      */
     @Override
     public CampaignResponseDTO create(CampaignDTO campaignDTO) throws CampaignAlreadyExistsException {
-
-        if (campaignRepository.findByTitle(campaignDTO.getTitle()) != null) {
-            throw new CampaignAlreadyExistsException(String.format("Marketing campaign with '%s' name already exists", campaignDTO.getTitle()));
+        Timer.Sample sample = operationMetrics.start();
+        try {
+            if (campaignRepository.findByTitle(campaignDTO.getTitle()) != null) {
+                throw new CampaignAlreadyExistsException(String.format("Marketing campaign with '%s' name already exists", campaignDTO.getTitle()));
+            }
+
+            Campaign createdCampaign = campaignRepository.save(campaignDTO.convertDTOtoEntity(voucherCodesGeneratorService.getDefaultType()));
+            CampaignResponseDTO campaign = campaignCache.put(createdCampaign).convertToDTO();
+            operationMetrics.stop(sample, CAMPAIGN_OPERATIONS, "create", "created");
+            return campaign;
+        } catch (Exception exception) {
+            operationMetrics.stop(sample, CAMPAIGN_OPERATIONS, "create", OperationMetrics.outcomeOf(exception));
+            throw exception;
         }
-
-        Campaign createdCampaign = campaignRepository.save(campaignDTO.convertDTOtoEntity());
-        return createdCampaign.convertEntityToDTO();
     }
 
     /**
@@ -59,13 +69,16 @@ public class CampaignServiceImpl implements CampaignService {
      */
     @Override
     public CampaignResponseDTO findById(Long id) {
-        Optional<Campaign> foundCampaign = campaignRepository.findById(id);
+        Timer.Sample sample = operationMetrics.start();
+        Optional<CachedCampaign> foundCampaign = campaignCache.get(id);
 
         if (!foundCampaign.isPresent()) {
+            operationMetrics.stop(sample, CAMPAIGN_OPERATIONS, "find", "not_found");
             throw new NoSuchElementException(String.format("There is no campaign with ID=%d", id));
         }
 
-        return foundCampaign.get().convertEntityToDTO();
+        operationMetrics.stop(sample, CAMPAIGN_OPERATIONS, "find", "found");
+        return foundCampaign.get().convertToDTO();
     }
 
     /**
@@ -73,33 +86,40 @@ public class CampaignServiceImpl implements CampaignService {
      */
     @Override
     public List<VoucherResponseDTO> createVouchers(Long campaignId, int count) throws VoucherCreationLimitException {
-        List<UUID> codes = voucherCodesGeneratorService.generateUUIDCodes(count);
-        Optional<Campaign> foundCampaign = campaignRepository.findById(campaignId);
-        Status status = statusRepository.findByStatusName(VoucherStatus.ISSUED);
-        List<Voucher> vouchers = new ArrayList<>();
+        Timer.Sample sample = operationMetrics.start();
+        try {
+            List<VoucherResponseDTO> vouchers = insertVouchers(campaignId, count);
+            operationMetrics.stop(sample, CAMPAIGN_OPERATIONS, "create_vouchers", "created");
+            return vouchers;
+        } catch (Exception exception) {
+            operationMetrics.stop(sample, CAMPAIGN_OPERATIONS, "create_vouchers", OperationMetrics.outcomeOf(exception));
+            throw exception;
+        }
+    }
 
+    /**
+     * Method that inserts vouchers for a campaign within the limit of vouchers created at once.
+     *
+     * @param campaignId
+     * @param count
+     * @return List<VoucherResponseDTO>
+     */
+    private List<VoucherResponseDTO> insertVouchers(Long campaignId, int count) throws VoucherCreationLimitException {
         if (count > voucherCreationLimit) {
             throw new VoucherCreationLimitException(String.format("Limit of possible vouchers created at once exceeded. Should be less than %d", voucherCreationLimit));
         }
 
+        Optional<CachedCampaign> foundCampaign = campaignCache.get(campaignId);
+
         if (!foundCampaign.isPresent()) {
             throw new NoSuchElementException(String.format("There is no campaign with ID=%d", campaignId));
         }
 
-        codes.forEach(code -> {
-            Voucher voucher = new Voucher();
-            voucher.setCampaign(foundCampaign.get());
-            voucher.setStatus(status);
-            voucher.setCode(code);
-            vouchers.add(voucher);
-        });
-
-        List<Voucher> createdVouchers = voucherRepository.saveAll(vouchers);
-
-        List<VoucherResponseDTO> createdVouchersDTOs = new ArrayList<>();
-        createdVouchers.forEach(voucher -> {
-            createdVouchersDTOs.add(voucher.convertEntityToResponseDTO());
-        });
+        String campaignTitle = foundCampaign.get().getTitle();
+        List<VoucherResponseDTO> createdVouchersDTOs = new ArrayList<>(count);
+        voucherBulkInsertService.insert(campaignId, count, vouchers -> vouchers.forEach(voucher -> {
+            createdVouchersDTOs.add(voucher.convertToResponseDTO(campaignTitle));
+        }));
 
         return createdVouchersDTOs;
     }
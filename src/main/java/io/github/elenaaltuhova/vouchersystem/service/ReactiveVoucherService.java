@@ -0,0 +1,43 @@
+package io.github.elenaaltuhova.vouchersystem.service;
+
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
+import reactor.core.publisher.Mono;
+
+/**
+ * Interface that provides the non-blocking counterparts of the {@link VoucherService} check, redeem and send methods.
+ * The returned Mono fails with the exception the blocking method would throw.
+ */
+public interface ReactiveVoucherService {
+
+    /**
+     * Method that checks Voucher status.
+     *
+     * @param code
+     * @return Mono<VoucherResponseDTO>
+     */
+    Mono<VoucherResponseDTO> check(String code);
+
+    /**
+     * Method that redeems Voucher based on voucher id.
+     *
+     * @param voucherId
+     * @return Mono<VoucherResponseDTO>
+     */
+    Mono<VoucherResponseDTO> redeem(Long voucherId);
+
+    /**
+     * Method that redeems Voucher based on voucher code.
+     *
+     * @param code
+     * @return Mono<VoucherResponseDTO>
+     */
+    Mono<VoucherResponseDTO> redeemByCode(String code);
+
+    /**
+     * Method that returns valid Voucher for campaign id.
+     *
+     * @param campaignId
+     * @return Mono<VoucherResponseDTO>
+     */
+    Mono<VoucherResponseDTO> sendValidVoucherForACampaign(Long campaignId);
+}
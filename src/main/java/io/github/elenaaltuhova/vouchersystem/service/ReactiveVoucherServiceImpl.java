@@ -0,0 +1,219 @@
+package io.github.elenaaltuhova.vouchersystem.service;
+
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignCache;
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignSendLimiter;
+import io.github.elenaaltuhova.vouchersystem.cache.VoucherCheckCache;
+import io.github.elenaaltuhova.vouchersystem.cache.VoucherCodeFilter;
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.exception.NoValidVouchersAvailableException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherNotValidException;
+import io.github.elenaaltuhova.vouchersystem.generator.SignedVoucherCodes;
+import io.github.elenaaltuhova.vouchersystem.metrics.OperationMetrics;
+import io.github.elenaaltuhova.vouchersystem.model.CachedCampaign;
+import io.github.elenaaltuhova.vouchersystem.model.CachedVoucher;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherRedemption;
+import io.github.elenaaltuhova.vouchersystem.repository.ReactiveCampaignRepository;
+import io.github.elenaaltuhova.vouchersystem.repository.ReactiveVoucherRepository;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static io.github.elenaaltuhova.vouchersystem.metrics.OperationMetrics.REACTIVE_VOUCHER_OPERATIONS;
+
+/**
+ * Class that implements {@link ReactiveVoucherService} on the reactive repositories.
+ * <p>
+ * It shares the check cache, the code filter and the campaign cache with {@link VoucherServiceImpl}, so both stacks
+ * see the same vouchers. A campaign that is not cached yet is read through {@link ReactiveCampaignRepository} instead
+ * of {@link CampaignCache#get(Long)}, which would block the event loop.
+ */
+@Service
+@ConditionalOnProperty(name = "voucher.reactive.enabled", havingValue = "true")
+public class ReactiveVoucherServiceImpl implements ReactiveVoucherService {
+    @Autowired
+    ReactiveVoucherRepository reactiveVoucherRepository;
+
+    @Autowired
+    ReactiveCampaignRepository reactiveCampaignRepository;
+
+    @Autowired
+    CampaignCache campaignCache;
+
+    @Autowired
+    VoucherCheckCache voucherCheckCache;
+
+    @Autowired
+    VoucherCodeFilter voucherCodeFilter;
+
+    @Autowired
+    SignedVoucherCodes signedVoucherCodes;
+
+    @Autowired
+    CampaignSendLimiter campaignSendLimiter;
+
+    @Autowired
+    OperationMetrics operationMetrics;
+
+    /**
+     * @see ReactiveVoucherService#check(String)
+     */
+    @Override
+    public Mono<VoucherResponseDTO> check(String code) {
+        return timed("check", "valid", () -> checkCode(UUID.fromString(code)));
+    }
+
+    /**
+     * Method that checks a voucher, reading it and its campaign only when they are not cached.
+     *
+     * @param voucherCode
+     * @return Mono<VoucherResponseDTO>
+     */
+    private Mono<VoucherResponseDTO> checkCode(UUID voucherCode) {
+        Mono<CachedCampaign> signedCampaign = signedVoucherCodes.isSigned(voucherCode) ? checkSignedCode(voucherCode) : Mono.empty();
+
+        return signedCampaign.then(Mono.defer(() -> {
+            if (!voucherCodeFilter.mightContain(voucherCode)) {
+                return Mono.error(new VoucherNotValidException("Voucher not valid."));
+            }
+
+            CachedVoucher cachedVoucher = voucherCheckCache.get(voucherCode);
+            if (cachedVoucher != null) {
+                return findCampaign(cachedVoucher.getCampaignId())
+                    .switchIfEmpty(Mono.error(() -> new VoucherNotValidException("Voucher not valid.")))
+                    .flatMap(campaign -> validated(voucherCode, cachedVoucher, campaign));
+            }
+
+            long stamp = voucherCheckCache.stamp(voucherCode);
+            return reactiveVoucherRepository.findCheckViewByCode(voucherCode)
+                .switchIfEmpty(Mono.defer(() -> {
+                    voucherCodeFilter.recordFalsePositive();
+                    return Mono.error(new VoucherNotValidException("Voucher not valid."));
+                }))
+                .flatMap(view -> {
+                    CachedVoucher foundVoucher = view.toCachedVoucher();
+                    voucherCheckCache.put(voucherCode, stamp, foundVoucher.getId(), foundVoucher.getCampaignId(), foundVoucher.getStatus());
+                    return validated(voucherCode, foundVoucher, campaignCache.put(view.toCachedCampaign()));
+                });
+        }));
+    }
+
+    private Mono<VoucherResponseDTO> validated(UUID voucherCode, CachedVoucher voucher, CachedCampaign campaign) {
+        return Mono.fromCallable(() -> {
+            VoucherChecks.checkIfValid(campaign, voucher.getStatus());
+            return voucher.convertToResponseDTO(voucherCode, campaign.getTitle());
+        });
+    }
+
+    /**
+     * Method that validates a signed code and the dates of its campaign before the voucher is looked up.
+     *
+     * @param voucherCode
+     * @return Mono<CachedCampaign>
+     */
+    private Mono<CachedCampaign> checkSignedCode(UUID voucherCode) {
+        return Mono.justOrEmpty(signedVoucherCodes.verify(voucherCode))
+            .flatMap(this::findCampaign)
+            .switchIfEmpty(Mono.error(() -> new VoucherNotValidException("Voucher not valid.")))
+            .flatMap(campaign -> Mono.fromCallable(() -> {
+                VoucherChecks.checkDates(campaign);
+                return campaign;
+            }));
+    }
+
+    /**
+     * @see ReactiveVoucherService#redeem(Long)
+     */
+    @Override
+    public Mono<VoucherResponseDTO> redeem(Long voucherId) {
+        return timed("redeem", "redeemed", () -> reactiveVoucherRepository.redeemById(voucherId, LocalDate.now())
+            .flatMap(this::handleRedemption));
+    }
+
+    /**
+     * @see ReactiveVoucherService#redeemByCode(String)
+     */
+    @Override
+    public Mono<VoucherResponseDTO> redeemByCode(String code) {
+        return timed("redeem_by_code", "redeemed", () -> reactiveVoucherRepository.redeemByCode(UUID.fromString(code), LocalDate.now())
+            .flatMap(this::handleRedemption));
+    }
+
+    /**
+     * Method that drops a redeemed voucher from the check cache and turns the outcome into a response or an error.
+     *
+     * @param redemption
+     * @return Mono<VoucherResponseDTO>
+     */
+    private Mono<VoucherResponseDTO> handleRedemption(VoucherRedemption redemption) {
+        if (redemption.getCode() != null) {
+            voucherCheckCache.invalidate(redemption.getCode());
+        }
+        return Mono.fromCallable(() -> {
+            VoucherChecks.checkRedemption(redemption);
+            operationMetrics.voucherRedeemed(redemption.getCampaignId());
+            return redemption.convertToResponseDTO();
+        });
+    }
+
+    /**
+     * @see ReactiveVoucherService#sendValidVoucherForACampaign(Long)
+     */
+    @Override
+    public Mono<VoucherResponseDTO> sendValidVoucherForACampaign(Long campaignId) {
+        return timed("send", "sent", () -> findCampaign(campaignId)
+            .switchIfEmpty(Mono.error(() -> new NoSuchElementException(String.format("There is no campaign with ID=%d", campaignId))))
+            .flatMap(campaign -> Mono.fromCallable(() -> {
+                VoucherChecks.checkNotExpired(campaign);
+                if (campaignSendLimiter.isExhausted(campaignId)) {
+                    throw new NoValidVouchersAvailableException("There are no available vouchers available for this campaign.");
+                }
+                campaignSendLimiter.acquire(campaignId);
+                return campaign;
+            }))
+            .flatMap(campaign -> reactiveVoucherRepository.claimIssuedVoucher(campaignId)
+                .switchIfEmpty(Mono.error(() -> {
+                    campaignSendLimiter.markExhausted(campaignId);
+                    return new NoValidVouchersAvailableException("There are no available vouchers available for this campaign.");
+                }))
+                .map(claimedVoucher -> {
+                    voucherCheckCache.invalidate(claimedVoucher.getCode());
+                    return claimedVoucher.convertToResponseDTO(campaign.getTitle());
+                }))
+            .doOnSuccess(voucher -> operationMetrics.voucherSent(campaignId)));
+    }
+
+    /**
+     * Method that returns a cached campaign or reads it without blocking and caches it.
+     *
+     * @param campaignId
+     * @return Mono<CachedCampaign>, empty when there is no campaign with such id
+     */
+    private Mono<CachedCampaign> findCampaign(Long campaignId) {
+        return Mono.justOrEmpty(campaignCache.getCached(campaignId))
+            .switchIfEmpty(Mono.defer(() -> reactiveCampaignRepository.findById(campaignId).map(campaignCache::put)));
+    }
+
+    /**
+     * Method that records the latency and outcome of an operation once its Mono completes.
+     *
+     * @param operation
+     * @param outcome outcome tag of a successful completion
+     * @param operationSupplier
+     * @return Mono<T>
+     */
+    private <T> Mono<T> timed(String operation, String outcome, Supplier<Mono<T>> operationSupplier) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = operationMetrics.start();
+            return Mono.defer(operationSupplier)
+                .doOnSuccess(result -> operationMetrics.stop(sample, REACTIVE_VOUCHER_OPERATIONS, operation, outcome))
+                .doOnError(exception -> operationMetrics.stop(sample, REACTIVE_VOUCHER_OPERATIONS, operation, OperationMetrics.outcomeOf(exception)));
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.elenaaltuhova.vouchersystem.service;
+
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignCache;
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignSendLimiter;
+import io.github.elenaaltuhova.vouchersystem.cache.VoucherCodeFilter;
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import io.github.elenaaltuhova.vouchersystem.metrics.OperationMetrics;
+import io.github.elenaaltuhova.vouchersystem.model.BulkInsertResult;
+import io.github.elenaaltuhova.vouchersystem.model.CachedCampaign;
+import io.github.elenaaltuhova.vouchersystem.model.IssuedVoucher;
+import io.github.elenaaltuhova.vouchersystem.repository.VoucherRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Service that writes large numbers of vouchers for a campaign in fixed-size, set-based chunks.
+ * <p>
+ * Every chunk is committed on its own, so a duplicate code never rolls back work that is already done:
+ * duplicates are skipped by the insert and replaced with freshly generated codes in the next chunk.
+ * The codes of every chunk are added to the {@link VoucherCodeFilter} as soon as they are written, and the campaign
+ * is no longer flagged as exhausted by the {@link CampaignSendLimiter} once the first written chunk is committed:
+ * right away on its own, or after the caller's transaction commits when the insert runs inside one.
+ * Codes come from the generator the campaign selected.
+ */
+@Log4j2
+@Service
+public class VoucherBulkInsertService {
+    private static final int MAX_EMPTY_CHUNKS = 3;
+
+    @Autowired
+    VoucherRepository voucherRepository;
+
+    @Autowired
+    VoucherCodesGeneratorService voucherCodesGeneratorService;
+
+    @Autowired
+    VoucherCodeFilter voucherCodeFilter;
+
+    @Autowired
+    CampaignCache campaignCache;
+
+    @Autowired
+    CampaignSendLimiter campaignSendLimiter;
+
+    @Autowired
+    OperationMetrics operationMetrics;
+
+    @Value(value = "${voucher.bulk.chunk-size}")
+    int chunkSize;
+
+    /**
+     * Method that inserts exactly <code>count</code> ISSUED vouchers for a campaign.
+     *
+     * @param campaignId
+     * @param count
+     * @param sink receives the vouchers of every chunk as soon as it is written
+     * @return <code>BulkInsertResult</code> object
+     */
+    public BulkInsertResult insert(Long campaignId, long count, Consumer<List<IssuedVoucher>> sink) {
+        long startedAt = System.nanoTime();
+        long inserted = 0;
+        long duplicates = 0;
+        int emptyChunks = 0;
+        boolean restocked = false;
+        CodeGeneratorType generatorType = campaignCache.get(campaignId).map(CachedCampaign::getCodeGenerator).orElse(null);
+
+        while (inserted < count) {
+            int size = (int) Math.min(chunkSize, count - inserted);
+            List<IssuedVoucher> chunk = voucherRepository.insertIssuedVouchers(campaignId,
+                voucherCodesGeneratorService.generate(generatorType, campaignId, size));
+
+            chunk.forEach(voucher -> voucherCodeFilter.add(voucher.getCode()));
+            if (!chunk.isEmpty() && !restocked) {
+                restocked = true;
+                afterCommit(() -> campaignSendLimiter.markRestocked(campaignId));
+            }
+            operationMetrics.vouchersCreated(campaignId, chunk.size());
+            inserted += chunk.size();
+            duplicates += size - chunk.size();
+
+            if (chunk.isEmpty() && ++emptyChunks >= MAX_EMPTY_CHUNKS) {
+                throw new IllegalStateException(String.format("Could not insert vouchers for campaign with ID=%d", campaignId));
+            }
+            sink.accept(chunk);
+        }
+
+        BulkInsertResult result = new BulkInsertResult(inserted, duplicates, System.nanoTime() - startedAt);
+        log.info("Inserted {} vouchers for campaign {} in {} ms ({} rows/s, {} duplicate codes skipped)",
+            result.getInserted(), campaignId, TimeUnit.NANOSECONDS.toMillis(result.getElapsedNanos()),
+            result.getRowsPerSecond(), result.getDuplicates());
+        return result;
+    }
+
+    /**
+     * Method that runs an action once the current transaction has committed, or right away when there is none,
+     * so other threads never act on rows that may still roll back.
+     *
+     * @param action
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.elenaaltuhova.vouchersystem.service;
+
+import io.github.elenaaltuhova.vouchersystem.enums.CheckOutcome;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import io.github.elenaaltuhova.vouchersystem.exception.CampaignExpiredException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherAlreadyRedeemedException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherExpiredException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherNotValidException;
+import io.github.elenaaltuhova.vouchersystem.model.CachedCampaign;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherRedemption;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Class that holds the validations shared by the blocking and the reactive voucher services.
+ *
+ */
+final class VoucherChecks {
+
+    private VoucherChecks() {
+    }
+
+    /**
+     * Method that combines all validations for checking Voucher.
+     *
+     * @param campaign
+     * @param status
+     */
+    static void checkIfValid(CachedCampaign campaign, VoucherStatus status) throws VoucherNotValidException, VoucherExpiredException, VoucherAlreadyRedeemedException {
+        switch (CheckOutcome.of(LocalDate.now(), campaign.getStartDate(), campaign.getEndDate(), status)) {
+            case NOT_FOUND, NOT_STARTED -> throw new VoucherNotValidException("Voucher not valid.");
+            case EXPIRED -> throw new VoucherExpiredException("Voucher is expired.");
+            case ALREADY_REDEEMED -> throw new VoucherAlreadyRedeemedException("Voucher is already redeemed.");
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Method that validates that a campaign has started and has not ended.
+     *
+     * @param campaign
+     */
+    static void checkDates(CachedCampaign campaign) throws VoucherNotValidException, VoucherExpiredException {
+        LocalDate currentDate = LocalDate.now();
+        Optional<LocalDate> expirationDate = Optional.ofNullable(campaign.getEndDate());
+
+        if (currentDate.isBefore(campaign.getStartDate())) {
+            throw new VoucherNotValidException("Voucher not valid.");
+        }
+
+        if (expirationDate.isPresent()) {
+            if (currentDate.isAfter(expirationDate.get())) {
+                throw new VoucherExpiredException("Voucher is expired.");
+            }
+        }
+    }
+
+    /**
+     * Method that validates that a campaign can still send vouchers.
+     *
+     * @param campaign
+     */
+    static void checkNotExpired(CachedCampaign campaign) throws CampaignExpiredException {
+        LocalDate currentDate = LocalDate.now();
+        Optional<LocalDate> expirationDate = Optional.ofNullable(campaign.getEndDate());
+
+        if (expirationDate.isPresent()) {
+            if (currentDate.isAfter(expirationDate.get())) {
+                throw new CampaignExpiredException("Campaign has already expired.");
+            }
+        }
+    }
+
+    /**
+     * Method that turns a failed atomic redeem into the matching exception.
+     *
+     * @param redemption
+     */
+    static void checkRedemption(VoucherRedemption redemption) throws VoucherNotValidException, VoucherExpiredException, VoucherAlreadyRedeemedException {
+        switch (redemption.getOutcome()) {
+            case NOT_FOUND, NOT_STARTED -> throw new VoucherNotValidException("Voucher not valid.");
+            case EXPIRED -> throw new VoucherExpiredException("Voucher is expired.");
+            case ALREADY_REDEEMED -> throw new VoucherAlreadyRedeemedException("Voucher is already redeemed.");
+            default -> {
+            }
+        }
+    }
+}
@@ -1,19 +1,57 @@
 package io.github.elenaaltuhova.vouchersystem.service;
 
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import io.github.elenaaltuhova.vouchersystem.generator.VoucherCodeGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.IntStream;
 
+/**
+ * Service that generates voucher codes with the {@link VoucherCodeGenerator} a campaign selected.
+ *
+ */
 @Service
 public class VoucherCodesGeneratorService {
-    public List<UUID> generateUUIDCodes(int count) {
-        List<UUID> codeList = new ArrayList<>();
-        IntStream.range(0, count).forEach(i -> {
-            codeList.add(UUID.randomUUID());
-        });
-        return codeList;
+    private final Map<CodeGeneratorType, VoucherCodeGenerator> generators = new EnumMap<>(CodeGeneratorType.class);
+    private final CodeGeneratorType defaultType;
+
+    @Autowired
+    public VoucherCodesGeneratorService(List<VoucherCodeGenerator> generators,
+                                        @Value(value = "${voucher.code-generator.default}") String defaultType) {
+        generators.forEach(generator -> this.generators.put(generator.getType(), generator));
+        this.defaultType = CodeGeneratorType.fromValue(defaultType);
+        if (!this.generators.containsKey(this.defaultType)) {
+            throw new IllegalStateException(String.format("There is no code generator '%s'", defaultType));
+        }
+    }
+
+    /**
+     * Method that returns the generator that campaigns use unless they select another one.
+     *
+     * @return CodeGeneratorType
+     */
+    public CodeGeneratorType getDefaultType() {
+        return defaultType;
+    }
+
+    /**
+     * Method that generates voucher codes for a campaign.
+     *
+     * @param type generator the campaign selected, the default one when null
+     * @param campaignId
+     * @param count
+     * @return List<UUID> with <code>count</code> codes
+     */
+    public List<UUID> generate(CodeGeneratorType type, Long campaignId, int count) {
+        VoucherCodeGenerator generator = generators.get(type == null ? defaultType : type);
+        if (generator == null) {
+            throw new IllegalStateException(String.format("There is no code generator '%s'", type.getValue()));
+        }
+        return generator.generate(campaignId, count);
     }
 }
@@ -0,0 +1,96 @@
+package io.github.elenaaltuhova.vouchersystem.service;
+
+import io.github.elenaaltuhova.vouchersystem.enums.ExportFormat;
+import io.github.elenaaltuhova.vouchersystem.model.ExportedVoucher;
+import io.github.elenaaltuhova.vouchersystem.repository.VoucherRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Service that streams all vouchers of a campaign to an output stream as NDJSON or CSV.
+ * <p>
+ * Every row is written as soon as it is read from the cursor, so the heap used by an export does not depend
+ * on the number of vouchers in the campaign.
+ */
+@Log4j2
+@Service
+public class VoucherExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,code,status\n";
+
+    @Autowired
+    VoucherRepository voucherRepository;
+
+    /**
+     * Method that writes the vouchers of a campaign to the output stream in the given format.
+     *
+     * @param campaignId
+     * @param format
+     * @param outputStream
+     * @return number of exported vouchers
+     * @throws IOException
+     */
+    public long export(Long campaignId, ExportFormat format, OutputStream outputStream) throws IOException {
+        long startedAt = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        long exported;
+        try {
+            exported = voucherRepository.exportVouchers(campaignId, rowWriter(format, writer));
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+        writer.flush();
+
+        log.info("Exported {} vouchers for campaign {} as {} in {} ms", exported, campaignId, format.getValue(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return exported;
+    }
+
+    /**
+     * Method that creates the consumer writing one voucher per line in the given format.
+     *
+     * @param format
+     * @param writer
+     * @return Consumer<ExportedVoucher>
+     */
+    private static Consumer<ExportedVoucher> rowWriter(ExportFormat format, Writer writer) {
+        return voucher -> {
+            try {
+                if (format == ExportFormat.CSV) {
+                    writer.write(Long.toString(voucher.getId()));
+                    writer.write(',');
+                    writer.write(voucher.getCode().toString());
+                    writer.write(',');
+                    writer.write(voucher.getStatus().getValue());
+                    writer.write('\n');
+                } else {
+                    writer.write("{\"id\":");
+                    writer.write(Long.toString(voucher.getId()));
+                    writer.write(",\"code\":\"");
+                    writer.write(voucher.getCode().toString());
+                    writer.write("\",\"status\":\"");
+                    writer.write(voucher.getStatus().getValue());
+                    writer.write("\"}\n");
+                }
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        };
+    }
+}
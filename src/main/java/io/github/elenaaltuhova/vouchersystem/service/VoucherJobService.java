@@ -0,0 +1,28 @@
+package io.github.elenaaltuhova.vouchersystem.service;
+
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherJobResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherCreationLimitException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherJobRejectedException;
+
+/**
+ * Interface that provides methods for asynchronous voucher generation jobs.
+ */
+public interface VoucherJobService {
+    /**
+     * Method that persists a new voucher generation job for a campaign and queues it.
+     *
+     * @param campaignId
+     * @param count
+     * @return <code>VoucherJobResponseDTO</code> object
+     */
+    VoucherJobResponseDTO submit(Long campaignId, long count) throws VoucherCreationLimitException, VoucherJobRejectedException;
+
+    /**
+     * Method that searches for a voucher generation job of a campaign.
+     *
+     * @param campaignId
+     * @param jobId
+     * @return <code>VoucherJobResponseDTO</code> object
+     */
+    VoucherJobResponseDTO findById(Long campaignId, Long jobId);
+}
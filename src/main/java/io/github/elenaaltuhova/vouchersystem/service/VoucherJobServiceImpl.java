@@ -0,0 +1,189 @@
+package io.github.elenaaltuhova.vouchersystem.service;
+
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignCache;
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherJobResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherJobStatus;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherCreationLimitException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherJobRejectedException;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherJob;
+import io.github.elenaaltuhova.vouchersystem.repository.VoucherJobRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service that generates vouchers in the background, chunk by chunk.
+ * <p>
+ * Every chunk and the progress it adds to its job are committed together, so the persisted progress always
+ * matches the vouchers in the database and an interrupted job resumes exactly where it stopped.
+ * <p>
+ * Several application instances share the jobs table, so an instance claims a job with a single conditional update
+ * before running it and only runs it when the update hit the row. While a job runs its owner refreshes
+ * <code>updated_at</code> every <code>voucher.jobs.heartbeat-interval</code>; a running job whose owner stopped doing so
+ * for <code>voucher.jobs.stale-after</code> is claimed by the next instance that looks for unfinished jobs. Progress and
+ * status are only written while the owner still holds the job, so an owner that was taken over stops after its
+ * current chunk, which is rolled back.
+ */
+@Log4j2
+@Service
+public class VoucherJobServiceImpl implements VoucherJobService {
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    @Autowired
+    VoucherJobRepository voucherJobRepository;
+
+    @Autowired
+    CampaignCache campaignCache;
+
+    @Autowired
+    VoucherBulkInsertService voucherBulkInsertService;
+
+    @Autowired
+    ThreadPoolTaskExecutor voucherJobExecutor;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Value(value = "${voucher.jobs.limit}")
+    long voucherJobLimit;
+
+    @Value(value = "${voucher.bulk.chunk-size}")
+    int chunkSize;
+
+    @Value(value = "${voucher.jobs.owner}")
+    String owner;
+
+    @Value(value = "${voucher.jobs.stale-after}")
+    Duration staleAfter;
+
+    private final Set<Long> localJobs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @see VoucherJobService#submit(Long, long)
+     */
+    @Override
+    public VoucherJobResponseDTO submit(Long campaignId, long count) throws VoucherCreationLimitException, VoucherJobRejectedException {
+        if (count < 1 || count > voucherJobLimit) {
+            throw new VoucherCreationLimitException(String.format("Number of vouchers generated by a job should be between 1 and %d", voucherJobLimit));
+        }
+
+        if (!campaignCache.get(campaignId).isPresent()) {
+            throw new NoSuchElementException(String.format("There is no campaign with ID=%d", campaignId));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        VoucherJob job = voucherJobRepository.save(
+            new VoucherJob(null, campaignId, count, 0L, VoucherJobStatus.QUEUED, null, null, now, now));
+
+        localJobs.add(job.getId());
+        try {
+            voucherJobExecutor.execute(() -> run(job.getId()));
+        } catch (TaskRejectedException exception) {
+            localJobs.remove(job.getId());
+            String error = "Voucher generation queue is full, try again later.";
+            voucherJobRepository.updateStatusById(job.getId(), VoucherJobStatus.FAILED, error, LocalDateTime.now());
+            throw new VoucherJobRejectedException(error, exception);
+        }
+
+        return job.convertEntityToDTO();
+    }
+
+    /**
+     * @see VoucherJobService#findById(Long, Long)
+     */
+    @Override
+    public VoucherJobResponseDTO findById(Long campaignId, Long jobId) {
+        return voucherJobRepository.findByIdAndCampaignId(jobId, campaignId)
+            .orElseThrow(() -> new NoSuchElementException(String.format("There is no voucher job with ID=%d for campaign with ID=%d", jobId, campaignId)))
+            .convertEntityToDTO();
+    }
+
+    /**
+     * Method that queues the unfinished jobs nobody has updated for <code>voucher.jobs.stale-after</code>: jobs left
+     * queued or running by a stopped instance, and jobs waiting too long in the queue of another one.
+     */
+    @Scheduled(fixedDelayString = "${voucher.jobs.heartbeat-interval}")
+    public void resumeUnfinishedJobs() {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(staleAfter);
+        for (VoucherJob job : voucherJobRepository.findByStatusInAndUpdatedAtBeforeOrderById(
+            EnumSet.of(VoucherJobStatus.QUEUED, VoucherJobStatus.RUNNING), staleBefore)) {
+            if (!localJobs.add(job.getId())) {
+                continue;
+            }
+            log.info("Resuming voucher job {} for campaign {} at {}/{}", job.getId(), job.getCampaignId(), job.getCreated(), job.getRequested());
+            try {
+                voucherJobExecutor.execute(() -> run(job.getId()));
+            } catch (TaskRejectedException exception) {
+                localJobs.remove(job.getId());
+                log.warn("Voucher generation queue is full, leaving voucher job {} for later", job.getId());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Method that marks the jobs this instance is running as alive.
+     */
+    @Scheduled(fixedDelayString = "${voucher.jobs.heartbeat-interval}")
+    public void heartbeat() {
+        if (!localJobs.isEmpty()) {
+            voucherJobRepository.heartbeat(Set.copyOf(localJobs), owner, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Method that claims a job and generates its remaining vouchers, committing one chunk at a time.
+     * A job claimed by another instance is left alone.
+     *
+     * @param jobId
+     */
+    void run(Long jobId) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (voucherJobRepository.claim(jobId, owner, now, now.minus(staleAfter)) == 0) {
+                log.info("Voucher job {} is run by another instance", jobId);
+                return;
+            }
+            VoucherJob job = voucherJobRepository.findById(jobId).orElseThrow();
+
+            long remaining = job.getRequested() - job.getCreated();
+            while (remaining > 0) {
+                long chunk = Math.min(chunkSize, remaining);
+                Boolean held = transactionTemplate.execute(status -> {
+                    voucherBulkInsertService.insert(job.getCampaignId(), chunk, vouchers -> { });
+                    if (voucherJobRepository.addProgress(jobId, owner, chunk, LocalDateTime.now()) == 0) {
+                        status.setRollbackOnly();
+                        return false;
+                    }
+                    return true;
+                });
+                if (!Boolean.TRUE.equals(held)) {
+                    log.warn("Voucher job {} was taken over by another instance, stopping", jobId);
+                    return;
+                }
+                remaining -= chunk;
+            }
+
+            voucherJobRepository.updateStatusByIdAndOwner(jobId, owner, VoucherJobStatus.COMPLETED, null, LocalDateTime.now());
+        } catch (RuntimeException exception) {
+            String error = String.valueOf(exception.getMessage());
+            log.error("Voucher job {} failed: {}", jobId, error);
+            voucherJobRepository.updateStatusByIdAndOwner(jobId, owner, VoucherJobStatus.FAILED,
+                error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH)), LocalDateTime.now());
+        } finally {
+            localJobs.remove(jobId);
+        }
+    }
+}
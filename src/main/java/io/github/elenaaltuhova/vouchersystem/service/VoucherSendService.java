@@ -0,0 +1,178 @@
+package io.github.elenaaltuhova.vouchersystem.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignCache;
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignSendLimiter;
+import io.github.elenaaltuhova.vouchersystem.cache.VoucherCheckCache;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import io.github.elenaaltuhova.vouchersystem.exception.CampaignExpiredException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherBatchLimitException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherSendThrottledException;
+import io.github.elenaaltuhova.vouchersystem.metrics.OperationMetrics;
+import io.github.elenaaltuhova.vouchersystem.model.CachedCampaign;
+import io.github.elenaaltuhova.vouchersystem.model.ClaimedVoucher;
+import io.github.elenaaltuhova.vouchersystem.repository.VoucherRepository;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static io.github.elenaaltuhova.vouchersystem.metrics.OperationMetrics.VOUCHER_OPERATIONS;
+
+/**
+ * Service that sends several valid vouchers of a campaign at once, streaming them to an output stream as a JSON array.
+ * <p>
+ * The vouchers are claimed with a single statement and then written, so a partner mailing a newsletter needs one
+ * request instead of one per recipient. When the response cannot be written, because the client went away, the claimed
+ * vouchers are returned to ISSUED instead of staying SENT without ever being delivered. A campaign that runs out of
+ * vouchers is flagged in the {@link CampaignSendLimiter}, and later batches stream an empty array without a query.
+ * Batches go through the same per-campaign admission as single sends, charged one token per requested voucher.
+ */
+@Log4j2
+@Service
+public class VoucherSendService {
+
+    @Autowired
+    VoucherRepository voucherRepository;
+
+    @Autowired
+    VoucherCheckCache voucherCheckCache;
+
+    @Autowired
+    CampaignCache campaignCache;
+
+    @Autowired
+    CampaignSendLimiter campaignSendLimiter;
+
+    @Autowired
+    OperationMetrics operationMetrics;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value(value = "${voucher.send-batch.limit}")
+    int sendBatchLimit;
+
+    /**
+     * Method that validates that a campaign exists and can still send the requested number of vouchers, and takes
+     * one send token of the campaign per requested voucher, so errors are reported before the response starts
+     * streaming. An exhausted campaign is not charged, since its batch is answered without a query.
+     *
+     * @param campaignId
+     * @param count
+     */
+    public void checkSendable(Long campaignId, int count) throws CampaignExpiredException, VoucherBatchLimitException, VoucherSendThrottledException {
+        if (count < 1 || count > sendBatchLimit) {
+            throw new VoucherBatchLimitException(String.format("Number of vouchers sent at once should be between 1 and %d", sendBatchLimit));
+        }
+
+        Optional<CachedCampaign> foundCampaign = campaignCache.get(campaignId);
+
+        if (!foundCampaign.isPresent()) {
+            throw new NoSuchElementException(String.format("There is no campaign with ID=%d", campaignId));
+        }
+
+        VoucherChecks.checkNotExpired(foundCampaign.get());
+
+        if (!campaignSendLimiter.isExhausted(campaignId)) {
+            Timer.Sample sample = operationMetrics.start();
+            try {
+                campaignSendLimiter.acquire(campaignId, count);
+            } catch (VoucherSendThrottledException exception) {
+                operationMetrics.stop(sample, VOUCHER_OPERATIONS, "send_batch", "throttled");
+                throw exception;
+            }
+        }
+    }
+
+    /**
+     * Method that claims up to count ISSUED vouchers of a campaign and writes them to the output stream as
+     * <code>{"data":[...]}</code>. Fewer vouchers are written when the campaign runs out of them, and the claimed
+     * vouchers go back to ISSUED when they cannot be written.
+     *
+     * @param campaignId
+     * @param count
+     * @param outputStream
+     * @return number of sent vouchers
+     * @throws IOException
+     */
+    public long send(Long campaignId, int count, OutputStream outputStream) throws IOException {
+        Timer.Sample sample = operationMetrics.start();
+        String outcome = "error";
+        try {
+            String campaignName = campaignCache.get(campaignId).map(CachedCampaign::getTitle).orElse(null);
+
+            List<ClaimedVoucher> claimed = new ArrayList<>();
+            if (!campaignSendLimiter.isExhausted(campaignId)) {
+                voucherRepository.claimIssuedVouchers(campaignId, count, claimed::add);
+            }
+            claimed.forEach(voucher -> voucherCheckCache.invalidate(voucher.getCode()));
+
+            try {
+                write(outputStream, claimed, campaignName);
+            } catch (IOException exception) {
+                release(claimed);
+                throw exception;
+            }
+
+            long sent = claimed.size();
+            operationMetrics.vouchersSent(campaignId, sent);
+            outcome = sent == 0 ? "exhausted" : sent < count ? "partial" : "sent";
+            if (sent < count) {
+                campaignSendLimiter.markExhausted(campaignId);
+                log.info("Campaign {} ran out of vouchers: sent {} of {}", campaignId, sent, count);
+            }
+            return sent;
+        } finally {
+            operationMetrics.stop(sample, VOUCHER_OPERATIONS, "send_batch", outcome);
+        }
+    }
+
+    /**
+     * Method that returns claimed vouchers that could not be written to ISSUED.
+     *
+     * @param claimed
+     */
+    private void release(List<ClaimedVoucher> claimed) {
+        if (claimed.isEmpty()) {
+            return;
+        }
+        int released = voucherRepository.releaseSentVouchers(claimed.stream().map(ClaimedVoucher::getId).toList());
+        claimed.forEach(voucher -> voucherCheckCache.invalidate(voucher.getCode()));
+        log.info("Released {} of {} vouchers that could not be sent", released, claimed.size());
+    }
+
+    /**
+     * Method that writes the claimed vouchers as <code>{"data":[...]}</code>.
+     *
+     * @param outputStream
+     * @param claimed
+     * @param campaignName
+     * @throws IOException
+     */
+    private void write(OutputStream outputStream, List<ClaimedVoucher> claimed, String campaignName) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("data");
+        for (ClaimedVoucher voucher : claimed) {
+            generator.writeStartObject();
+            generator.writeNumberField("id", voucher.getId());
+            generator.writeStringField("code", voucher.getCode().toString());
+            generator.writeStringField("campaignName", campaignName);
+            generator.writeStringField("status", VoucherStatus.SENT.getValue());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.flush();
+    }
+}
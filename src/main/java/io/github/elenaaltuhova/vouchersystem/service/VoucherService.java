@@ -1,11 +1,17 @@
 package io.github.elenaaltuhova.vouchersystem.service;
 
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherCheckResultDTO;
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherRedemptionDTO;
 import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
 import io.github.elenaaltuhova.vouchersystem.exception.CampaignExpiredException;
 import io.github.elenaaltuhova.vouchersystem.exception.NoValidVouchersAvailableException;
 import io.github.elenaaltuhova.vouchersystem.exception.VoucherAlreadyRedeemedException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherBatchLimitException;
 import io.github.elenaaltuhova.vouchersystem.exception.VoucherExpiredException;
 import io.github.elenaaltuhova.vouchersystem.exception.VoucherNotValidException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherSendThrottledException;
+
+import java.util.List;
 
 /**
  * Interface that provides methods for manipulating Voucher entities.
@@ -28,11 +34,36 @@ public interface VoucherService {
      */
     VoucherResponseDTO redeem(Long voucherId) throws VoucherNotValidException, VoucherAlreadyRedeemedException, VoucherExpiredException;
 
+    /**
+     * Method that redeems Voucher based on voucher code.
+     *
+     * @param code
+     * @return <code>VoucherResponseDTO</code> object
+     */
+    VoucherResponseDTO redeemByCode(String code) throws VoucherNotValidException, VoucherAlreadyRedeemedException, VoucherExpiredException;
+
+    /**
+     * Method that checks a batch of Vouchers by code, reporting every invalid code instead of failing on it.
+     *
+     * @param codes
+     * @return one <code>VoucherCheckResultDTO</code> per requested code, in request order
+     */
+    List<VoucherCheckResultDTO> checkBatch(List<String> codes) throws VoucherBatchLimitException;
+
+    /**
+     * Method that redeems a batch of Vouchers by id and by code, each one independently of the others.
+     *
+     * @param ids
+     * @param codes
+     * @return one <code>VoucherRedemptionDTO</code> per requested id, then per requested code, in request order
+     */
+    List<VoucherRedemptionDTO> redeemBatch(List<Long> ids, List<String> codes) throws VoucherBatchLimitException;
+
     /**
      * Method that returns valid Voucher for campaign id.
      *
      * @param campaignId
      * @return <code>VoucherResponseDTO</code> object
      */
-    VoucherResponseDTO sendValidVoucherForACampaign(Long campaignId) throws CampaignExpiredException, NoValidVouchersAvailableException;
+    VoucherResponseDTO sendValidVoucherForACampaign(Long campaignId) throws CampaignExpiredException, NoValidVouchersAvailableException, VoucherSendThrottledException;
 }
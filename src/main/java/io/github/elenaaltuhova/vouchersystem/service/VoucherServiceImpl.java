@@ -1,49 +1,235 @@
 package io.github.elenaaltuhova.vouchersystem.service;
 
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignCache;
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignSendLimiter;
+import io.github.elenaaltuhova.vouchersystem.cache.VoucherCheckCache;
+import io.github.elenaaltuhova.vouchersystem.cache.VoucherCodeFilter;
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherCheckResultDTO;
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherRedemptionDTO;
 import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.enums.CheckOutcome;
+import io.github.elenaaltuhova.vouchersystem.enums.RedemptionOutcome;
 import io.github.elenaaltuhova.vouchersystem.exception.CampaignExpiredException;
 import io.github.elenaaltuhova.vouchersystem.exception.NoValidVouchersAvailableException;
 import io.github.elenaaltuhova.vouchersystem.exception.VoucherAlreadyRedeemedException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherBatchLimitException;
 import io.github.elenaaltuhova.vouchersystem.exception.VoucherExpiredException;
 import io.github.elenaaltuhova.vouchersystem.exception.VoucherNotValidException;
-import io.github.elenaaltuhova.vouchersystem.model.Campaign;
-import io.github.elenaaltuhova.vouchersystem.model.Voucher;
-import io.github.elenaaltuhova.vouchersystem.repository.CampaignRepository;
-import io.github.elenaaltuhova.vouchersystem.repository.StatusRepository;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherSendThrottledException;
+import io.github.elenaaltuhova.vouchersystem.generator.SignedVoucherCodes;
+import io.github.elenaaltuhova.vouchersystem.metrics.OperationMetrics;
+import io.github.elenaaltuhova.vouchersystem.model.CachedVoucher;
+import io.github.elenaaltuhova.vouchersystem.model.CachedCampaign;
+import io.github.elenaaltuhova.vouchersystem.model.ClaimedVoucher;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherCheckView;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherRedemption;
 import io.github.elenaaltuhova.vouchersystem.repository.VoucherRepository;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
-import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.ISSUED;
-import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.REDEEMED;
-import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.SENT;
+import static io.github.elenaaltuhova.vouchersystem.metrics.OperationMetrics.VOUCHER_OPERATIONS;
 
+@Log4j2
 @Service
 public class VoucherServiceImpl implements VoucherService {
     @Autowired
     VoucherRepository voucherRepository;
 
     @Autowired
-    CampaignRepository campaignRepository;
+    CampaignCache campaignCache;
 
     @Autowired
-    StatusRepository statusRepository;
+    VoucherCheckCache voucherCheckCache;
+
+    @Autowired
+    VoucherCodeFilter voucherCodeFilter;
+
+    @Autowired
+    SignedVoucherCodes signedVoucherCodes;
+
+    @Autowired
+    CampaignSendLimiter campaignSendLimiter;
+
+    @Autowired
+    OperationMetrics operationMetrics;
+
+    @Value(value = "${voucher.check-batch.limit}")
+    int checkBatchLimit;
+
+    @Value(value = "${voucher.redeem-batch.limit}")
+    int redeemBatchLimit;
 
     /**
      * @see VoucherService#check(String)
      */
     @Override
     public VoucherResponseDTO check(String code) throws VoucherExpiredException, VoucherAlreadyRedeemedException, VoucherNotValidException {
-        Voucher foundVoucher = voucherRepository.findByCode(UUID.fromString(code));
+        Timer.Sample sample = operationMetrics.start();
+        try {
+            VoucherResponseDTO voucher = checkCode(code);
+            operationMetrics.stop(sample, VOUCHER_OPERATIONS, "check", "valid");
+            return voucher;
+        } catch (Exception exception) {
+            operationMetrics.stop(sample, VOUCHER_OPERATIONS, "check", OperationMetrics.outcomeOf(exception));
+            throw exception;
+        }
+    }
+
+    /**
+     * Method that checks a voucher, reading it and its campaign only when they are not cached.
+     *
+     * @param code
+     * @return <code>VoucherResponseDTO</code> object
+     */
+    private VoucherResponseDTO checkCode(String code) throws VoucherExpiredException, VoucherAlreadyRedeemedException, VoucherNotValidException {
+        UUID voucherCode = UUID.fromString(code);
+        if (signedVoucherCodes.isSigned(voucherCode)) {
+            checkSignedCode(voucherCode);
+        }
+        if (!voucherCodeFilter.mightContain(voucherCode)) {
+            throw new VoucherNotValidException("Voucher not valid.");
+        }
+        CachedVoucher cachedVoucher = voucherCheckCache.get(voucherCode);
+        Optional<CachedCampaign> campaign;
+
+        if (cachedVoucher == null) {
+            long stamp = voucherCheckCache.stamp(voucherCode);
+            Optional<VoucherCheckView> foundVoucher = voucherRepository.findCheckViewByCode(voucherCode);
+            if (!foundVoucher.isPresent()) {
+                voucherCodeFilter.recordFalsePositive();
+                throw new VoucherNotValidException("Voucher not valid.");
+            }
+            cachedVoucher = foundVoucher.get().toCachedVoucher();
+            voucherCheckCache.put(voucherCode, stamp, cachedVoucher.getId(), cachedVoucher.getCampaignId(), cachedVoucher.getStatus());
+            campaign = Optional.of(campaignCache.put(foundVoucher.get().toCachedCampaign()));
+        } else {
+            campaign = campaignCache.get(cachedVoucher.getCampaignId());
+        }
 
-        checkIfValid(foundVoucher);
+        if (!campaign.isPresent()) {
+            throw new VoucherNotValidException("Voucher not valid.");
+        }
+        VoucherChecks.checkIfValid(campaign.get(), cachedVoucher.getStatus());
 
-        return foundVoucher.convertEntityToResponseDTO();
+        return cachedVoucher.convertToResponseDTO(voucherCode, campaign.get().getTitle());
+    }
+
+    /**
+     * @see VoucherService#checkBatch(List)
+     */
+    @Override
+    public List<VoucherCheckResultDTO> checkBatch(List<String> codes) throws VoucherBatchLimitException {
+        Timer.Sample sample = operationMetrics.start();
+        try {
+            List<VoucherCheckResultDTO> results = checkAll(codes == null ? List.of() : codes);
+            operationMetrics.stop(sample, VOUCHER_OPERATIONS, "check_batch", "processed");
+            return results;
+        } catch (Exception exception) {
+            operationMetrics.stop(sample, VOUCHER_OPERATIONS, "check_batch", OperationMetrics.outcomeOf(exception));
+            throw exception;
+        }
+    }
+
+    /**
+     * Method that checks all requested codes, reading the ones that are not cached in a single query and
+     * validating them in memory.
+     *
+     * @param codes
+     * @return List<VoucherCheckResultDTO>
+     */
+    private List<VoucherCheckResultDTO> checkAll(List<String> codes) throws VoucherBatchLimitException {
+        if (codes.size() > checkBatchLimit) {
+            throw new VoucherBatchLimitException(String.format("Limit of vouchers checked at once exceeded. Should be less than %d", checkBatchLimit));
+        }
+
+        Map<String, UUID> parsedCodes = new HashMap<>();
+        Map<UUID, CachedVoucher> vouchers = new HashMap<>();
+        Map<UUID, Long> misses = new HashMap<>();
+        for (String code : codes) {
+            Optional<UUID> voucherCode = parseCode(code).filter(this::mightExist);
+            if (voucherCode.isPresent()) {
+                parsedCodes.put(code, voucherCode.get());
+                CachedVoucher cachedVoucher = voucherCheckCache.get(voucherCode.get());
+                if (cachedVoucher == null) {
+                    misses.put(voucherCode.get(), voucherCheckCache.stamp(voucherCode.get()));
+                } else {
+                    vouchers.put(voucherCode.get(), cachedVoucher);
+                }
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Map<UUID, VoucherCheckView> foundVouchers = voucherRepository.findCheckViewsByCodes(misses.keySet());
+            foundVouchers.forEach((voucherCode, foundVoucher) -> {
+                CachedVoucher cachedVoucher = foundVoucher.toCachedVoucher();
+                voucherCheckCache.put(voucherCode, misses.get(voucherCode), cachedVoucher.getId(), cachedVoucher.getCampaignId(), cachedVoucher.getStatus());
+                campaignCache.put(foundVoucher.toCachedCampaign());
+                vouchers.put(voucherCode, cachedVoucher);
+            });
+            misses.keySet().removeAll(foundVouchers.keySet());
+            misses.keySet().forEach(voucherCode -> voucherCodeFilter.recordFalsePositive());
+        }
+
+        LocalDate currentDate = LocalDate.now();
+        List<VoucherCheckResultDTO> results = new ArrayList<>(codes.size());
+        for (String code : codes) {
+            UUID voucherCode = parsedCodes.get(code);
+            CachedVoucher cachedVoucher = voucherCode == null ? null : vouchers.get(voucherCode);
+            Optional<CachedCampaign> campaign = cachedVoucher == null ? Optional.empty() : campaignCache.get(cachedVoucher.getCampaignId());
+            CheckOutcome outcome = campaign.map(found -> CheckOutcome.of(currentDate, found.getStartDate(), found.getEndDate(),
+                cachedVoucher.getStatus())).orElse(CheckOutcome.NOT_FOUND);
+
+            results.add(outcome == CheckOutcome.NOT_FOUND || outcome == CheckOutcome.NOT_STARTED
+                ? new VoucherCheckResultDTO(null, code, null, null, outcome.getValue())
+                : cachedVoucher.convertToCheckResultDTO(voucherCode, campaign.get().getTitle(), outcome));
+        }
+        return results;
+    }
+
+    /**
+     * Method that parses a voucher code, leaving out codes that are not UUIDs.
+     *
+     * @param code
+     * @return Optional<UUID>
+     */
+    private Optional<UUID> parseCode(String code) {
+        try {
+            return Optional.of(UUID.fromString(code));
+        } catch (IllegalArgumentException | NullPointerException exception) {
+            log.debug("Skipping voucher code '{}' that is not a UUID", code);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Method that tells whether a voucher code may exist, without reading the database: signed codes must carry
+     * a valid signature and every code must pass the code filter.
+     *
+     * @param voucherCode
+     * @return boolean
+     */
+    private boolean mightExist(UUID voucherCode) {
+        if (signedVoucherCodes.isSigned(voucherCode) && !signedVoucherCodes.verify(voucherCode).isPresent()) {
+            return false;
+        }
+        return voucherCodeFilter.mightContain(voucherCode);
     }
 
     /**
@@ -51,72 +237,198 @@ public class VoucherServiceImpl implements VoucherService {
      */
     @Override
     public VoucherResponseDTO redeem(Long voucherId) throws VoucherNotValidException, VoucherAlreadyRedeemedException, VoucherExpiredException {
-        Optional<Voucher> redeemedVoucher = voucherRepository.findById(voucherId);
-
-        checkIfValid(redeemedVoucher.get());
+        Timer.Sample sample = operationMetrics.start();
+        try {
+            VoucherRedemption redemption = voucherRepository.redeemById(voucherId, LocalDate.now());
+            invalidate(redemption);
+            VoucherResponseDTO voucher = handleRedemption(redemption);
+            operationMetrics.stop(sample, VOUCHER_OPERATIONS, "redeem", "redeemed");
+            return voucher;
+        } catch (Exception exception) {
+            operationMetrics.stop(sample, VOUCHER_OPERATIONS, "redeem", OperationMetrics.outcomeOf(exception));
+            throw exception;
+        }
+    }
 
-        voucherRepository.updateStatusById(voucherId, statusRepository.findByStatusName(REDEEMED));
+    /**
+     * @see VoucherService#redeemByCode(String)
+     */
+    @Override
+    public VoucherResponseDTO redeemByCode(String code) throws VoucherNotValidException, VoucherAlreadyRedeemedException, VoucherExpiredException {
+        Timer.Sample sample = operationMetrics.start();
+        try {
+            VoucherRedemption redemption = voucherRepository.redeemByCode(UUID.fromString(code), LocalDate.now());
+            invalidate(redemption);
+            VoucherResponseDTO voucher = handleRedemption(redemption);
+            operationMetrics.stop(sample, VOUCHER_OPERATIONS, "redeem_by_code", "redeemed");
+            return voucher;
+        } catch (Exception exception) {
+            operationMetrics.stop(sample, VOUCHER_OPERATIONS, "redeem_by_code", OperationMetrics.outcomeOf(exception));
+            throw exception;
+        }
+    }
 
-        return voucherRepository.findById(voucherId).get().convertEntityToResponseDTO();
+    /**
+     * @see VoucherService#redeemBatch(List, List)
+     */
+    @Override
+    public List<VoucherRedemptionDTO> redeemBatch(List<Long> ids, List<String> codes) throws VoucherBatchLimitException {
+        Timer.Sample sample = operationMetrics.start();
+        try {
+            List<VoucherRedemptionDTO> redemptions = redeemAll(ids == null ? List.of() : ids, codes == null ? List.of() : codes);
+            operationMetrics.stop(sample, VOUCHER_OPERATIONS, "redeem_batch", "processed");
+            return redemptions;
+        } catch (Exception exception) {
+            operationMetrics.stop(sample, VOUCHER_OPERATIONS, "redeem_batch", OperationMetrics.outcomeOf(exception));
+            throw exception;
+        }
     }
 
     /**
-     * Method that combines all validations for checking Voucher.
+     * Method that redeems all requested vouchers at once and reports the outcome of every requested id and code.
+     * Codes that are not UUIDs are reported as not found; a voucher requested more than once is redeemed once.
      *
-     * @param voucher
+     * @param ids
+     * @param codes
+     * @return List<VoucherRedemptionDTO>
      */
-    private void checkIfValid(Voucher voucher) throws VoucherNotValidException, VoucherExpiredException, VoucherAlreadyRedeemedException {
-        if (voucher == null) {
-            throw new VoucherNotValidException("Voucher not valid.");
+    private List<VoucherRedemptionDTO> redeemAll(List<Long> ids, List<String> codes) throws VoucherBatchLimitException {
+        if (ids.size() + codes.size() > redeemBatchLimit) {
+            throw new VoucherBatchLimitException(String.format("Limit of vouchers redeemed at once exceeded. Should be less than %d", redeemBatchLimit));
         }
-        LocalDate currentDate = LocalDate.now();
-        Optional<LocalDate> expirationDate = Optional.ofNullable(voucher.getCampaign().getEndDate());
 
-        if (currentDate.isBefore(voucher.getCampaign().getStartDate())) {
-            throw new VoucherNotValidException("Voucher not valid.");
+        Map<String, UUID> parsedCodes = new HashMap<>();
+        for (String code : codes) {
+            parseCode(code).ifPresent(voucherCode -> parsedCodes.put(code, voucherCode));
         }
+        Set<Long> distinctIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
 
-        if (expirationDate.isPresent()) {
-            if (currentDate.isAfter(expirationDate.get())) {
-                throw new VoucherExpiredException("Voucher is expired.");
+        Map<Long, VoucherRedemption> byId = new HashMap<>();
+        Map<UUID, VoucherRedemption> byCode = new HashMap<>();
+        for (VoucherRedemption redemption : voucherRepository.redeemAll(distinctIds, new HashSet<>(parsedCodes.values()), LocalDate.now())) {
+            byId.put(redemption.getId(), redemption);
+            byCode.put(redemption.getCode(), redemption);
+            invalidate(redemption);
+            if (redemption.getOutcome() == RedemptionOutcome.REDEEMED) {
+                operationMetrics.voucherRedeemed(redemption.getCampaignId());
             }
         }
 
-        if (voucher.getStatus().getStatusName() == REDEEMED) {
-            throw new VoucherAlreadyRedeemedException("Voucher is already redeemed.");
+        Set<Long> reported = new HashSet<>();
+        List<VoucherRedemptionDTO> redemptions = new ArrayList<>(ids.size() + codes.size());
+        for (Long id : ids) {
+            redemptions.add(report(byId.get(id), reported, () -> new VoucherRedemptionDTO(id, null, null, RedemptionOutcome.NOT_FOUND.getValue())));
+        }
+        for (String code : codes) {
+            VoucherRedemption redemption = parsedCodes.containsKey(code) ? byCode.get(parsedCodes.get(code)) : null;
+            redemptions.add(report(redemption, reported, () -> new VoucherRedemptionDTO(null, code, null, RedemptionOutcome.NOT_FOUND.getValue())));
+        }
+        return redemptions;
+    }
+
+    /**
+     * Method that reports the redemption of a requested voucher, or that it was not found.
+     *
+     * @param redemption
+     * @param reported ids of the vouchers reported so far
+     * @param notFound
+     * @return <code>VoucherRedemptionDTO</code> object
+     */
+    private VoucherRedemptionDTO report(VoucherRedemption redemption, Set<Long> reported, Supplier<VoucherRedemptionDTO> notFound) {
+        if (redemption == null) {
+            return notFound.get();
+        }
+        boolean repeated = !reported.add(redemption.getId());
+        return redemption.convertToRedemptionDTO(repeated && redemption.getOutcome() == RedemptionOutcome.REDEEMED
+            ? RedemptionOutcome.ALREADY_REDEEMED : redemption.getOutcome());
+    }
+
+    /**
+     * Method that drops a voucher from the check cache once a redeem found it, whatever the outcome.
+     *
+     * @param redemption
+     */
+    private void invalidate(VoucherRedemption redemption) {
+        if (redemption.getCode() != null) {
+            voucherCheckCache.invalidate(redemption.getCode());
+        }
+    }
+
+    /**
+     * Method that turns the outcome of an atomic redeem into a response or the matching exception.
+     *
+     * @param redemption
+     * @return <code>VoucherResponseDTO</code> object
+     */
+    private VoucherResponseDTO handleRedemption(VoucherRedemption redemption) throws VoucherNotValidException, VoucherExpiredException, VoucherAlreadyRedeemedException {
+        VoucherChecks.checkRedemption(redemption);
+        operationMetrics.voucherRedeemed(redemption.getCampaignId());
+        return redemption.convertToResponseDTO();
+    }
+
+    /**
+     * Method that validates a signed code and the dates of its campaign before the voucher is looked up.
+     *
+     * @param voucherCode
+     */
+    private void checkSignedCode(UUID voucherCode) throws VoucherNotValidException, VoucherExpiredException {
+        Optional<Long> campaignId = signedVoucherCodes.verify(voucherCode);
+        if (!campaignId.isPresent()) {
+            throw new VoucherNotValidException("Voucher not valid.");
+        }
+        Optional<CachedCampaign> campaign = campaignCache.get(campaignId.get());
+        if (!campaign.isPresent()) {
+            throw new VoucherNotValidException("Voucher not valid.");
         }
+        VoucherChecks.checkDates(campaign.get());
     }
 
     /**
      * @see VoucherService#sendValidVoucherForACampaign(Long)
      */
     @Override
-    public VoucherResponseDTO sendValidVoucherForACampaign(Long campaignId) throws CampaignExpiredException, NoValidVouchersAvailableException {
-        Optional<Campaign> foundCampaign = campaignRepository.findById(campaignId);
+    public VoucherResponseDTO sendValidVoucherForACampaign(Long campaignId) throws CampaignExpiredException, NoValidVouchersAvailableException, VoucherSendThrottledException {
+        Timer.Sample sample = operationMetrics.start();
+        try {
+            VoucherResponseDTO voucher = send(campaignId);
+            operationMetrics.stop(sample, VOUCHER_OPERATIONS, "send", "sent");
+            operationMetrics.voucherSent(campaignId);
+            return voucher;
+        } catch (Exception exception) {
+            operationMetrics.stop(sample, VOUCHER_OPERATIONS, "send", OperationMetrics.outcomeOf(exception));
+            throw exception;
+        }
+    }
+
+    /**
+     * Method that claims an issued voucher of a campaign that has not expired, unless the campaign is known to be
+     * exhausted or sends too fast.
+     *
+     * @param campaignId
+     * @return <code>VoucherResponseDTO</code> object
+     */
+    private VoucherResponseDTO send(Long campaignId) throws CampaignExpiredException, NoValidVouchersAvailableException, VoucherSendThrottledException {
+        Optional<CachedCampaign> foundCampaign = campaignCache.get(campaignId);
 
         if (!foundCampaign.isPresent()) {
             throw new NoSuchElementException(String.format("There is no campaign with ID=%d", campaignId));
         }
 
-        LocalDate currentDate = LocalDate.now();
-        Optional<LocalDate> expirationDate = Optional.ofNullable(foundCampaign.get().getEndDate());
+        VoucherChecks.checkNotExpired(foundCampaign.get());
 
-        if (expirationDate.isPresent()) {
-            if (currentDate.isAfter(expirationDate.get())) {
-                throw new CampaignExpiredException("Campaign has already expired.");
-            }
+        if (campaignSendLimiter.isExhausted(campaignId)) {
+            throw new NoValidVouchersAvailableException("There are no available vouchers available for this campaign.");
         }
+        campaignSendLimiter.acquire(campaignId);
 
-        Optional<Voucher>
-            validVoucher =
-            voucherRepository.findFirstByCampaignAndStatus(foundCampaign.get(), statusRepository.findByStatusName(ISSUED));
+        Optional<ClaimedVoucher> claimedVoucher = voucherRepository.claimIssuedVoucher(campaignId);
 
-        if (!validVoucher.isPresent()) {
+        if (!claimedVoucher.isPresent()) {
+            campaignSendLimiter.markExhausted(campaignId);
             throw new NoValidVouchersAvailableException("There are no available vouchers available for this campaign.");
         }
+        voucherCheckCache.invalidate(claimedVoucher.get().getCode());
 
-        voucherRepository.updateStatusById(validVoucher.get().getId(), statusRepository.findByStatusName(SENT));
-
-        return voucherRepository.findByCode(validVoucher.get().getCode()).convertEntityToResponseDTO();
+        return claimedVoucher.get().convertToResponseDTO(foundCampaign.get().getTitle());
     }
 }
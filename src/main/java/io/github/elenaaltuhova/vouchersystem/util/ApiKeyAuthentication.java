@@ -1,19 +1,49 @@
 package io.github.elenaaltuhova.vouchersystem.util;
 
 import org.springframework.security.authentication.AbstractAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
 
-import java.util.Collection;
+import java.util.Set;
 
+/**
+ * Authentication of a request made with a registered API key.
+ * <p>
+ * One instance is created per key when the registry loads and is shared by all requests made with that key,
+ * so it must not be modified after it is created.
+ */
 public class ApiKeyAuthentication extends AbstractAuthenticationToken {
-    private final String apiKey;
+    private static final String SCOPE_AUTHORITY_PREFIX = "SCOPE_";
 
-    public ApiKeyAuthentication(String apiKey, Collection<? extends GrantedAuthority> authorities) {
-        super(authorities);
-        this.apiKey = apiKey;
+    private final String name;
+    private final Set<String> scopes;
+
+    public ApiKeyAuthentication(String name, Set<String> scopes) {
+        super(AuthorityUtils.createAuthorityList(scopes.stream().sorted().map(scope -> SCOPE_AUTHORITY_PREFIX + scope).toList()));
+        this.name = name;
+        this.scopes = Set.copyOf(scopes);
         setAuthenticated(true);
     }
 
+    /**
+     * Method that tells whether the key was granted a scope.
+     *
+     * @param scope
+     * @return boolean
+     */
+    public boolean hasScope(String scope) {
+        return scopes.contains(scope);
+    }
+
+    /**
+     * Method that returns the authority Spring Security checks for a scope.
+     *
+     * @param scope
+     * @return authority
+     */
+    public static String authorityOf(String scope) {
+        return SCOPE_AUTHORITY_PREFIX + scope;
+    }
+
     @Override
     public Object getCredentials() {
         return null;
@@ -21,6 +51,6 @@ public class ApiKeyAuthentication extends AbstractAuthenticationToken {
 
     @Override
     public Object getPrincipal() {
-        return apiKey;
+        return name;
     }
-}
\ No newline at end of file
+}
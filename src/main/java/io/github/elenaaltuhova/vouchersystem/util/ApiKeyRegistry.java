@@ -0,0 +1,220 @@
+package io.github.elenaaltuhova.vouchersystem.util;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of the API keys accepted by the API, with the scopes granted to each of them.
+ * <p>
+ * Keys are only known by their SHA-256 digest. The registry is an immutable hash index from the first eight bytes
+ * of the digest to the key, swapped as a whole through a volatile field when the keys file changes, so the request
+ * path neither locks nor depends on the number of keys. The index lookup only reveals digests, never keys, and the
+ * full digest is then compared in constant time.
+ * <p>
+ * The keys file holds one key per line: a name, the hex SHA-256 digest of the key and a comma separated list of
+ * scopes, or <code>*</code> for all of them. Lines starting with <code>#</code> are comments. The key configured in
+ * <code>application.auth.token</code>, if any, is registered as <code>default</code> with all scopes.
+ */
+@Log4j2
+@Component
+public class ApiKeyRegistry {
+    public static final String SCOPE_CAMPAIGNS = "campaigns";
+    public static final String SCOPE_VOUCHERS = "vouchers";
+    public static final String SCOPE_METRICS = "metrics";
+
+    private static final Set<String> ALL_SCOPES = Set.of(SCOPE_CAMPAIGNS, SCOPE_VOUCHERS, SCOPE_METRICS);
+    private static final String DEFAULT_KEY_NAME = "default";
+
+    private final String token;
+    private final Resource keysFile;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Map<Long, ApiKey> keys = Map.of();
+    private long keysFileModified = -1;
+
+    @Autowired
+    public ApiKeyRegistry(@Value(value = "${application.auth.token:}") String token,
+                          @Value(value = "${application.auth.keys-file:}") String keysFile,
+                          ResourceLoader resourceLoader) {
+        this(token, keysFile.isBlank() ? null : resourceLoader.getResource(keysFile));
+    }
+
+    public ApiKeyRegistry(String token, Resource keysFile) {
+        this.token = token;
+        this.keysFile = keysFile;
+        this.keys = index(token, Map.of());
+        reload();
+    }
+
+    /**
+     * Method that finds the authentication of an API key.
+     *
+     * @param apiKey
+     * @return Optional<ApiKeyAuthentication>, empty when the key is not registered
+     */
+    public Optional<ApiKeyAuthentication> authenticate(String apiKey) {
+        if (apiKey == null) {
+            return Optional.empty();
+        }
+        byte[] digest = sha256(apiKey);
+        ApiKey found = keys.get(ByteBuffer.wrap(digest).getLong());
+        if (found == null || !MessageDigest.isEqual(found.digest, digest)) {
+            return Optional.empty();
+        }
+        return Optional.of(found.authentication);
+    }
+
+    /**
+     * Method that returns the number of registered keys.
+     *
+     * @return size
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Method that reloads the keys file when it changed, keeping the current keys when it cannot be read.
+     */
+    @Scheduled(fixedDelayString = "${application.auth.reload-interval:PT30S}")
+    public void reload() {
+        if (keysFile == null) {
+            return;
+        }
+
+        reloadLock.lock();
+        try {
+            long modified = lastModified(keysFile);
+            if (modified == keysFileModified) {
+                return;
+            }
+            keys = index(token, read(keysFile));
+            keysFileModified = modified;
+            log.info("Loaded {} API keys from {}", keys.size(), keysFile.getDescription());
+        } catch (IOException | IllegalArgumentException exception) {
+            log.error("Keeping the {} loaded API keys, {} could not be loaded: {}", keys.size(), keysFile.getDescription(),
+                exception.getMessage());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Method that returns the hex SHA-256 digest of a key, as written in the keys file.
+     *
+     * @param apiKey
+     * @return digest
+     */
+    public static String digestOf(String apiKey) {
+        return HexFormat.of().formatHex(sha256(apiKey));
+    }
+
+    /**
+     * Method that parses the keys file into key digests and authentications.
+     *
+     * @param resource
+     * @return Map of the authentication by the digest of the key
+     */
+    private static Map<ByteBuffer, ApiKeyAuthentication> read(Resource resource) throws IOException {
+        Map<ByteBuffer, ApiKeyAuthentication> entries = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                String[] fields = line.split("\\s+");
+                if (fields.length != 3 || fields[1].length() != 64) {
+                    throw new IllegalArgumentException(String.format("line %d should be: name sha256-hex scopes", lineNumber));
+                }
+                Set<String> scopes = "*".equals(fields[2]) ? ALL_SCOPES : Arrays.stream(fields[2].split(",")).collect(Collectors.toSet());
+                if (!ALL_SCOPES.containsAll(scopes)) {
+                    throw new IllegalArgumentException(String.format("line %d has an unknown scope, should be one of %s", lineNumber, ALL_SCOPES));
+                }
+                if (entries.put(ByteBuffer.wrap(HexFormat.of().parseHex(fields[1])), new ApiKeyAuthentication(fields[0], scopes)) != null) {
+                    throw new IllegalArgumentException(String.format("line %d repeats a key", lineNumber));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Method that builds the immutable index of the given keys and of the configured token.
+     *
+     * @param token
+     * @param entries
+     * @return Map of the keys by the first eight bytes of their digest
+     */
+    private static Map<Long, ApiKey> index(String token, Map<ByteBuffer, ApiKeyAuthentication> entries) {
+        Map<Long, ApiKey> index = new HashMap<>(entries.size() * 2);
+        if (token != null && !token.isBlank()) {
+            byte[] digest = sha256(token);
+            index.put(ByteBuffer.wrap(digest).getLong(), new ApiKey(digest, new ApiKeyAuthentication(DEFAULT_KEY_NAME, ALL_SCOPES)));
+        }
+        entries.forEach((digest, authentication) -> {
+            if (index.putIfAbsent(digest.getLong(0), new ApiKey(digest.array(), authentication)) != null) {
+                throw new IllegalArgumentException(String.format("key %s collides with another key", authentication.getName()));
+            }
+        });
+        return Map.copyOf(index);
+    }
+
+    /**
+     * Method that returns when a keys file was modified, or 0 for a resource without a timestamp, which is
+     * then only loaded once.
+     *
+     * @param resource
+     * @return timestamp
+     */
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException exception) {
+            return 0;
+        }
+    }
+
+    private static byte[] sha256(String apiKey) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static final class ApiKey {
+        private final byte[] digest;
+        private final ApiKeyAuthentication authentication;
+
+        private ApiKey(byte[] digest, ApiKeyAuthentication authentication) {
+            this.digest = digest;
+            this.authentication = authentication;
+        }
+    }
+}
@@ -7,48 +7,44 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.MediaType;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.GenericFilterBean;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.Optional;
 
+/**
+ * Filter that authenticates every request by its API key, looked up in the {@link ApiKeyRegistry}.
+ * Requests without a registered key are answered with 401 and go no further.
+ *
+ */
 public class AuthenticationFilter extends GenericFilterBean {
-    private static String header;
-    private static String token;
+    private final String header;
+    private final ApiKeyRegistry apiKeyRegistry;
 
-    public AuthenticationFilter(String header, String token) {
+    public AuthenticationFilter(String header, ApiKeyRegistry apiKeyRegistry) {
         this.header = header;
-        this.token = token;
-    }
-
-    public static Authentication getAuthentication(HttpServletRequest request) {
-        String apiKey = request.getHeader(header);
-        if (apiKey == null || !apiKey.equals(token)) {
-            throw new BadCredentialsException("Invalid API Key");
-        }
-        return new ApiKeyAuthentication(apiKey, AuthorityUtils.NO_AUTHORITIES);
+        this.apiKeyRegistry = apiKeyRegistry;
     }
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain filterChain)
         throws IOException, ServletException {
-        try {
-            Authentication authentication = getAuthentication((HttpServletRequest) request);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-        } catch (Exception exp) {
+        Optional<ApiKeyAuthentication> authentication = apiKeyRegistry.authenticate(((HttpServletRequest) request).getHeader(header));
+
+        if (!authentication.isPresent()) {
             HttpServletResponse httpResponse = (HttpServletResponse) response;
             httpResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
             PrintWriter writer = httpResponse.getWriter();
-            writer.print(exp.getMessage());
+            writer.print("Invalid API Key");
             writer.flush();
             writer.close();
+            return;
         }
 
+        SecurityContextHolder.getContext().setAuthentication(authentication.get());
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
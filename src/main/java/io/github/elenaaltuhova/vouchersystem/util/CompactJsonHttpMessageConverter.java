@@ -0,0 +1,56 @@
+package io.github.elenaaltuhova.vouchersystem.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.util.List;
+
+/**
+ * Converter that writes responses as <code>application/vnd.voucher.compact+json</code>: the usual JSON without the
+ * <code>links</code> of any representation, for machine clients that never follow them.
+ * <p>
+ * It only writes when a client asked for the compact media type by name, so clients accepting any JSON still get
+ * the links.
+ */
+public class CompactJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    public static final String COMPACT_JSON_VALUE = "application/vnd.voucher.compact+json";
+    public static final MediaType COMPACT_JSON = MediaType.valueOf(COMPACT_JSON_VALUE);
+
+    public CompactJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper.copy().addMixIn(RepresentationModel.class, WithoutLinks.class));
+        setSupportedMediaTypes(List.of(COMPACT_JSON));
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return mediaType != null && COMPACT_JSON.equalsTypeAndSubtype(mediaType) && super.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * Method that tells whether a request asked for the compact media type, so its links need not be built.
+     *
+     * @param request
+     * @return true when the Accept header names the compact media type
+     */
+    public static boolean isRequested(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || !accept.contains(COMPACT_JSON.getSubtype())) {
+            return false;
+        }
+        return MediaType.parseMediaTypes(accept).stream().anyMatch(COMPACT_JSON::equalsTypeAndSubtype);
+    }
+
+    @JsonIgnoreProperties("links")
+    private interface WithoutLinks {
+    }
+}
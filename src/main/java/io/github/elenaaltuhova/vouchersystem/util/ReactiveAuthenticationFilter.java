@@ -0,0 +1,40 @@
+package io.github.elenaaltuhova.vouchersystem.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Filter of the reactive voucher routes that accepts the same API keys as {@link AuthenticationFilter}
+ * when they were granted the vouchers scope.
+ *
+ */
+public class ReactiveAuthenticationFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+    private final String header;
+    private final ApiKeyRegistry apiKeyRegistry;
+
+    public ReactiveAuthenticationFilter(String header, ApiKeyRegistry apiKeyRegistry) {
+        this.header = header;
+        this.apiKeyRegistry = apiKeyRegistry;
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        Optional<ApiKeyAuthentication> authentication = apiKeyRegistry.authenticate(request.headers().firstHeader(header));
+        if (!authentication.isPresent()) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("Invalid API Key");
+        }
+        if (!authentication.get().hasScope(ApiKeyRegistry.SCOPE_VOUCHERS)) {
+            return ServerResponse.status(HttpStatus.FORBIDDEN).build();
+        }
+        return next.handle(request);
+    }
+}
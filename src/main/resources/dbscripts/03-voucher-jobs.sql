@@ -0,0 +1,17 @@
+-- CREATE TABLE voucher_jobs
+CREATE TABLE voucher_jobs
+(
+    id          SERIAL PRIMARY KEY,
+    campaign_id BIGINT       NOT NULL,
+    requested   BIGINT       NOT NULL CHECK (requested > 0),
+    created     BIGINT       NOT NULL DEFAULT 0,
+    status      VARCHAR(16)  NOT NULL,
+    error       VARCHAR(255),
+    created_at  TIMESTAMP    NOT NULL,
+    updated_at  TIMESTAMP    NOT NULL,
+    CONSTRAINT fk_job_campaign
+        FOREIGN KEY (campaign_id)
+            REFERENCES campaigns (id)
+);
+
+CREATE INDEX idx_voucher_jobs_status ON voucher_jobs (status);
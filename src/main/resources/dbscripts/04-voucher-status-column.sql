@@ -0,0 +1,23 @@
+-- MOVE VOUCHER STATUS FROM THE status LOOKUP TABLE TO A SMALLINT COLUMN
+-- Codes: 1 = ISSUED, 2 = REDEEMED, 3 = SENT
+ALTER TABLE vouchers ADD COLUMN status SMALLINT;
+
+UPDATE vouchers v
+SET status = CASE s.status_name
+                 WHEN 'ISSUED' THEN 1
+                 WHEN 'REDEEMED' THEN 2
+                 WHEN 'SENT' THEN 3
+             END
+FROM status s
+WHERE s.id = v.status_id;
+
+ALTER TABLE vouchers
+    ALTER COLUMN status SET NOT NULL,
+    ADD CONSTRAINT ck_voucher_status CHECK (status IN (1, 2, 3)),
+    DROP CONSTRAINT fk_status,
+    DROP COLUMN status_id;
+
+DROP TABLE status;
+
+-- Serves the claim of the next issued voucher of a campaign
+CREATE INDEX idx_vouchers_campaign_status ON vouchers (campaign_id, status, id);
@@ -0,0 +1,3 @@
+-- ADD AN OPTIMISTIC LOCKING VERSION TO CAMPAIGNS
+-- Application instances compare it to refresh their campaign caches, so manual updates must increment it too.
+ALTER TABLE campaigns ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- LET EVERY CAMPAIGN SELECT THE GENERATOR OF ITS VOUCHER CODES
+-- Values are CodeGeneratorType names; existing campaigns keep random codes.
+ALTER TABLE campaigns ADD COLUMN code_generator VARCHAR(32) NOT NULL DEFAULT 'RANDOM';
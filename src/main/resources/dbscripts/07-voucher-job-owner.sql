@@ -0,0 +1,4 @@
+-- LET ONE APPLICATION INSTANCE AT A TIME RUN A VOUCHER JOB
+-- owner is set by the atomic claim of the instance that runs the job, and updated_at doubles as its heartbeat:
+-- a running job whose updated_at falls behind is taken over by another instance.
+ALTER TABLE voucher_jobs ADD COLUMN owner VARCHAR(64);
@@ -1,4 +1,5 @@
 --- DELETE TEST DATA
+DROP TABLE IF EXISTS voucher_jobs;
 DROP TABLE IF EXISTS vouchers;
 DROP TABLE IF EXISTS campaigns;
 DROP TABLE IF EXISTS status;
\ No newline at end of file
@@ -0,0 +1,101 @@
+package io.github.elenaaltuhova.vouchersystem.cache;
+
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import io.github.elenaaltuhova.vouchersystem.model.CachedCampaign;
+import io.github.elenaaltuhova.vouchersystem.model.Campaign;
+import io.github.elenaaltuhova.vouchersystem.model.CampaignVersion;
+import io.github.elenaaltuhova.vouchersystem.repository.CampaignRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class CampaignCacheTest {
+    private CampaignCache campaignCache;
+    private CampaignRepository campaignRepository;
+
+    @BeforeEach
+    public void createCache() {
+        campaignRepository = Mockito.mock(CampaignRepository.class);
+        campaignCache = new CampaignCache();
+        campaignCache.campaignRepository = campaignRepository;
+    }
+
+    @Test
+    @DisplayName("A campaign is read from the database only once")
+    public void campaignIsReadThrough() {
+        //Given
+        BDDMockito.given(campaignRepository.findById(1L))
+            .willReturn(Optional.of(getMockCampaign("Test Campaign", 0)));
+
+        //When
+        campaignCache.get(1L);
+        Optional<CachedCampaign> cached = campaignCache.get(1L);
+
+        //Then
+        assertThat(cached.get().getTitle(), is(equalTo("Test Campaign")));
+        Mockito.verify(campaignRepository, Mockito.times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Refresh reloads campaigns whose version changed and drops deleted ones")
+    public void refreshReloadsChangedCampaigns() {
+        //Given
+        campaignCache.put(getMockCampaign("Test Campaign", 0));
+        campaignCache.put(new Campaign(2L, "Deleted Campaign", LocalDate.parse("2023-01-01"), null, 0, CodeGeneratorType.RANDOM));
+        BDDMockito.given(campaignRepository.findAllVersions())
+            .willReturn(List.of(getMockVersion(1L, 1)));
+        BDDMockito.given(campaignRepository.findById(1L))
+            .willReturn(Optional.of(getMockCampaign("Renamed Campaign", 1)));
+        BDDMockito.given(campaignRepository.findById(2L))
+            .willReturn(Optional.empty());
+
+        //When
+        campaignCache.refresh();
+
+        //Then
+        assertThat(campaignCache.get(1L).get().getTitle(), is(equalTo("Renamed Campaign")));
+        assertThat(campaignCache.get(1L).get().getVersion(), is(equalTo(1L)));
+        assertThat(campaignCache.get(2L).isPresent(), is(equalTo(false)));
+    }
+
+    @Test
+    @DisplayName("An older version never replaces a newer cached one")
+    public void olderVersionIsIgnored() {
+        //Given
+        campaignCache.put(getMockCampaign("Renamed Campaign", 1));
+
+        //When
+        campaignCache.put(getMockCampaign("Test Campaign", 0));
+
+        //Then
+        assertThat(campaignCache.get(1L).get().getTitle(), is(equalTo("Renamed Campaign")));
+    }
+
+    private Campaign getMockCampaign(String title, long version) {
+        return new Campaign(1L, title, LocalDate.parse("2023-01-01"), null, version, CodeGeneratorType.RANDOM);
+    }
+
+    private CampaignVersion getMockVersion(Long id, long version) {
+        return new CampaignVersion() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public long getVersion() {
+                return version;
+            }
+        };
+    }
+}
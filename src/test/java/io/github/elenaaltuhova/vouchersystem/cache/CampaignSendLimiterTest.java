@@ -0,0 +1,89 @@
+package io.github.elenaaltuhova.vouchersystem.cache;
+
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherSendThrottledException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CampaignSendLimiterTest {
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("A campaign sends a burst, is throttled with a retry delay and is admitted again once a token refilled")
+    public void burstIsThrottled() throws VoucherSendThrottledException {
+        //Given
+        CampaignSendLimiter limiter = new CampaignSendLimiter(0.5, 3, Duration.ofSeconds(10), now::get);
+
+        //When
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(1L);
+        }
+        VoucherSendThrottledException exception = assertThrows(VoucherSendThrottledException.class, () -> limiter.acquire(1L));
+        limiter.acquire(2L);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        limiter.acquire(1L);
+
+        //Then
+        assertThat(exception.getRetryAfterSeconds(), is(equalTo(2L)));
+        assertThat(exception.getMessage(), is(equalTo("Too many vouchers requested for campaign with ID=1")));
+        assertThrows(VoucherSendThrottledException.class, () -> limiter.acquire(1L));
+    }
+
+    @Test
+    @DisplayName("A batch larger than the burst is admitted and charged in full")
+    public void batchIsChargedPerVoucher() throws VoucherSendThrottledException {
+        //Given
+        CampaignSendLimiter limiter = new CampaignSendLimiter(1, 3, Duration.ofSeconds(10), now::get);
+
+        //When
+        limiter.acquire(1L, 10);
+        VoucherSendThrottledException exception = assertThrows(VoucherSendThrottledException.class, () -> limiter.acquire(1L));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(8));
+        limiter.acquire(1L);
+
+        //Then
+        assertThat(exception.getRetryAfterSeconds(), is(equalTo(8L)));
+    }
+
+    @Test
+    @DisplayName("A rate of 0 admits every send")
+    public void zeroRateAdmitsEverySend() throws VoucherSendThrottledException {
+        //Given
+        CampaignSendLimiter limiter = new CampaignSendLimiter(0, 1, Duration.ofSeconds(10), now::get);
+
+        //When
+        for (int i = 0; i < 10000; i++) {
+            limiter.acquire(1L);
+        }
+    }
+
+    @Test
+    @DisplayName("An exhausted campaign stays flagged until it is restocked or the flag expires")
+    public void exhaustedFlagIsClearedOrExpires() {
+        //Given
+        CampaignSendLimiter limiter = new CampaignSendLimiter(100, 10, Duration.ofSeconds(10), now::get);
+
+        //When
+        limiter.markExhausted(1L);
+        limiter.markExhausted(2L);
+        boolean exhausted = limiter.isExhausted(1L);
+        limiter.markRestocked(1L);
+        boolean exhaustedAfterRestock = limiter.isExhausted(1L);
+        boolean otherExhausted = limiter.isExhausted(2L);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        //Then
+        assertThat(exhausted, is(true));
+        assertThat(exhaustedAfterRestock, is(false));
+        assertThat(otherExhausted, is(true));
+        assertThat(limiter.isExhausted(2L), is(false));
+    }
+}
@@ -0,0 +1,191 @@
+package io.github.elenaaltuhova.vouchersystem.cache;
+
+import io.github.elenaaltuhova.vouchersystem.model.CacheStats;
+import io.github.elenaaltuhova.vouchersystem.model.CachedVoucher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.ISSUED;
+import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.REDEEMED;
+import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.SENT;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class VoucherCheckCacheTest {
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("Cached voucher is returned until it is invalidated")
+    public void getPutAndInvalidate() {
+        //Given
+        VoucherCheckCache cache = new VoucherCheckCache(16, 1, TTL, now::get);
+        UUID code = UUID.randomUUID();
+        cache.put(code, cache.stamp(code), 7L, 3L, ISSUED);
+
+        //When
+        CachedVoucher cached = cache.get(code);
+        cache.invalidate(code);
+
+        //Then
+        assertThat(cached, is(equalTo(new CachedVoucher(7L, 3L, ISSUED))));
+        assertThat(cache.get(code), is(nullValue()));
+        assertThat(cache.stats(), is(equalTo(new CacheStats(0, 1, 1, 0))));
+    }
+
+    @Test
+    @DisplayName("Putting a cached code again replaces its state")
+    public void putReplacesState() {
+        //Given
+        VoucherCheckCache cache = new VoucherCheckCache(16, 1, TTL, now::get);
+        UUID code = UUID.randomUUID();
+        cache.put(code, cache.stamp(code), 7L, 3L, ISSUED);
+
+        //When
+        cache.put(code, cache.stamp(code), 7L, 3L, SENT);
+
+        //Then
+        assertThat(cache.get(code).getStatus(), is(equalTo(SENT)));
+        assertThat(cache.stats().getSize(), is(equalTo(1L)));
+    }
+
+    @Test
+    @DisplayName("A state read before an invalidation is not cached after it")
+    public void putAfterInvalidateIsDropped() {
+        //Given
+        VoucherCheckCache cache = new VoucherCheckCache(16, 1, TTL, now::get);
+        UUID code = UUID.randomUUID();
+        long stamp = cache.stamp(code);
+
+        //When
+        cache.invalidate(code);
+        boolean staleCached = cache.put(code, stamp, 7L, 3L, ISSUED);
+        boolean freshCached = cache.put(code, cache.stamp(code), 7L, 3L, REDEEMED);
+
+        //Then
+        assertThat(staleCached, is(false));
+        assertThat(freshCached, is(true));
+        assertThat(cache.get(code).getStatus(), is(equalTo(REDEEMED)));
+    }
+
+    @Test
+    @DisplayName("Cached voucher expires after the TTL")
+    public void entryExpires() {
+        //Given
+        VoucherCheckCache cache = new VoucherCheckCache(16, 1, TTL, now::get);
+        UUID code = UUID.randomUUID();
+        cache.put(code, cache.stamp(code), 7L, 3L, ISSUED);
+
+        //When
+        now.addAndGet(TTL.toNanos() - 1);
+        CachedVoucher beforeTtl = cache.get(code);
+        now.addAndGet(1);
+
+        //Then
+        assertThat(beforeTtl, is(notNullValue()));
+        assertThat(cache.get(code), is(nullValue()));
+        assertThat(cache.stats().getSize(), is(equalTo(0L)));
+    }
+
+    @Test
+    @DisplayName("Full cache evicts codes that were not hit and keeps hot ones")
+    public void evictionKeepsHotCodes() {
+        //Given
+        VoucherCheckCache cache = new VoucherCheckCache(64, 1, TTL, now::get);
+        List<UUID> hot = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            UUID code = UUID.randomUUID();
+            hot.add(code);
+            cache.put(code, cache.stamp(code), i, 1L, ISSUED);
+            cache.get(code);
+        }
+
+        //When
+        for (int i = 0; i < 1000; i++) {
+            UUID cold = UUID.randomUUID();
+            cache.put(cold, cache.stamp(cold), i, 2L, ISSUED);
+            hot.forEach(cache::get);
+        }
+
+        //Then
+        hot.forEach(code -> assertThat(cache.get(code), is(notNullValue())));
+        assertThat(cache.stats().getSize(), is(equalTo(64L)));
+        assertThat(cache.stats().getEvictions(), is(equalTo(1000L - 32L)));
+    }
+
+    @Test
+    @DisplayName("Removing entries keeps every other entry reachable")
+    public void invalidateKeepsProbeRunsReachable() {
+        //Given
+        VoucherCheckCache cache = new VoucherCheckCache(512, 1, TTL, now::get);
+        List<UUID> codes = new ArrayList<>();
+        for (int i = 0; i < 512; i++) {
+            UUID code = UUID.randomUUID();
+            codes.add(code);
+            cache.put(code, cache.stamp(code), i, 1L, ISSUED);
+        }
+
+        //When
+        for (int i = 0; i < codes.size(); i += 2) {
+            cache.invalidate(codes.get(i));
+        }
+
+        //Then
+        for (int i = 0; i < codes.size(); i++) {
+            CachedVoucher cached = cache.get(codes.get(i));
+            assertThat(cached == null, is(equalTo(i % 2 == 0)));
+            if (cached != null) {
+                assertThat(cached.getId(), is(equalTo((long) i)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent readers and writers never see another code's state")
+    public void concurrentAccess() throws Exception {
+        //Given
+        VoucherCheckCache cache = new VoucherCheckCache(1024, 8, TTL, now::get);
+        ExecutorService workers = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        //When
+        for (int worker = 0; worker < 8; worker++) {
+            results.add(workers.submit(() -> {
+                boolean consistent = true;
+                for (int i = 0; i < 20000; i++) {
+                    UUID code = new UUID(i % 4096, i % 4096);
+                    CachedVoucher cached = cache.get(code);
+                    if (cached == null) {
+                        cache.put(code, cache.stamp(code), i % 4096, i % 4096, ISSUED);
+                    } else if (cached.getId() != code.getMostSignificantBits()) {
+                        consistent = false;
+                    }
+                    if (i % 7 == 0) {
+                        cache.invalidate(code);
+                    }
+                }
+                return consistent;
+            }));
+        }
+        workers.shutdown();
+
+        //Then
+        for (Future<Boolean> result : results) {
+            assertThat(result.get(), is(equalTo(true)));
+        }
+        assertThat(cache.stats().getSize() <= 1024, is(equalTo(true)));
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.elenaaltuhova.vouchersystem.cache;
+
+import io.github.elenaaltuhova.vouchersystem.model.CodeFilterStats;
+import io.github.elenaaltuhova.vouchersystem.repository.VoucherRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.number.OrderingComparison.lessThan;
+
+public class VoucherCodeFilterTest {
+    private static final int CODES = 10000;
+
+    @Test
+    @DisplayName("Every known code passes and few unknown codes do")
+    public void knownCodesPassAndUnknownCodesAreMostlyRejected() {
+        //Given
+        List<UUID> codes = new ArrayList<>();
+        for (int i = 0; i < CODES; i++) {
+            codes.add(UUID.randomUUID());
+        }
+        VoucherCodeFilter filter = builtFilter(codes);
+
+        //When
+        long falsePositives = 0;
+        for (int i = 0; i < CODES; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+                filter.recordFalsePositive();
+            }
+        }
+
+        //Then
+        codes.forEach(code -> assertThat(filter.mightContain(code), is(equalTo(true))));
+        CodeFilterStats stats = filter.stats();
+        assertThat(stats.getInsertions(), is(equalTo((long) CODES)));
+        assertThat(stats.getFalsePositives(), is(equalTo(falsePositives)));
+        assertThat(stats.getObservedFalsePositiveRate(), is(lessThan(0.03)));
+        assertThat(stats.getExpectedFalsePositiveRate(), is(lessThan(0.015)));
+    }
+
+    @Test
+    @DisplayName("Codes added after the scan pass the filter")
+    public void addedCodesPass() {
+        //Given
+        VoucherCodeFilter filter = builtFilter(List.of());
+        UUID code = UUID.randomUUID();
+
+        //When
+        filter.add(code);
+
+        //Then
+        assertThat(filter.mightContain(code), is(equalTo(true)));
+    }
+
+    @Test
+    @DisplayName("Every code passes until the filter is built")
+    public void everyCodePassesBeforeBuild() {
+        //Given
+        VoucherCodeFilter filter = new VoucherCodeFilter(CODES, 0.01);
+
+        //When
+        boolean passed = filter.mightContain(UUID.randomUUID());
+
+        //Then
+        assertThat(passed, is(equalTo(true)));
+        assertThat(filter.stats().getRejected(), is(equalTo(0L)));
+    }
+
+    @Test
+    @DisplayName("A refresh adds the codes written by other instances")
+    public void refreshAddsCodesWrittenElsewhere() {
+        //Given
+        Map<Long, UUID> rows = new TreeMap<>();
+        VoucherCodeFilter filter = builtFilter(rows);
+        UUID code = UUID.randomUUID();
+        rows.put(1L, code);
+
+        //When
+        boolean beforeRefresh = filter.mightContain(code);
+        filter.refresh();
+
+        //Then
+        assertThat(beforeRefresh, is(equalTo(false)));
+        assertThat(filter.mightContain(code), is(equalTo(true)));
+        assertThat(filter.stats().getInsertions(), is(equalTo(1L)));
+    }
+
+    @Test
+    @DisplayName("The scheduled refresh picks up a row that committed below the highest id seen")
+    public void refreshPicksUpLateCommits() {
+        //Given
+        Map<Long, UUID> rows = new TreeMap<>();
+        VoucherCodeFilter filter = builtFilter(rows);
+        UUID lateCode = UUID.randomUUID();
+        rows.put(2L, UUID.randomUUID());
+        filter.refresh();
+
+        //When
+        rows.put(1L, lateCode);
+        boolean beforeRefresh = filter.mightContain(lateCode);
+        filter.refresh();
+
+        //Then
+        assertThat(beforeRefresh, is(equalTo(false)));
+        assertThat(filter.mightContain(lateCode), is(equalTo(true)));
+    }
+
+    private VoucherCodeFilter builtFilter(List<UUID> codes) {
+        Map<Long, UUID> rows = new TreeMap<>();
+        codes.forEach(code -> rows.put(rows.size() + 1L, code));
+        return builtFilter(rows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private VoucherCodeFilter builtFilter(Map<Long, UUID> rows) {
+        VoucherCodeFilter filter = new VoucherCodeFilter(CODES, 0.01);
+        filter.voucherRepository = Mockito.mock(VoucherRepository.class);
+        BDDMockito.given(filter.voucherRepository.exportCodes(Mockito.anyLong(), Mockito.any())).willAnswer(invocation -> {
+            long afterId = invocation.getArgument(0, Long.class);
+            BiConsumer<Long, UUID> consumer = invocation.getArgument(1, BiConsumer.class);
+            long[] exported = {0};
+            rows.forEach((id, code) -> {
+                if (id > afterId) {
+                    consumer.accept(id, code);
+                    exported[0]++;
+                }
+            });
+            return exported[0];
+        });
+        filter.build();
+        return filter;
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.elenaaltuhova.vouchersystem.generator;
+
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import io.github.elenaaltuhova.vouchersystem.service.VoucherCodesGeneratorService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.number.OrderingComparison.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class VoucherCodeGeneratorTest {
+    private static final int CODES = 50000;
+
+    @Test
+    @DisplayName("Every generator returns the requested number of unique codes of its version")
+    public void generatorsReturnUniqueCodes() {
+        //Given
+        VoucherCodesGeneratorService service = generatorService("random");
+
+        for (CodeGeneratorType type : CodeGeneratorType.values()) {
+            //When
+            List<UUID> codes = service.generate(type, 1L, CODES);
+
+            //Then
+            int version = switch (type) {
+                case TIME_ORDERED, PARALLEL -> 7;
+                case SIGNED -> 8;
+                default -> 4;
+            };
+            assertThat(codes.size(), is(equalTo(CODES)));
+            assertThat(new HashSet<>(codes).size(), is(equalTo(CODES)));
+            codes.forEach(code -> {
+                assertThat(code.version(), is(equalTo(version)));
+                assertThat(code.variant(), is(equalTo(2)));
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("Time-ordered codes of one batch are in ascending order")
+    public void timeOrderedCodesAreAscending() {
+        //Given
+        TimeOrderedCodeGenerator generator = new TimeOrderedCodeGenerator();
+
+        //When
+        List<UUID> codes = generator.generate(1L, CODES);
+        codes.addAll(generator.generate(1L, CODES));
+
+        //Then
+        for (int i = 1; i < codes.size(); i++) {
+            assertThat(Long.compareUnsigned(codes.get(i - 1).getMostSignificantBits(), codes.get(i).getMostSignificantBits()),
+                is(lessThan(0)));
+        }
+    }
+
+    @Test
+    @DisplayName("Campaigns without a generator use the default one")
+    public void defaultGeneratorIsUsed() {
+        //Given
+        VoucherCodesGeneratorService service = generatorService("time-ordered");
+
+        //When
+        List<UUID> codes = service.generate(null, 1L, 10);
+
+        //Then
+        assertThat(service.getDefaultType(), is(equalTo(CodeGeneratorType.TIME_ORDERED)));
+        codes.forEach(code -> assertThat(code.version(), is(equalTo(7))));
+    }
+
+    @Test
+    @DisplayName("Signed codes carry their campaign and reject any change")
+    public void signedCodesAreVerified() {
+        //Given
+        SignedVoucherCodes signedVoucherCodes = new SignedVoucherCodes("key");
+        UUID code = new SignedCodeGenerator(signedVoucherCodes).generate(123456L, 1).get(0);
+
+        //When
+        UUID changed = new UUID(code.getMostSignificantBits() ^ 1L << 40, code.getLeastSignificantBits());
+
+        //Then
+        assertThat(signedVoucherCodes.verify(code), is(equalTo(Optional.of(123456L))));
+        assertThat(signedVoucherCodes.verify(changed), is(equalTo(Optional.empty())));
+        assertThat(new SignedVoucherCodes("other key").verify(code), is(equalTo(Optional.empty())));
+        assertThat(signedVoucherCodes.verify(UUID.randomUUID()), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    @DisplayName("Unknown generator names are rejected")
+    public void unknownGeneratorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CodeGeneratorType.fromValue("sequential"));
+    }
+
+    private VoucherCodesGeneratorService generatorService(String defaultType) {
+        TimeOrderedCodeGenerator timeOrdered = new TimeOrderedCodeGenerator();
+        ParallelCodeGenerator parallel = new ParallelCodeGenerator(timeOrdered, 1000);
+        return new VoucherCodesGeneratorService(
+            List.of(new RandomCodeGenerator(), new ThreadLocalRandomCodeGenerator(), timeOrdered, parallel,
+                new SignedCodeGenerator(new SignedVoucherCodes("key"))), defaultType);
+    }
+}
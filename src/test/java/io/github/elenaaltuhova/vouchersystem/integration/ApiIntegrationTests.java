@@ -1,10 +1,17 @@
 package io.github.elenaaltuhova.vouchersystem.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignSendLimiter;
 import io.github.elenaaltuhova.vouchersystem.dto.CampaignDTO;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -13,18 +20,31 @@ import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.hamcrest.text.IsEmptyString.emptyOrNullString;
+import static org.springframework.http.HttpStatus.ACCEPTED;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles("test")
 @AutoConfigureMockMvc
@@ -37,6 +57,15 @@ public class ApiIntegrationTests {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CampaignSendLimiter campaignSendLimiter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
     private final String baseUrl = "http://localhost:";
 
     @Test
@@ -49,7 +78,7 @@ public class ApiIntegrationTests {
         headers.set("X-API-KEY", "testkey");
         final HttpEntity<CampaignDTO> entity = new HttpEntity<>(campaignDTO, headers);
 
-        String json = "{\"data\":{\"id\":4,\"title\":\"Test Campaign 98\",\"startDate\":\"2023-08-01\",\"endDate\":null,\"" +
+        String json = "{\"data\":{\"id\":4,\"title\":\"Test Campaign 98\",\"startDate\":\"2023-08-01\",\"endDate\":null,\"codeGenerator\":\"random\",\"" +
             "links\":[{\"rel\":\"self\",\"href\":\"http://localhost:" + port + "/v1/campaigns/4\"}]}}";
 
         //When
@@ -68,7 +97,7 @@ public class ApiIntegrationTests {
         headers.set("X-API-KEY", "testkey");
         final HttpEntity<CampaignDTO> entity = new HttpEntity<>(headers);
 
-        String json = "{\"data\":{\"id\":1,\"title\":\"Free Shipping\",\"startDate\":\"2023-05-23\",\"endDate\":null,\"" +
+        String json = "{\"data\":{\"id\":1,\"title\":\"Free Shipping\",\"startDate\":\"2023-05-23\",\"endDate\":null,\"codeGenerator\":\"random\",\"" +
             "links\":[{\"rel\":\"self\",\"href\":\"http://localhost:" + port + "/v1/campaigns/1\"}]}}";
 
         //When
@@ -158,6 +187,311 @@ public class ApiIntegrationTests {
         assertThat(responseEntity.getBody(), is(responseBody));
     }
 
+    @Test
+    @Order(7)
+    public void testRedeemVoucherByCode() {
+        //Given
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", "testkey");
+        final HttpEntity<CampaignDTO> entity = new HttpEntity<>(headers);
+
+        String
+            responseBody =
+            "{\"data\":{\"code\":\"44f255bd-0fba-476e-8dde-0023fd59b4e1\",\"campaignName\":\"20% OFF EVERYTHING\",\"status\":\"REDEEMED\"," +
+                "\"id\":3,\"links\":[{\"rel\":\"check\",\"href\":\"http://localhost:" + port + "/v1/vouchers/44f255bd-0fba-476e-8dde-0023fd59b4e1/check\"}]}}";
+
+        //When
+        ResponseEntity<String> responseEntity = requestBuilder("/v1/vouchers/44f255bd-0fba-476e-8dde-0023fd59b4e1/redeem", entity, HttpMethod.POST);
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(OK)));
+        assertThat(responseEntity.getBody(), is(responseBody));
+    }
+
+    @Test
+    @Order(8)
+    public void testRedeemAlreadyRedeemedVoucherByCode() {
+        //Given
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", "testkey");
+        final HttpEntity<CampaignDTO> entity = new HttpEntity<>(headers);
+
+        //When
+        ResponseEntity<String> responseEntity = requestBuilder("/v1/vouchers/44f255bd-0fba-476e-8dde-0023fd59b4e1/redeem", entity, HttpMethod.POST);
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(BAD_REQUEST)));
+        assertThat(responseEntity.getBody(), containsString("Voucher is already redeemed."));
+    }
+
+    @Test
+    @Order(9)
+    public void testVoucherJobForCampaign() throws Exception {
+        //Given
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", "testkey");
+        final HttpEntity<CampaignDTO> entity = new HttpEntity<>(headers);
+
+        //When
+        ResponseEntity<String> responseEntity = requestBuilder("/v1/campaigns/2/voucher-jobs?count=15000", entity, HttpMethod.POST);
+        JsonNode job = objectMapper.readTree(responseEntity.getBody()).get("data");
+        String jobUrl = "/v1/campaigns/2/voucher-jobs/" + job.get("id").asLong();
+
+        JsonNode progress = job;
+        for (int attempt = 0; attempt < 100 && !"COMPLETED".equals(progress.get("status").asText()); attempt++) {
+            Thread.sleep(100);
+            progress = objectMapper.readTree(requestBuilder(jobUrl, entity, HttpMethod.GET).getBody()).get("data");
+        }
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(ACCEPTED)));
+        assertThat(job.get("status").asText(), is(equalTo("QUEUED")));
+        assertThat(progress.get("status").asText(), is(equalTo("COMPLETED")));
+        assertThat(progress.get("created").asLong(), is(equalTo(15000L)));
+        assertThat(progress.get("links").get(0).get("href").asText(), is(equalTo("http://localhost:" + port + jobUrl)));
+        assertThat(progress.get("links").get(2).get("href").asText(),
+            is(equalTo("http://localhost:" + port + "/v1/campaigns/2/vouchers/export")));
+    }
+
+    @Test
+    @Order(10)
+    public void testVoucherJobForMissingCampaign() {
+        //Given
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", "testkey");
+        final HttpEntity<CampaignDTO> entity = new HttpEntity<>(headers);
+
+        //When
+        ResponseEntity<String> responseEntity = requestBuilder("/v1/campaigns/99/voucher-jobs?count=10", entity, HttpMethod.POST);
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(NOT_FOUND)));
+    }
+
+    @Test
+    @Order(11)
+    public void testExportVouchersAsNdjson() {
+        //Given
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", "testkey");
+        final HttpEntity<CampaignDTO> entity = new HttpEntity<>(headers);
+
+        String ndjson = "{\"id\":4,\"code\":\"3243684c-dc57-48c1-aff3-4da430d6f5b3\",\"status\":\"ISSUED\"}\n";
+
+        //When
+        ResponseEntity<String> responseEntity = requestBuilder("/v1/campaigns/3/vouchers/export", entity, HttpMethod.GET);
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(OK)));
+        assertThat(responseEntity.getHeaders().getContentType().toString(), is(equalTo("application/x-ndjson")));
+        assertThat(responseEntity.getBody(), is(equalTo(ndjson)));
+    }
+
+    @Test
+    @Order(12)
+    public void testExportVouchersAsCsv() {
+        //Given
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", "testkey");
+        final HttpEntity<CampaignDTO> entity = new HttpEntity<>(headers);
+
+        String csv = "id,code,status\n4,3243684c-dc57-48c1-aff3-4da430d6f5b3,ISSUED\n";
+
+        //When
+        ResponseEntity<String> responseEntity = requestBuilder("/v1/campaigns/3/vouchers/export?format=csv", entity, HttpMethod.GET);
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(OK)));
+        assertThat(responseEntity.getHeaders().getContentDisposition().getFilename(), is(equalTo("campaign-3-vouchers.csv")));
+        assertThat(responseEntity.getBody(), is(equalTo(csv)));
+    }
+
+    @Test
+    @Order(13)
+    public void testExportVouchersInUnsupportedFormat() {
+        //Given
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", "testkey");
+        final HttpEntity<CampaignDTO> entity = new HttpEntity<>(headers);
+
+        //When
+        ResponseEntity<String> responseEntity = requestBuilder("/v1/campaigns/3/vouchers/export?format=xml", entity, HttpMethod.GET);
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(BAD_REQUEST)));
+        assertThat(responseEntity.getBody(), containsString("Export format 'xml' is not supported."));
+    }
+
+    @Test
+    @Order(14)
+    public void testRedeemBatchOfVouchers() {
+        //Given
+        String requestBody = "{\"ids\":[2,999999],\"codes\":[\"3243684c-dc57-48c1-aff3-4da430d6f5b3\",\"not-a-code\"]}";
+        String responseBody = "{\"data\":[" +
+            "{\"id\":2,\"code\":\"d490e225-8271-4093-a047-1598ee6b4c1b\",\"campaignName\":\"Free Shipping\",\"outcome\":\"already_redeemed\",\"links\":[]}," +
+            "{\"id\":999999,\"outcome\":\"not_found\",\"links\":[]}," +
+            "{\"id\":4,\"code\":\"3243684c-dc57-48c1-aff3-4da430d6f5b3\",\"campaignName\":\"CHRISTMAS 15% OFF\",\"outcome\":\"expired\",\"links\":[]}," +
+            "{\"code\":\"not-a-code\",\"outcome\":\"not_found\",\"links\":[]}]}";
+
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", "testkey");
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        final HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
+
+        //When
+        ResponseEntity<String> responseEntity = requestBuilder("/v1/vouchers/redeem:batch", entity, HttpMethod.POST);
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(OK)));
+        assertThat(responseEntity.getBody(), is(equalTo(responseBody)));
+    }
+
+    @Test
+    @Order(15)
+    public void testCheckBatchOfVouchers() {
+        //Given
+        String requestBody = "{\"codes\":[\"d490e225-8271-4093-a047-1598ee6b4c1b\",\"3243684c-dc57-48c1-aff3-4da430d6f5b3\"," +
+            "\"aafefde5-d7cf-474f-90c9-6957958456a1\"]}";
+        String responseBody = "{\"data\":[" +
+            "{\"id\":2,\"code\":\"d490e225-8271-4093-a047-1598ee6b4c1b\",\"campaignName\":\"Free Shipping\",\"status\":\"REDEEMED\",\"outcome\":\"already_redeemed\",\"links\":[]}," +
+            "{\"id\":4,\"code\":\"3243684c-dc57-48c1-aff3-4da430d6f5b3\",\"campaignName\":\"CHRISTMAS 15% OFF\",\"status\":\"ISSUED\",\"outcome\":\"expired\",\"links\":[]}," +
+            "{\"code\":\"aafefde5-d7cf-474f-90c9-6957958456a1\",\"outcome\":\"not_found\",\"links\":[]}]}";
+
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", "testkey");
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        final HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
+
+        //When
+        ResponseEntity<String> responseEntity = requestBuilder("/v1/vouchers/check:batch", entity, HttpMethod.POST);
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(OK)));
+        assertThat(responseEntity.getBody(), is(equalTo(responseBody)));
+    }
+
+    @Test
+    @Order(16)
+    public void testSendBatchOfVouchers() throws Exception {
+        //Given
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", "testkey");
+        final HttpEntity<CampaignDTO> entity = new HttpEntity<>(headers);
+
+        //When
+        ResponseEntity<String> responseEntity = requestBuilder("/v1/vouchers/send:batch?campaignId=2&count=5", entity, HttpMethod.GET);
+        JsonNode vouchers = objectMapper.readTree(responseEntity.getBody()).get("data");
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(OK)));
+        assertThat(vouchers.size(), is(equalTo(5)));
+        assertThat(vouchers.get(0).get("campaignName").asText(), is(equalTo("20% OFF EVERYTHING")));
+        assertThat(vouchers.get(0).get("status").asText(), is(equalTo("SENT")));
+        assertThat(vouchers.get(0).get("id").asLong(), is(not(equalTo(vouchers.get(4).get("id").asLong()))));
+    }
+
+    @Test
+    @Order(17)
+    public void testSendBatchOfVouchersFromExpiredCampaignOrOverTheLimit() {
+        //Given
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", "testkey");
+        final HttpEntity<CampaignDTO> entity = new HttpEntity<>(headers);
+
+        //When
+        ResponseEntity<String> expired = requestBuilder("/v1/vouchers/send:batch?campaignId=3&count=5", entity, HttpMethod.GET);
+        ResponseEntity<String> overTheLimit = requestBuilder("/v1/vouchers/send:batch?campaignId=2&count=5000", entity, HttpMethod.GET);
+        ResponseEntity<String> unknown = requestBuilder("/v1/vouchers/send:batch?campaignId=99&count=5", entity, HttpMethod.GET);
+
+        //Then
+        assertThat(expired.getStatusCode(), is(equalTo(BAD_REQUEST)));
+        assertThat(expired.getBody(), containsString("Campaign has already expired."));
+        assertThat(overTheLimit.getStatusCode(), is(equalTo(BAD_REQUEST)));
+        assertThat(overTheLimit.getBody(), containsString("Number of vouchers sent at once should be between 1 and 1000"));
+        assertThat(unknown.getStatusCode(), is(equalTo(NOT_FOUND)));
+    }
+
+    @Test
+    @Order(18)
+    public void testCompactRepresentationOmitsLinks() throws Exception {
+        //Given
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", "testkey");
+        headers.set(HttpHeaders.ACCEPT, "application/vnd.voucher.compact+json");
+        final HttpEntity<CampaignDTO> entity = new HttpEntity<>(headers);
+
+        //When
+        ResponseEntity<String> campaign = requestBuilder("/v1/campaigns/1", entity, HttpMethod.GET);
+        ResponseEntity<String> vouchers = requestBuilder("/v1/campaigns/1/vouchers?count=3", entity, HttpMethod.POST);
+        ResponseEntity<String> unknown = requestBuilder("/v1/campaigns/99", entity, HttpMethod.GET);
+        JsonNode createdVouchers = objectMapper.readTree(vouchers.getBody()).get("data");
+
+        //Then
+        assertThat(campaign.getStatusCode(), is(equalTo(OK)));
+        assertThat(campaign.getHeaders().getContentType().toString(), is(equalTo("application/vnd.voucher.compact+json")));
+        assertThat(campaign.getBody(), containsString("\"title\":\"Free Shipping\""));
+        assertThat(campaign.getBody(), not(containsString("links")));
+        assertThat(vouchers.getStatusCode(), is(equalTo(CREATED)));
+        assertThat(createdVouchers.size(), is(equalTo(3)));
+        assertThat(vouchers.getBody(), not(containsString("links")));
+        assertThat(unknown.getStatusCode(), is(equalTo(NOT_FOUND)));
+        assertThat(unknown.getBody(), containsString("There is no campaign with ID=99"));
+    }
+
+    @ParameterizedTest
+    @Order(19)
+    @ValueSource(strings = {"application/cbor", "application/x-jackson-smile"})
+    public void testBinaryRepresentations(String mediaType) throws Exception {
+        //Given
+        ObjectMapper binaryMapper = new ObjectMapper(mediaType.equals("application/cbor") ? new CBORFactory() : new SmileFactory());
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", "testkey");
+        headers.set(HttpHeaders.ACCEPT, mediaType);
+        final HttpEntity<CampaignDTO> entity = new HttpEntity<>(headers);
+
+        //When
+        ResponseEntity<byte[]> campaign = this.restTemplate.exchange(baseUrl + port + "/v1/campaigns/1", HttpMethod.GET, entity, byte[].class);
+        ResponseEntity<byte[]> unknown = this.restTemplate.exchange(baseUrl + port + "/v1/campaigns/99", HttpMethod.GET, entity, byte[].class);
+        JsonNode campaignData = binaryMapper.readTree(campaign.getBody()).get("data");
+        JsonNode unknownErrors = binaryMapper.readTree(unknown.getBody()).get("errors");
+
+        //Then
+        assertThat(campaign.getStatusCode(), is(equalTo(OK)));
+        assertThat(campaign.getHeaders().getContentType().toString(), is(equalTo(mediaType)));
+        assertThat(campaignData, is(equalTo(objectMapper.readTree(requestBuilder("/v1/campaigns/1", entityWithKey(), HttpMethod.GET).getBody()).get("data"))));
+        assertThat(campaignData.get("startDate").asText(), is(equalTo("2023-05-23")));
+        assertThat(unknown.getStatusCode(), is(equalTo(NOT_FOUND)));
+        assertThat(unknown.getHeaders().getContentType().toString(), is(equalTo(mediaType)));
+        assertThat(unknownErrors.get("details").asText(), is(equalTo("There is no campaign with ID=99")));
+    }
+
+    @Test
+    @Order(20)
+    public void testSendBatchOfVouchersThrottled() throws Exception {
+        //Given
+        campaignSendLimiter.markRestocked(2L);
+        campaignSendLimiter.acquire(2L, 1000);
+
+        //When
+        MvcResult batch = mockMvc.perform(get("/v1/vouchers/send:batch?campaignId=2&count=5").header("X-API-KEY", "testkey"))
+            .andReturn();
+        MvcResult single = mockMvc.perform(get("/v1/vouchers/send?campaignId=2").header("X-API-KEY", "testkey"))
+            .andReturn();
+        campaignSendLimiter.clear();
+
+        //Then
+        mockMvc.perform(asyncDispatch(batch))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+            .andExpect(content().string(containsString("Too many vouchers requested for campaign with ID=2")));
+        assertThat(single.getResponse().getStatus(), is(equalTo(TOO_MANY_REQUESTS.value())));
+    }
+
+    private HttpEntity<CampaignDTO> entityWithKey() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", "testkey");
+        return new HttpEntity<>(headers);
+    }
 
     private ResponseEntity<String> requestBuilder(String url, HttpEntity entity, HttpMethod method) {
         String fullUrl = baseUrl + port + url;
@@ -0,0 +1,57 @@
+package io.github.elenaaltuhova.vouchersystem.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:authdb;DB_CLOSE_DELAY=-1",
+    "application.auth.keys-file=classpath:api-keys-test.txt"
+})
+public class AuthenticationTests {
+    private static final String CAMPAIGN = "{\"title\":\"Unauthorized Campaign\",\"startDate\":\"2023-08-01\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("A request without a valid key is rejected before it reaches the controller")
+    public void invalidKeyStopsTheRequest() throws Exception {
+        //When
+        mockMvc.perform(post("/v1/campaigns").contentType(MediaType.APPLICATION_JSON).content(CAMPAIGN))
+            .andExpect(status().isUnauthorized())
+            .andExpect(content().string("Invalid API Key"));
+        mockMvc.perform(post("/v1/campaigns").header("X-API-KEY", "wrongkey").contentType(MediaType.APPLICATION_JSON).content(CAMPAIGN))
+            .andExpect(status().isUnauthorized());
+
+        //Then
+        mockMvc.perform(post("/v1/campaigns").header("X-API-KEY", "testkey").contentType(MediaType.APPLICATION_JSON).content(CAMPAIGN))
+            .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("A key is only accepted on the end-points of its scopes")
+    public void keysAreLimitedToTheirScopes() throws Exception {
+        //When
+        mockMvc.perform(get("/v1/vouchers/ce90dfbd-ff2a-4e43-941c-ea26c04c6e7e/check").header("X-API-KEY", "newsletterkey"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/v1/campaigns/1").header("X-API-KEY", "newsletterkey"))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/health").header("X-API-KEY", "reportingkey"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/v1/vouchers/ce90dfbd-ff2a-4e43-941c-ea26c04c6e7e/check").header("X-API-KEY", "reportingkey"))
+            .andExpect(status().isForbidden());
+    }
+}
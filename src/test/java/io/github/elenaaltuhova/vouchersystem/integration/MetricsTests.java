@@ -0,0 +1,123 @@
+package io.github.elenaaltuhova.vouchersystem.integration;
+
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignCache;
+import io.github.elenaaltuhova.vouchersystem.cache.VoucherCheckCache;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import io.github.elenaaltuhova.vouchersystem.model.Campaign;
+import io.github.elenaaltuhova.vouchersystem.model.Voucher;
+import io.github.elenaaltuhova.vouchersystem.repository.CampaignRepository;
+import io.github.elenaaltuhova.vouchersystem.repository.VoucherRepository;
+import io.github.elenaaltuhova.vouchersystem.service.VoucherSendService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@SpringBootTest
+public class MetricsTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VoucherCheckCache voucherCheckCache;
+
+    @Autowired
+    private CampaignCache campaignCache;
+
+    @Autowired
+    private VoucherSendService voucherSendService;
+
+    @Autowired
+    private VoucherRepository voucherRepository;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    @BeforeEach
+    public void clearCaches() {
+        voucherCheckCache.clear();
+        campaignCache.clear();
+    }
+
+    @Test
+    @DisplayName("Operations are exposed per outcome on the Prometheus endpoint")
+    public void operationsArePublishedPerOutcome() throws Exception {
+        //Given
+        mockMvc.perform(get("/v1/vouchers/ce90dfbd-ff2a-4e43-941c-ea26c04c6e7e/check").header("X-API-KEY", "testkey"));
+        mockMvc.perform(get("/v1/vouchers/3243684c-dc57-48c1-aff3-4da430d6f5b3/check").header("X-API-KEY", "testkey"));
+        mockMvc.perform(get("/v1/campaigns/99").header("X-API-KEY", "testkey"));
+
+        //When
+        String scrape = scrape();
+
+        //Then
+        assertThat(scrape, containsString("voucher_operations_seconds_count{application=\"voucher-system\",operation=\"check\",outcome=\"valid\",}"));
+        assertThat(scrape, containsString("voucher_operations_seconds_count{application=\"voucher-system\",operation=\"check\",outcome=\"expired\",}"));
+        assertThat(scrape, containsString("campaign_operations_seconds_count{application=\"voucher-system\",operation=\"find\",outcome=\"not_found\",}"));
+        assertThat(scrape, containsString("voucher_operations_seconds_bucket{"));
+    }
+
+    @Test
+    @DisplayName("Pool, JVM and cache gauges are exposed on the Prometheus endpoint")
+    public void gaugesArePublished() throws Exception {
+        //When
+        String scrape = scrape();
+
+        //Then
+        assertThat(scrape, containsString("hikaricp_connections_max{"));
+        assertThat(scrape, containsString("jvm_memory_used_bytes{"));
+        assertThat(scrape, containsString("voucher_check_cache_gets_total{"));
+        assertThat(scrape, containsString("voucher_code_filter_checks_total{"));
+        assertThat(scrape, containsString("campaign_cache_size{"));
+    }
+
+    @Test
+    @DisplayName("A batch send that cannot be written returns its vouchers to issued and is counted as an error")
+    public void unwrittenBatchSendIsReleased() throws Exception {
+        //Given
+        Campaign campaign = campaignRepository.save(new Campaign(null, "Disconnected Send Campaign", LocalDate.parse("2023-01-01"), null));
+        List<UUID> codes = List.of(UUID.randomUUID(), UUID.randomUUID());
+        voucherRepository.insertIssuedVouchers(campaign.getId(), codes);
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        //When
+        assertThrows(IOException.class, () -> voucherSendService.send(campaign.getId(), 2, disconnected));
+
+        //Then
+        for (UUID code : codes) {
+            assertThat(voucherRepository.findByCode(code).getStatus(), is(equalTo(VoucherStatus.ISSUED)));
+        }
+        assertThat(scrape(), containsString("voucher_operations_seconds_count{application=\"voucher-system\",operation=\"send_batch\",outcome=\"error\",}"));
+    }
+
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/actuator/prometheus").header("X-API-KEY", "testkey"))
+            .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,155 @@
+package io.github.elenaaltuhova.vouchersystem.integration;
+
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignCache;
+import io.github.elenaaltuhova.vouchersystem.cache.VoucherCheckCache;
+import io.github.elenaaltuhova.vouchersystem.metrics.SqlStatsListener;
+import io.github.elenaaltuhova.vouchersystem.repository.VoucherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.number.OrderingComparison.greaterThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts how many SQL statements each endpoint issues, so a lazy load or an extra read fails the build.
+ * <p>
+ * MockMvc runs the request on the test thread, where the {@link SqlStatsListener} counts the statements.
+ * Counts are the H2 ones: claiming and redeeming take one statement less on PostgreSQL.
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest
+public class QueryCountTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VoucherCheckCache voucherCheckCache;
+
+    @Autowired
+    private CampaignCache campaignCache;
+
+    @Autowired
+    private VoucherRepository voucherRepository;
+
+    @BeforeEach
+    public void clearCaches() {
+        voucherCheckCache.clear();
+        campaignCache.clear();
+    }
+
+    @Test
+    @DisplayName("Checking a voucher reads the voucher and its campaign in one statement")
+    public void checkIssuesOneStatement() throws Exception {
+        //When
+        long cold = countStatements(get("/v1/vouchers/ce90dfbd-ff2a-4e43-941c-ea26c04c6e7e/check"), HttpStatus.OK);
+        long warm = countStatements(get("/v1/vouchers/ce90dfbd-ff2a-4e43-941c-ea26c04c6e7e/check"), HttpStatus.OK);
+
+        //Then
+        assertThat(cold, is(equalTo(1L)));
+        assertThat(warm, is(equalTo(0L)));
+    }
+
+    @Test
+    @DisplayName("Checking a voucher of an expired campaign issues one statement")
+    public void checkExpiredVoucherIssuesOneStatement() throws Exception {
+        //When
+        long statements = countStatements(get("/v1/vouchers/3243684c-dc57-48c1-aff3-4da430d6f5b3/check"), HttpStatus.BAD_REQUEST);
+
+        //Then
+        assertThat(statements, is(equalTo(1L)));
+    }
+
+    @Test
+    @DisplayName("Checking an unknown voucher code issues no statement")
+    public void checkUnknownVoucherIssuesNoStatement() throws Exception {
+        //When
+        long statements = countStatements(get("/v1/vouchers/0b5bfa3c-0d0f-4b4e-9d4f-6b7d1d1b6c3a/check"), HttpStatus.NOT_FOUND);
+
+        //Then
+        assertThat(statements, is(equalTo(0L)));
+    }
+
+    @Test
+    @DisplayName("Checking a batch of vouchers reads all of them and their campaigns in one statement")
+    public void checkBatchIssuesOneStatement() throws Exception {
+        //When
+        long statements = countStatements(post("/v1/vouchers/check:batch").contentType(MediaType.APPLICATION_JSON)
+            .content("{\"codes\":[\"ce90dfbd-ff2a-4e43-941c-ea26c04c6e7e\",\"44f255bd-0fba-476e-8dde-0023fd59b4e1\"," +
+                "\"3243684c-dc57-48c1-aff3-4da430d6f5b3\"]}"), HttpStatus.OK);
+
+        //Then
+        assertThat(statements, is(equalTo(1L)));
+    }
+    @Test
+    @DisplayName("Finding a campaign issues one statement until it is cached")
+    public void findCampaignIssuesOneStatement() throws Exception {
+        //When
+        long cold = countStatements(get("/v1/campaigns/2"), HttpStatus.OK);
+        long warm = countStatements(get("/v1/campaigns/2"), HttpStatus.OK);
+
+        //Then
+        assertThat(cold, is(equalTo(1L)));
+        assertThat(warm, is(equalTo(0L)));
+    }
+
+    @Test
+    @DisplayName("Sending a voucher reads the campaign once and claims the voucher")
+    public void sendIssuesClaimStatements() throws Exception {
+        //When
+        long claimed = countStatements(get("/v1/vouchers/send").param("campaignId", "2"), HttpStatus.OK);
+        long exhausted = countStatements(get("/v1/vouchers/send").param("campaignId", "2"), HttpStatus.NOT_FOUND);
+
+        //Then
+        assertThat(claimed, is(equalTo(3L)));
+        assertThat(exhausted, is(equalTo(1L)));
+    }
+
+    @Test
+    @DisplayName("Redeeming a voucher issues the conditional update and one read")
+    public void redeemIssuesRedeemStatements() throws Exception {
+        //Given
+        Long voucherId = voucherRepository.insertIssuedVouchers(1L, List.of(UUID.randomUUID())).get(0).getId();
+
+        //When
+        long statements = countStatements(post("/v1/vouchers/{id}/redeem", voucherId), HttpStatus.OK);
+
+        //Then
+        assertThat(statements, is(equalTo(2L)));
+    }
+
+    @Test
+    @DisplayName("Responses tell how many statements they took and for how long")
+    public void responsesCarryStatementHeaders() throws Exception {
+        //When
+        MvcResult result = mockMvc.perform(get("/v1/campaigns/1").header("X-API-KEY", "testkey")).andReturn();
+
+        //Then
+        assertThat(result.getResponse().getHeader("X-Query-Count"), is(equalTo("1")));
+        assertThat(Double.parseDouble(result.getResponse().getHeader("X-DB-Time")), is(greaterThan(0.0)));
+    }
+
+    private long countStatements(MockHttpServletRequestBuilder request, HttpStatus expectedStatus) throws Exception {
+        mockMvc.perform(request.header("X-API-KEY", "testkey"))
+            .andExpect(status().is(expectedStatus.value()));
+        return SqlStatsListener.current().getCount();
+    }
+}
@@ -0,0 +1,167 @@
+package io.github.elenaaltuhova.vouchersystem.integration;
+
+import io.github.elenaaltuhova.vouchersystem.config.ReactiveServer;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "voucher.reactive.enabled=true",
+    "voucher.reactive.port=0",
+    "spring.datasource.url=jdbc:h2:mem:reactivedb;DB_CLOSE_DELAY=-1",
+    "voucher.reactive.r2dbc-url=r2dbc:h2:mem:///reactivedb?options=DB_CLOSE_DELAY=-1"
+})
+public class ReactiveApiTests {
+    @Autowired
+    private ReactiveServer reactiveServer;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private final String baseUrl = "http://localhost:";
+
+    @Test
+    @Order(1)
+    public void testCheckVoucher() {
+        //Given
+        int port = reactiveServer.getPort();
+        String responseBody =
+            "{\"data\":{\"code\":\"ce90dfbd-ff2a-4e43-941c-ea26c04c6e7e\",\"campaignName\":\"Free Shipping\",\"status\":\"ISSUED\"," +
+                "\"id\":1,\"links\":[{\"rel\":\"redeem\",\"href\":\"http://localhost:" + port + "/v1/vouchers/1/redeem\"}]}}";
+
+        //When
+        ResponseEntity<String> responseEntity = requestBuilder("/v1/vouchers/ce90dfbd-ff2a-4e43-941c-ea26c04c6e7e/check", HttpMethod.GET);
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(OK)));
+        assertThat(responseEntity.getBody(), is(responseBody));
+    }
+
+    @Test
+    @Order(2)
+    public void testCheckRedeemedVoucher() {
+        //When
+        ResponseEntity<String> responseEntity = requestBuilder("/v1/vouchers/d490e225-8271-4093-a047-1598ee6b4c1b/check", HttpMethod.GET);
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(BAD_REQUEST)));
+        assertThat(responseEntity.getBody(), containsString("Voucher is already redeemed."));
+    }
+
+    @Test
+    @Order(3)
+    public void testCheckUnknownVoucher() {
+        //When
+        ResponseEntity<String> responseEntity = requestBuilder("/v1/vouchers/aafefde5-d7cf-474f-90c9-6957958456a1/check", HttpMethod.GET);
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(NOT_FOUND)));
+        assertThat(responseEntity.getBody(), containsString("Voucher not valid."));
+    }
+
+    @Test
+    @Order(4)
+    public void testSendValidVoucher() {
+        //Given
+        int port = reactiveServer.getPort();
+        String responseBody =
+            "{\"data\":{\"code\":\"ce90dfbd-ff2a-4e43-941c-ea26c04c6e7e\",\"campaignName\":\"Free Shipping\",\"status\":\"SENT\"," +
+                "\"id\":1,\"links\":[{\"rel\":\"check\",\"href\":\"http://localhost:" + port + "/v1/vouchers/ce90dfbd-ff2a-4e43-941c-ea26c04c6e7e/check\"}]}}";
+
+        //When
+        ResponseEntity<String> responseEntity = requestBuilder("/v1/vouchers/send?campaignId=1", HttpMethod.GET);
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(OK)));
+        assertThat(responseEntity.getBody(), is(responseBody));
+    }
+
+    @Test
+    @Order(5)
+    public void testSendFromExpiredAndUnknownCampaign() {
+        //When
+        ResponseEntity<String> expired = requestBuilder("/v1/vouchers/send?campaignId=3", HttpMethod.GET);
+        ResponseEntity<String> unknown = requestBuilder("/v1/vouchers/send?campaignId=99", HttpMethod.GET);
+
+        //Then
+        assertThat(expired.getStatusCode(), is(equalTo(BAD_REQUEST)));
+        assertThat(expired.getBody(), containsString("Campaign has already expired."));
+        assertThat(unknown.getStatusCode(), is(equalTo(NOT_FOUND)));
+        assertThat(unknown.getBody(), containsString("There is no campaign with ID=99"));
+    }
+
+    @Test
+    @Order(6)
+    public void testRedeemVoucher() {
+        //When
+        ResponseEntity<String> responseEntity = requestBuilder("/v1/vouchers/1/redeem", HttpMethod.POST);
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(OK)));
+        assertThat(responseEntity.getBody(), containsString("\"status\":\"REDEEMED\""));
+    }
+
+    @Test
+    @Order(7)
+    public void testRedeemVoucherByCodeTwice() {
+        //When
+        ResponseEntity<String> redeemed = requestBuilder("/v1/vouchers/44f255bd-0fba-476e-8dde-0023fd59b4e1/redeem", HttpMethod.POST);
+        ResponseEntity<String> alreadyRedeemed = requestBuilder("/v1/vouchers/44f255bd-0fba-476e-8dde-0023fd59b4e1/redeem", HttpMethod.POST);
+
+        //Then
+        assertThat(redeemed.getStatusCode(), is(equalTo(OK)));
+        assertThat(alreadyRedeemed.getStatusCode(), is(equalTo(BAD_REQUEST)));
+        assertThat(alreadyRedeemed.getBody(), containsString("Voucher is already redeemed."));
+    }
+
+    @Test
+    @Order(8)
+    public void testRedeemExpiredAndUnknownVoucher() {
+        //When
+        ResponseEntity<String> expired = requestBuilder("/v1/vouchers/3243684c-dc57-48c1-aff3-4da430d6f5b3/redeem", HttpMethod.POST);
+        ResponseEntity<String> unknown = requestBuilder("/v1/vouchers/999/redeem", HttpMethod.POST);
+
+        //Then
+        assertThat(expired.getStatusCode(), is(equalTo(BAD_REQUEST)));
+        assertThat(expired.getBody(), containsString("Voucher is expired."));
+        assertThat(unknown.getStatusCode(), is(equalTo(BAD_REQUEST)));
+        assertThat(unknown.getBody(), containsString("Voucher not valid."));
+    }
+
+    @Test
+    @Order(9)
+    public void testRequestWithoutApiKey() {
+        //When
+        ResponseEntity<String> responseEntity = this.restTemplate.exchange(baseUrl + reactiveServer.getPort() + "/v1/vouchers/1/redeem",
+            HttpMethod.POST, HttpEntity.EMPTY, String.class);
+
+        //Then
+        assertThat(responseEntity.getStatusCode(), is(equalTo(UNAUTHORIZED)));
+    }
+
+    private ResponseEntity<String> requestBuilder(String url, HttpMethod method) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set("X-API-KEY", "testkey");
+        return this.restTemplate.exchange(baseUrl + reactiveServer.getPort() + url, method, new HttpEntity<>(headers), String.class);
+    }
+}
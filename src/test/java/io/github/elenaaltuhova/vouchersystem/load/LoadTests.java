@@ -0,0 +1,208 @@
+package io.github.elenaaltuhova.vouchersystem.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.elenaaltuhova.vouchersystem.config.ReactiveServer;
+import io.github.elenaaltuhova.vouchersystem.model.Campaign;
+import io.github.elenaaltuhova.vouchersystem.model.IssuedVoucher;
+import io.github.elenaaltuhova.vouchersystem.repository.CampaignRepository;
+import io.github.elenaaltuhova.vouchersystem.service.VoucherBulkInsertService;
+import lombok.extern.log4j.Log4j2;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Load and latency suite for the voucher end-points, excluded from the default build.
+ * <p>
+ * Run it with <code>mvn -Pload test</code>. The application boots against H2 in PostgreSQL mode, seeds
+ * <code>load.campaigns</code> campaigns with <code>load.vouchers</code> vouchers each, and then drives check,
+ * redeem, send and voucher creation on the servlet API and check, redeem and send on the reactive API (or the
+ * comma-separated <code>load.endpoints</code>) at <code>load.rate</code> requests per second each, from
+ * <code>load.clients</code> concurrent clients. A <code>load.warmup</code> run at
+ * the same rates is discarded before the measured <code>load.duration</code> run. Every setting is a system property
+ * with the default below.
+ * <p>
+ * Throughput, error count and p50/p90/p99/p99.9 latencies per end-point are written to <code>load.report</code> as
+ * JSON, and the full histograms next to it as an HdrHistogram log, so runs of different builds can be compared.
+ */
+@Log4j2
+@Tag("load")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:loaddb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+    "voucher.reactive.enabled=true",
+    "voucher.reactive.port=0",
+    "voucher.reactive.r2dbc-url=r2dbc:h2:mem:///loaddb?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+    "logging.level.io.github.elenaaltuhova.vouchersystem=WARN",
+    "spring.jpa.show-sql=false"
+})
+public class LoadTests {
+    private static final int CAMPAIGNS = Integer.getInteger("load.campaigns", 10);
+    private static final int VOUCHERS = Integer.getInteger("load.vouchers", 5000);
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "50"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final int CLIENTS = Integer.getInteger("load.clients", 32);
+    private static final String REPORT = System.getProperty("load.report", "target/load-report.json");
+    private static final List<String> ENDPOINTS = List.of(System.getProperty("load.endpoints",
+        "check,redeem,send,createVouchers,reactiveCheck,reactiveRedeem,reactiveSend").split(","));
+    private static final int VOUCHERS_PER_CREATE = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReactiveServer reactiveServer;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    @Autowired
+    private VoucherBulkInsertService voucherBulkInsertService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Long> campaignIds = new ArrayList<>();
+    private final List<UUID> checkCodes = new ArrayList<>();
+    private final List<UUID> redeemCodes = new ArrayList<>();
+    private final List<UUID> reactiveRedeemCodes = new ArrayList<>();
+
+    @BeforeAll
+    public void seed() {
+        for (int i = 0; i < CAMPAIGNS; i++) {
+            Campaign campaign = campaignRepository.save(
+                new Campaign(null, "Load Campaign " + i, LocalDate.now().minusDays(1), null));
+            campaignIds.add(campaign.getId());
+
+            voucherBulkInsertService.insert(campaign.getId(), VOUCHERS, chunk -> {
+                for (IssuedVoucher voucher : chunk) {
+                    long slot = voucher.getId() % 4;
+                    (slot < 2 ? checkCodes : slot == 2 ? redeemCodes : reactiveRedeemCodes).add(voucher.getCode());
+                }
+            });
+        }
+        log.warn("Seeded {} campaigns with {} vouchers each", CAMPAIGNS, VOUCHERS);
+    }
+
+    @Test
+    public void driveVoucherEndpoints() throws InterruptedException, IOException {
+        //Given
+        OpenLoopDriver driver = new OpenLoopDriver(CLIENTS, ENDPOINTS);
+        driver.endpoint("check", RATE, n -> request("/v1/vouchers/" + checkCodes.get((int) (n % checkCodes.size())) + "/check")
+            .GET().build());
+        driver.endpoint("redeem", RATE, n -> request("/v1/vouchers/" + redeemCodes.get((int) (n % redeemCodes.size())) + "/redeem")
+            .POST(HttpRequest.BodyPublishers.noBody()).build());
+        driver.endpoint("send", RATE, n -> request("/v1/vouchers/send?campaignId=" + campaignIds.get((int) (n % CAMPAIGNS)))
+            .GET().build());
+        driver.endpoint("createVouchers", RATE, n -> request("/v1/campaigns/" + campaignIds.get((int) (n % CAMPAIGNS))
+            + "/vouchers?count=" + VOUCHERS_PER_CREATE).POST(HttpRequest.BodyPublishers.noBody()).build());
+        driver.endpoint("reactiveCheck", RATE, n -> request(reactiveServer.getPort(), "/v1/vouchers/" + checkCodes.get((int) (n % checkCodes.size())) + "/check")
+            .GET().build());
+        driver.endpoint("reactiveRedeem", RATE, n -> request(reactiveServer.getPort(), "/v1/vouchers/" + reactiveRedeemCodes.get((int) (n % reactiveRedeemCodes.size())) + "/redeem")
+            .POST(HttpRequest.BodyPublishers.noBody()).build());
+        driver.endpoint("reactiveSend", RATE, n -> request(reactiveServer.getPort(), "/v1/vouchers/send?campaignId=" + campaignIds.get((int) (n % CAMPAIGNS)))
+            .GET().build());
+
+        //When
+        driver.warmUp(WARMUP);
+        List<OpenLoopDriver.Endpoint> endpoints = driver.run(DURATION);
+        writeReport(endpoints);
+
+        //Then
+        long expected = (long) (RATE * DURATION.toMillis() / 1000);
+        for (OpenLoopDriver.Endpoint endpoint : endpoints) {
+            assertThat(endpoint.name + " completed", endpoint.completed(), is(equalTo(expected)));
+            assertThat(endpoint.name + " errors", endpoint.errors.sum(), is(equalTo(0L)));
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return request(port, path);
+    }
+
+    private HttpRequest.Builder request(int serverPort, String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + serverPort + path))
+            .header("X-API-KEY", "testkey")
+            .timeout(Duration.ofSeconds(30));
+    }
+
+    /**
+     * Method that writes the JSON summary of a run and the HdrHistogram log with the full latency distributions.
+     *
+     * @param endpoints
+     */
+    private void writeReport(List<OpenLoopDriver.Endpoint> endpoints) throws IOException {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("campaigns", CAMPAIGNS);
+        settings.put("vouchersPerCampaign", VOUCHERS);
+        settings.put("ratePerSecond", RATE);
+        settings.put("warmupSeconds", WARMUP.toSeconds());
+        settings.put("durationSeconds", DURATION.toSeconds());
+        settings.put("clients", CLIENTS);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (OpenLoopDriver.Endpoint endpoint : endpoints) {
+            Histogram histogram = endpoint.latencyMicros;
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("p50", histogram.getValueAtPercentile(50));
+            latency.put("p90", histogram.getValueAtPercentile(90));
+            latency.put("p99", histogram.getValueAtPercentile(99));
+            latency.put("p999", histogram.getValueAtPercentile(99.9));
+            latency.put("max", histogram.getMaxValue());
+            latency.put("mean", histogram.getMean());
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", endpoint.completed());
+            result.put("errors", endpoint.errors.sum());
+            result.put("throughputPerSecond", endpoint.throughputPerSecond());
+            result.put("latencyMicros", latency);
+            results.put(endpoint.name, result);
+
+            log.warn("{}: {} requests, {} errors, {} req/s, p50={}us p99={}us p99.9={}us max={}us", endpoint.name,
+                endpoint.completed(), endpoint.errors.sum(), String.format("%.1f", endpoint.throughputPerSecond()),
+                latency.get("p50"), latency.get("p99"), latency.get("p999"), latency.get("max"));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("endpoints", results);
+
+        File reportFile = new File(REPORT);
+        reportFile.getAbsoluteFile().getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+
+        File histogramFile = new File(reportFile.getAbsoluteFile().getParentFile(), reportFile.getName().replaceAll("\\.json$", "") + ".hlog");
+        try (PrintStream stream = new PrintStream(histogramFile)) {
+            HistogramLogWriter writer = new HistogramLogWriter(stream);
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            endpoints.forEach(endpoint -> writer.outputIntervalHistogram(endpoint.latencyMicros));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.elenaaltuhova.vouchersystem.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Open-loop load generator: every endpoint gets its own fixed arrival rate, independent of how fast responses come back.
+ * <p>
+ * A dispatcher thread per endpoint hands each request to a pool of virtual clients at its intended start time.
+ * Latency is measured from that intended start, so time spent waiting for a free client or behind a slow response
+ * is counted instead of silently lowering the offered load (coordinated omission).
+ */
+class OpenLoopDriver {
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final int clients;
+    private final List<String> enabled;
+
+    OpenLoopDriver(int clients, List<String> enabled) {
+        this.clients = clients;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Method that adds an endpoint to drive, unless it is not enabled; the function builds the n-th request sent to it.
+     *
+     * @param name
+     * @param ratePerSecond
+     * @param requests
+     */
+    void endpoint(String name, double ratePerSecond, LongFunction<HttpRequest> requests) {
+        if (enabled.contains(name)) {
+            endpoints.add(new Endpoint(name, ratePerSecond, requests));
+        }
+    }
+
+    /**
+     * Method that drives all endpoints for a while and then forgets their latencies and errors, so the measured run
+     * starts with a warm JVM, connection pool and caches. Request numbering carries on into the measured run.
+     *
+     * @param duration
+     */
+    void warmUp(Duration duration) throws InterruptedException {
+        run(duration);
+        endpoints.forEach(endpoint -> {
+            endpoint.latencyMicros.reset();
+            endpoint.errors.reset();
+        });
+    }
+
+    /**
+     * Method that drives all endpoints at the same time and waits for every request to complete.
+     *
+     * @param duration
+     * @return List<Endpoint> with the latency histogram and counters of every endpoint
+     */
+    List<Endpoint> run(Duration duration) throws InterruptedException {
+        ExecutorService clientPool = Executors.newFixedThreadPool(clients);
+        List<Thread> dispatchers = new ArrayList<>();
+        long startedAt = System.nanoTime();
+
+        for (Endpoint endpoint : endpoints) {
+            Thread dispatcher = new Thread(() -> dispatch(endpoint, clientPool, startedAt, duration), "load-" + endpoint.name);
+            dispatchers.add(dispatcher);
+            dispatcher.start();
+        }
+        for (Thread dispatcher : dispatchers) {
+            dispatcher.join();
+        }
+
+        clientPool.shutdown();
+        clientPool.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        long elapsedNanos = System.nanoTime() - startedAt;
+        endpoints.forEach(endpoint -> endpoint.elapsedNanos = elapsedNanos);
+        return endpoints;
+    }
+
+    private void dispatch(Endpoint endpoint, ExecutorService clientPool, long startedAt, Duration duration) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / endpoint.ratePerSecond);
+        long total = (long) (endpoint.ratePerSecond * duration.toMillis() / 1000);
+
+        for (long i = 0; i < total; i++) {
+            long intendedStart = startedAt + i * intervalNanos;
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long n = endpoint.sequence.getAndIncrement();
+            clientPool.execute(() -> send(endpoint, endpoint.requests.apply(n), intendedStart));
+        }
+    }
+
+    private void send(Endpoint endpoint, HttpRequest request, long intendedStart) {
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 300) {
+                endpoint.errors.increment();
+            }
+        } catch (Exception exception) {
+            endpoint.errors.increment();
+        }
+        endpoint.latencyMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart));
+    }
+
+    /**
+     * One driven endpoint with its latency histogram in microseconds.
+     */
+    static final class Endpoint {
+        final String name;
+        final double ratePerSecond;
+        final LongFunction<HttpRequest> requests;
+        final Histogram latencyMicros = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+        final AtomicLong sequence = new AtomicLong();
+        long elapsedNanos;
+
+        Endpoint(String name, double ratePerSecond, LongFunction<HttpRequest> requests) {
+            this.name = name;
+            this.ratePerSecond = ratePerSecond;
+            this.requests = requests;
+            this.latencyMicros.setTag(name);
+        }
+
+        long completed() {
+            return latencyMicros.getTotalCount();
+        }
+
+        double throughputPerSecond() {
+            return completed() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+}
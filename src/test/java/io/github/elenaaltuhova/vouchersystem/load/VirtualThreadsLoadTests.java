@@ -0,0 +1,199 @@
+package io.github.elenaaltuhova.vouchersystem.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.elenaaltuhova.vouchersystem.VoucherSystemApplication;
+import io.github.elenaaltuhova.vouchersystem.model.Campaign;
+import io.github.elenaaltuhova.vouchersystem.model.IssuedVoucher;
+import io.github.elenaaltuhova.vouchersystem.repository.CampaignRepository;
+import io.github.elenaaltuhova.vouchersystem.service.VoucherBulkInsertService;
+import lombok.extern.log4j.Log4j2;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Compares the platform-thread and the virtual-thread execution modes under a burst of concurrent requests,
+ * excluded from the default build.
+ * <p>
+ * Run it with <code>mvn -Pload test -Dtest=VirtualThreadsLoadTests</code>. The application boots once per mode
+ * against its own H2 database in PostgreSQL mode, seeds <code>load.vouchers</code> vouchers and then opens
+ * <code>load.concurrency</code> voucher checks at the same time. Every setting is a system property with the
+ * default below; the open file limit of the machine has to allow two sockets per concurrent request.
+ * <p>
+ * Throughput, error count, latencies, peak platform threads and peak heap of both modes are written to
+ * <code>load.threads-report</code> as JSON.
+ */
+@Log4j2
+@Tag("load")
+public class VirtualThreadsLoadTests {
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 10000);
+    private static final int VOUCHERS = Integer.getInteger("load.vouchers", 5000);
+    private static final String REPORT = System.getProperty("load.threads-report", "target/virtual-threads-report.json");
+
+    @Test
+    public void compareThreadModes() throws IOException {
+        //When
+        Map<String, Object> virtual = run(true);
+        Map<String, Object> platform = run(false);
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("concurrency", CONCURRENCY);
+        settings.put("vouchers", VOUCHERS);
+        settings.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("platform", platform);
+        report.put("virtual", virtual);
+
+        File reportFile = new File(REPORT);
+        reportFile.getAbsoluteFile().getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+
+        //Then
+        assertThat("platform errors", platform.get("errors"), is(equalTo(0L)));
+        assertThat("virtual errors", virtual.get("errors"), is(equalTo(0L)));
+    }
+
+    /**
+     * Method that boots the application in one execution mode, fires the burst of checks and measures it.
+     *
+     * @param virtualThreads
+     * @return results of the mode
+     */
+    private Map<String, Object> run(boolean virtualThreads) {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(VoucherSystemApplication.class)
+            .profiles("test")
+            .run(
+                "--server.port=0",
+                "--voucher.threads.virtual=" + virtualThreads,
+                "--spring.datasource.url=jdbc:h2:mem:threads-" + mode + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                "--server.tomcat.max-connections=" + (CONCURRENCY + 100),
+                "--server.tomcat.accept-count=" + CONCURRENCY,
+                "--logging.level.io.github.elenaaltuhova.vouchersystem=WARN",
+                "--logging.level.org.springframework.web.filter.CommonsRequestLoggingFilter=WARN",
+                "--spring.jpa.show-sql=false")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<UUID> codes = seed(context);
+
+            try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient client = HttpClient.newBuilder().executor(clientExecutor).build();
+                burst(client, port, codes, Math.min(CONCURRENCY, 1000), new ConcurrentHistogram(3));
+
+                ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+                List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                    .filter(pool -> pool.getType() == MemoryType.HEAP).toList();
+                System.gc();
+                long heapBefore = heapPools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+                int threadsBefore = threads.getThreadCount();
+                threads.resetPeakThreadCount();
+                heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+                Histogram latency = new ConcurrentHistogram(3);
+                long start = System.nanoTime();
+                long errors = burst(client, port, codes, CONCURRENCY, latency);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+                Map<String, Object> latencyMicros = new LinkedHashMap<>();
+                latencyMicros.put("p50", latency.getValueAtPercentile(50));
+                latencyMicros.put("p99", latency.getValueAtPercentile(99));
+                latencyMicros.put("max", latency.getMaxValue());
+
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("requests", (long) CONCURRENCY);
+                result.put("errors", errors);
+                result.put("seconds", seconds);
+                result.put("throughputPerSecond", CONCURRENCY / seconds);
+                result.put("latencyMicros", latencyMicros);
+                result.put("platformThreadsBefore", threadsBefore);
+                result.put("peakPlatformThreads", threads.getPeakThreadCount());
+                result.put("heapBeforeBytes", heapBefore);
+                result.put("peakHeapBytes", peakHeap);
+                result.put("heapPerRequestBytes", Math.max(0, peakHeap - heapBefore) / CONCURRENCY);
+
+                log.warn("{}: {} requests, {} errors, {} req/s, p50={}us p99={}us, peak platform threads {}, peak heap {} MB",
+                    mode, CONCURRENCY, errors, String.format("%.1f", CONCURRENCY / seconds), latencyMicros.get("p50"),
+                    latencyMicros.get("p99"), threads.getPeakThreadCount(), peakHeap >> 20);
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Method that creates a campaign with vouchers to check.
+     *
+     * @param context
+     * @return codes of the vouchers
+     */
+    private List<UUID> seed(ConfigurableApplicationContext context) {
+        Campaign campaign = context.getBean(CampaignRepository.class).save(
+            new Campaign(null, "Threads Campaign", LocalDate.now().minusDays(1), null));
+        List<UUID> codes = new ArrayList<>(VOUCHERS);
+        context.getBean(VoucherBulkInsertService.class).insert(campaign.getId(), VOUCHERS,
+            chunk -> chunk.stream().map(IssuedVoucher::getCode).forEach(codes::add));
+        return codes;
+    }
+
+    /**
+     * Method that sends all checks at once and waits for every response.
+     *
+     * @param client
+     * @param port
+     * @param codes
+     * @param count
+     * @param latencyMicros
+     * @return number of failed requests
+     */
+    private long burst(HttpClient client, int port, List<UUID> codes, int count, Histogram latencyMicros) {
+        LongAdder errors = new LongAdder();
+        List<CompletableFuture<?>> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/v1/vouchers/" + codes.get(i % codes.size()) + "/check"))
+                .header("X-API-KEY", "testkey")
+                .timeout(Duration.ofSeconds(60))
+                .GET().build();
+            long start = System.nanoTime();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).handle((response, exception) -> {
+                latencyMicros.recordValue((System.nanoTime() - start) / 1000);
+                if (exception != null || response.statusCode() != 200) {
+                    errors.increment();
+                }
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        return errors.sum();
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.elenaaltuhova.vouchersystem.repository;
 
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
 import io.github.elenaaltuhova.vouchersystem.model.Campaign;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -23,11 +24,15 @@ public class CampaignRepositoryTest extends BaseRepositoryClass{
     @BeforeAll
     public void setupDB() {
         List<Campaign> campaigns = new ArrayList<>();
-        campaigns.add(new Campaign(1L, "Test Campaign", LocalDate.parse("2023-01-01"), null));
-        campaigns.add(new Campaign(2L, "Test Campaign 2", LocalDate.parse("2023-05-05"), null));
+        campaigns.add(new Campaign(1L, "Test Campaign", LocalDate.parse("2023-01-01"), null, currentVersion(1L), CodeGeneratorType.RANDOM));
+        campaigns.add(new Campaign(2L, "Test Campaign 2", LocalDate.parse("2023-05-05"), null, currentVersion(2L), CodeGeneratorType.RANDOM));
         campaignRepository.saveAll(campaigns);
     }
 
+    private long currentVersion(Long id) {
+        return campaignRepository.findById(id).map(Campaign::getVersion).orElse(0L);
+    }
+
     @Test
     @DisplayName("Successfully find campaign by title")
     public void findCampaignByTitle() {
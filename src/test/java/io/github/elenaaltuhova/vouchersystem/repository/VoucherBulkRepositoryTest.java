@@ -0,0 +1,69 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import io.github.elenaaltuhova.vouchersystem.model.Campaign;
+import io.github.elenaaltuhova.vouchersystem.model.IssuedVoucher;
+import io.github.elenaaltuhova.vouchersystem.model.Voucher;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class VoucherBulkRepositoryTest extends BaseRepositoryClass {
+    @Autowired
+    private VoucherRepository voucherRepository;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    private Campaign campaign;
+
+    @BeforeAll
+    public void setupDB() {
+        campaign = campaignRepository.save(new Campaign(null, "Bulk Insert Campaign", LocalDate.parse("2023-01-01"), null));
+    }
+
+    @Test
+    @DisplayName("Insert a chunk of vouchers in one statement")
+    public void insertIssuedVouchers() {
+        //Given
+        List<UUID> codes = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            codes.add(UUID.randomUUID());
+        }
+
+        //When
+        List<IssuedVoucher> inserted = voucherRepository.insertIssuedVouchers(campaign.getId(), codes);
+
+        //Then
+        assertThat(inserted.size(), is(equalTo(2000)));
+        Voucher voucher = voucherRepository.findByCode(codes.get(0));
+        assertThat(voucher.getCampaign().getId(), is(equalTo(campaign.getId())));
+        assertThat(voucher.getStatus(), is(equalTo(VoucherStatus.ISSUED)));
+    }
+
+    @Test
+    @DisplayName("Duplicate codes are skipped without failing the chunk")
+    public void duplicateCodesAreSkipped() {
+        //Given
+        UUID existingCode = UUID.randomUUID();
+        voucherRepository.insertIssuedVouchers(campaign.getId(), List.of(existingCode));
+        UUID newCode = UUID.randomUUID();
+
+        //When
+        List<IssuedVoucher> inserted = voucherRepository.insertIssuedVouchers(campaign.getId(), List.of(existingCode, newCode, newCode));
+
+        //Then
+        assertThat(inserted.size(), is(equalTo(1)));
+        assertThat(inserted.get(0).getCode(), is(equalTo(newCode)));
+    }
+}
@@ -0,0 +1,235 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.enums.RedemptionOutcome;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import io.github.elenaaltuhova.vouchersystem.model.Campaign;
+import io.github.elenaaltuhova.vouchersystem.model.ClaimedVoucher;
+import io.github.elenaaltuhova.vouchersystem.model.Voucher;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherRedemption;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@Log4j2
+public class VoucherClaimRepositoryTest extends BaseRepositoryClass {
+    private static final int VOUCHERS = 1000;
+    private static final int SENDERS = 64;
+
+    @Autowired
+    private VoucherRepository voucherRepository;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    private static final UUID REDEEM_CODE = UUID.fromString("5c0e2f8e-3b1a-4f5e-9d6c-2a7b8c9d0e1f");
+
+    private Campaign campaign;
+    private Set<Long> seededIds;
+    private Campaign batchCampaign;
+    private Set<Long> batchSeededIds;
+    private Campaign shortCampaign;
+    private Voucher batchIssued;
+    private Voucher batchRedeemed;
+    private Voucher batchExpired;
+
+    @BeforeAll
+    public void setupDB() {
+        campaign = campaignRepository.save(new Campaign(null, "Claim Contention Campaign", LocalDate.parse("2023-01-01"), null));
+        List<Voucher> voucherList = new ArrayList<>();
+        for (int i = 0; i < VOUCHERS; i++) {
+            voucherList.add(new Voucher(null, UUID.randomUUID(), campaign, VoucherStatus.ISSUED));
+        }
+        seededIds = new HashSet<>();
+        voucherRepository.saveAll(voucherList).forEach(voucher -> seededIds.add(voucher.getId()));
+
+        Campaign redeemCampaign = campaignRepository.save(new Campaign(null, "Redeem Contention Campaign", LocalDate.parse("2023-01-01"), null));
+        voucherRepository.save(new Voucher(null, REDEEM_CODE, redeemCampaign, VoucherStatus.ISSUED));
+
+        batchCampaign = campaignRepository.save(new Campaign(null, "Batch Claim Contention Campaign", LocalDate.parse("2023-01-01"), null));
+        List<Voucher> batchVoucherList = new ArrayList<>();
+        for (int i = 0; i < VOUCHERS; i++) {
+            batchVoucherList.add(new Voucher(null, UUID.randomUUID(), batchCampaign, VoucherStatus.ISSUED));
+        }
+        batchSeededIds = new HashSet<>();
+        voucherRepository.saveAll(batchVoucherList).forEach(voucher -> batchSeededIds.add(voucher.getId()));
+
+        shortCampaign = campaignRepository.save(new Campaign(null, "Short Batch Claim Campaign", LocalDate.parse("2023-01-01"), null));
+        for (int i = 0; i < 10; i++) {
+            voucherRepository.save(new Voucher(null, UUID.randomUUID(), shortCampaign, VoucherStatus.ISSUED));
+        }
+
+        Campaign expiredCampaign = campaignRepository.save(new Campaign(null, "Expired Batch Campaign", LocalDate.parse("2023-01-01"), LocalDate.parse("2023-01-31")));
+        batchIssued = voucherRepository.save(new Voucher(null, UUID.randomUUID(), redeemCampaign, VoucherStatus.ISSUED));
+        batchRedeemed = voucherRepository.save(new Voucher(null, UUID.randomUUID(), redeemCampaign, VoucherStatus.REDEEMED));
+        batchExpired = voucherRepository.save(new Voucher(null, UUID.randomUUID(), expiredCampaign, VoucherStatus.SENT));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Concurrent senders never receive the same voucher")
+    public void concurrentClaimsNeverDoubleIssue() throws InterruptedException {
+        //Given
+        Queue<ClaimedVoucher> claimed = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService senders = Executors.newFixedThreadPool(SENDERS);
+        for (int i = 0; i < SENDERS; i++) {
+            senders.submit(() -> {
+                start.await();
+                Optional<ClaimedVoucher> voucher;
+                while ((voucher = voucherRepository.claimIssuedVoucher(campaign.getId())).isPresent()) {
+                    claimed.add(voucher.get());
+                }
+                return null;
+            });
+        }
+
+        //When
+        long startedAt = System.nanoTime();
+        start.countDown();
+        senders.shutdown();
+        senders.awaitTermination(2, TimeUnit.MINUTES);
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        //Then
+        Set<Long> distinctIds = new HashSet<>();
+        claimed.forEach(voucher -> distinctIds.add(voucher.getId()));
+        log.info("{} senders claimed {} vouchers at {} claims/s", SENDERS, claimed.size(),
+            claimed.size() * TimeUnit.SECONDS.toNanos(1) / Math.max(elapsedNanos, 1));
+
+        assertThat(claimed.size(), is(equalTo(distinctIds.size())));
+        assertThat(distinctIds, is(equalTo(seededIds)));
+        assertThat(voucherRepository.claimIssuedVoucher(campaign.getId()), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Concurrent batch senders never receive the same voucher")
+    public void concurrentBatchClaimsNeverDoubleIssue() throws InterruptedException {
+        //Given
+        Queue<ClaimedVoucher> claimed = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService senders = Executors.newFixedThreadPool(SENDERS);
+        for (int i = 0; i < SENDERS; i++) {
+            senders.submit(() -> {
+                start.await();
+                long sent;
+                do {
+                    sent = voucherRepository.claimIssuedVouchers(batchCampaign.getId(), 7, claimed::add);
+                } while (sent > 0);
+                return null;
+            });
+        }
+
+        //When
+        start.countDown();
+        senders.shutdown();
+        senders.awaitTermination(2, TimeUnit.MINUTES);
+
+        //Then
+        Set<Long> distinctIds = new HashSet<>();
+        claimed.forEach(voucher -> distinctIds.add(voucher.getId()));
+        assertThat(claimed.size(), is(equalTo(distinctIds.size())));
+        assertThat(distinctIds, is(equalTo(batchSeededIds)));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Batch claim returns the vouchers that are left when the campaign runs short")
+    public void batchClaimReturnsPartialResult() {
+        //Given
+        List<ClaimedVoucher> claimed = new ArrayList<>();
+
+        //When
+        long first = voucherRepository.claimIssuedVouchers(shortCampaign.getId(), 4, claimed::add);
+        long second = voucherRepository.claimIssuedVouchers(shortCampaign.getId(), 10, claimed::add);
+        long third = voucherRepository.claimIssuedVouchers(shortCampaign.getId(), 10, claimed::add);
+
+        //Then
+        assertThat(first, is(equalTo(4L)));
+        assertThat(second, is(equalTo(6L)));
+        assertThat(third, is(equalTo(0L)));
+        assertThat(claimed.stream().map(ClaimedVoucher::getId).distinct().count(), is(equalTo(10L)));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Concurrent terminals redeem the same voucher exactly once")
+    public void concurrentRedeemsRedeemOnce() throws Exception {
+        //Given
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService terminals = Executors.newFixedThreadPool(SENDERS);
+        List<Future<VoucherRedemption>> redemptions = new ArrayList<>();
+        for (int i = 0; i < SENDERS; i++) {
+            redemptions.add(terminals.submit(() -> {
+                start.await();
+                return voucherRepository.redeemByCode(REDEEM_CODE, LocalDate.now());
+            }));
+        }
+
+        //When
+        start.countDown();
+        terminals.shutdown();
+        terminals.awaitTermination(1, TimeUnit.MINUTES);
+
+        //Then
+        Map<RedemptionOutcome, Integer> outcomes = new EnumMap<>(RedemptionOutcome.class);
+        for (Future<VoucherRedemption> redemption : redemptions) {
+            outcomes.merge(redemption.get().getOutcome(), 1, Integer::sum);
+        }
+        assertThat(outcomes.get(RedemptionOutcome.REDEEMED), is(equalTo(1)));
+        assertThat(outcomes.get(RedemptionOutcome.ALREADY_REDEEMED), is(equalTo(SENDERS - 1)));
+    }
+
+    @Test
+    @DisplayName("Redeem reports a missing voucher without touching any row")
+    public void redeemMissingVoucher() {
+        //When
+        VoucherRedemption redemption = voucherRepository.redeemByCode(UUID.fromString("00000000-0000-4000-8000-000000000000"), LocalDate.now());
+
+        //Then
+        assertThat(redemption.getOutcome(), is(equalTo(RedemptionOutcome.NOT_FOUND)));
+    }
+
+    @Test
+    @DisplayName("Batch redeem reports every found voucher by id or code and skips missing ones")
+    public void redeemAllVouchers() {
+        //When
+        List<VoucherRedemption> redemptions = voucherRepository.redeemAll(List.of(batchIssued.getId(), -1L),
+            List.of(batchRedeemed.getCode(), batchExpired.getCode(), batchIssued.getCode()), LocalDate.now());
+
+        //Then
+        Map<Long, RedemptionOutcome> outcomes = new HashMap<>();
+        redemptions.forEach(redemption -> outcomes.put(redemption.getId(), redemption.getOutcome()));
+        assertThat(redemptions.size(), is(equalTo(3)));
+        assertThat(outcomes.get(batchIssued.getId()), is(equalTo(RedemptionOutcome.REDEEMED)));
+        assertThat(outcomes.get(batchRedeemed.getId()), is(equalTo(RedemptionOutcome.ALREADY_REDEEMED)));
+        assertThat(outcomes.get(batchExpired.getId()), is(equalTo(RedemptionOutcome.EXPIRED)));
+        assertThat(voucherRepository.redeemById(batchIssued.getId(), LocalDate.now()).getOutcome(), is(equalTo(RedemptionOutcome.ALREADY_REDEEMED)));
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import io.github.elenaaltuhova.vouchersystem.model.Campaign;
+import io.github.elenaaltuhova.vouchersystem.model.ExportedVoucher;
+import io.github.elenaaltuhova.vouchersystem.model.IssuedVoucher;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class VoucherExportRepositoryTest extends BaseRepositoryClass {
+    private static final int VOUCHERS = 2500;
+
+    @Autowired
+    private VoucherRepository voucherRepository;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    private Campaign campaign;
+    private List<IssuedVoucher> issued;
+
+    @BeforeAll
+    public void setupDB() {
+        campaign = campaignRepository.save(new Campaign(null, "Export Campaign", LocalDate.parse("2023-01-01"), null));
+        List<UUID> codes = new ArrayList<>();
+        for (int i = 0; i < VOUCHERS; i++) {
+            codes.add(UUID.randomUUID());
+        }
+        issued = voucherRepository.insertIssuedVouchers(campaign.getId(), codes);
+    }
+
+    @Test
+    @DisplayName("Export every voucher of a campaign in id order across several fetches")
+    public void exportVouchers() {
+        //Given
+        List<ExportedVoucher> exported = new ArrayList<>();
+        List<ExportedVoucher> expected = new ArrayList<>();
+        issued.forEach(voucher -> expected.add(new ExportedVoucher(voucher.getId(), voucher.getCode(), VoucherStatus.ISSUED)));
+
+        //When
+        long count = voucherRepository.exportVouchers(campaign.getId(), exported::add);
+
+        //Then
+        assertThat(count, is(equalTo((long) VOUCHERS)));
+        assertThat(exported, is(equalTo(expected)));
+    }
+
+    @Test
+    @DisplayName("Export nothing for a campaign without vouchers")
+    public void exportVouchersOfEmptyCampaign() {
+        //Given
+        Campaign emptyCampaign = campaignRepository.save(new Campaign(null, "Empty Export Campaign", LocalDate.parse("2023-01-01"), null));
+        List<ExportedVoucher> exported = new ArrayList<>();
+
+        //When
+        long count = voucherRepository.exportVouchers(emptyCampaign.getId(), exported::add);
+
+        //Then
+        assertThat(count, is(equalTo(0L)));
+        assertThat(exported.isEmpty(), is(equalTo(true)));
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherJobStatus;
+import io.github.elenaaltuhova.vouchersystem.model.Campaign;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherJob;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class VoucherJobRepositoryTest extends BaseRepositoryClass {
+    private static final LocalDateTime START = LocalDateTime.parse("2023-08-01T10:00:00");
+
+    @Autowired
+    private VoucherJobRepository voucherJobRepository;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    private Campaign campaign;
+
+    @BeforeAll
+    public void setupDB() {
+        campaign = campaignRepository.save(new Campaign(null, "Voucher Job Campaign", LocalDate.parse("2023-01-01"), null));
+    }
+
+    @Test
+    @DisplayName("A queued job is claimed by one owner only")
+    public void queuedJobIsClaimedOnce() {
+        //Given
+        VoucherJob job = saveJob(VoucherJobStatus.QUEUED, null, START);
+
+        //When
+        int first = voucherJobRepository.claim(job.getId(), "instance-a", START.plusSeconds(1), START.minusMinutes(1));
+        int second = voucherJobRepository.claim(job.getId(), "instance-b", START.plusSeconds(2), START.minusMinutes(1));
+
+        //Then
+        VoucherJob claimed = voucherJobRepository.findById(job.getId()).orElseThrow();
+        assertThat(first, is(equalTo(1)));
+        assertThat(second, is(equalTo(0)));
+        assertThat(claimed.getStatus(), is(equalTo(VoucherJobStatus.RUNNING)));
+        assertThat(claimed.getOwner(), is(equalTo("instance-a")));
+    }
+
+    @Test
+    @DisplayName("A running job without a heartbeat is taken over and its old owner can no longer write progress")
+    public void staleJobIsTakenOver() {
+        //Given
+        VoucherJob job = saveJob(VoucherJobStatus.RUNNING, "instance-a", START);
+
+        //When
+        int fresh = voucherJobRepository.claim(job.getId(), "instance-b", START.plusSeconds(30), START.minusSeconds(30));
+        int stale = voucherJobRepository.claim(job.getId(), "instance-b", START.plusMinutes(2), START.plusMinutes(1));
+        int oldOwnerProgress = voucherJobRepository.addProgress(job.getId(), "instance-a", 10, START.plusMinutes(2));
+        int newOwnerProgress = voucherJobRepository.addProgress(job.getId(), "instance-b", 10, START.plusMinutes(2));
+        int oldOwnerStatus = voucherJobRepository.updateStatusByIdAndOwner(job.getId(), "instance-a", VoucherJobStatus.FAILED,
+            "stopped", START.plusMinutes(2));
+
+        //Then
+        VoucherJob takenOver = voucherJobRepository.findById(job.getId()).orElseThrow();
+        assertThat(fresh, is(equalTo(0)));
+        assertThat(stale, is(equalTo(1)));
+        assertThat(oldOwnerProgress, is(equalTo(0)));
+        assertThat(newOwnerProgress, is(equalTo(1)));
+        assertThat(oldOwnerStatus, is(equalTo(0)));
+        assertThat(takenOver.getOwner(), is(equalTo("instance-b")));
+        assertThat(takenOver.getStatus(), is(equalTo(VoucherJobStatus.RUNNING)));
+        assertThat(takenOver.getCreated(), is(equalTo(10L)));
+    }
+
+    @Test
+    @DisplayName("A heartbeat keeps a running job from being taken over and finished jobs are never claimed")
+    public void heartbeatKeepsJobAlive() {
+        //Given
+        VoucherJob running = saveJob(VoucherJobStatus.RUNNING, "instance-a", START);
+        VoucherJob completed = saveJob(VoucherJobStatus.COMPLETED, "instance-a", START);
+
+        //When
+        int beaten = voucherJobRepository.heartbeat(Set.of(running.getId(), completed.getId()), "instance-a", START.plusMinutes(2));
+        List<VoucherJob> stale = voucherJobRepository.findByStatusInAndUpdatedAtBeforeOrderById(
+            EnumSet.of(VoucherJobStatus.QUEUED, VoucherJobStatus.RUNNING), START.plusMinutes(1));
+        int claimedRunning = voucherJobRepository.claim(running.getId(), "instance-b", START.plusMinutes(2), START.plusMinutes(1));
+        int claimedCompleted = voucherJobRepository.claim(completed.getId(), "instance-b", START.plusMinutes(2), START.plusMinutes(1));
+
+        //Then
+        assertThat(beaten, is(equalTo(1)));
+        assertThat(stale.stream().anyMatch(job -> job.getId().equals(running.getId())), is(false));
+        assertThat(claimedRunning, is(equalTo(0)));
+        assertThat(claimedCompleted, is(equalTo(0)));
+    }
+
+    private VoucherJob saveJob(VoucherJobStatus status, String owner, LocalDateTime updatedAt) {
+        return voucherJobRepository.saveAndFlush(
+            new VoucherJob(null, campaign.getId(), 100L, 0L, status, null, owner, START, updatedAt));
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.elenaaltuhova.vouchersystem.repository;
+
+import io.github.elenaaltuhova.vouchersystem.config.SqlStatsConfig;
+import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
+import io.github.elenaaltuhova.vouchersystem.metrics.SqlStatsListener;
+import io.github.elenaaltuhova.vouchersystem.model.Campaign;
+import io.github.elenaaltuhova.vouchersystem.model.Voucher;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Asserts how many SQL statements the voucher repository calls issue. Counts are the H2 ones.
+ */
+@Import(SqlStatsConfig.class)
+public class VoucherRepositoryQueryBudgetTest extends BaseRepositoryClass {
+    private static final UUID CHECK_CODE = UUID.fromString("0f7e1c52-7f3d-4c1e-9a9b-3d2c1b0a9f8e");
+    private static final UUID REDEEM_CODE = UUID.fromString("6a5b4c3d-2e1f-4a0b-8c7d-6e5f4a3b2c1d");
+
+    @Autowired
+    private VoucherRepository voucherRepository;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    private Campaign campaign;
+
+    @BeforeAll
+    public void setupDB() {
+        campaign = campaignRepository.save(new Campaign(null, "Query Budget Campaign", LocalDate.parse("2023-01-01"), null));
+        voucherRepository.save(new Voucher(null, CHECK_CODE, campaign, VoucherStatus.ISSUED));
+        voucherRepository.save(new Voucher(null, REDEEM_CODE, campaign, VoucherStatus.ISSUED));
+    }
+
+    @BeforeEach
+    public void resetStats() {
+        SqlStatsListener.reset();
+    }
+
+    @Test
+    @DisplayName("Reading a voucher check view issues one statement")
+    public void findCheckViewByCodeIssuesOneStatement() {
+        //When
+        voucherRepository.findCheckViewByCode(CHECK_CODE);
+
+        //Then
+        assertThat(SqlStatsListener.current().getCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    @DisplayName("Redeeming a voucher by code issues the conditional update and one read")
+    public void redeemByCodeIssuesTwoStatements() {
+        //When
+        voucherRepository.redeemByCode(REDEEM_CODE, LocalDate.now());
+
+        //Then
+        assertThat(SqlStatsListener.current().getCount(), is(equalTo(2L)));
+    }
+
+    @Test
+    @DisplayName("Claiming a voucher issues one read and one update")
+    public void claimIssuedVoucherIssuesTwoStatements() {
+        //When
+        voucherRepository.claimIssuedVoucher(campaign.getId());
+
+        //Then
+        assertThat(SqlStatsListener.current().getCount(), is(equalTo(2L)));
+    }
+
+    @Test
+    @DisplayName("Inserting a chunk of vouchers issues one statement")
+    public void insertIssuedVouchersIssuesOneStatement() {
+        //Given
+        List<UUID> codes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            codes.add(UUID.randomUUID());
+        }
+
+        //When
+        voucherRepository.insertIssuedVouchers(campaign.getId(), codes);
+
+        //Then
+        assertThat(SqlStatsListener.current().getCount(), is(equalTo(1L)));
+        assertThat(SqlStatsListener.current().getSlowestSql().startsWith("SELECT id, code FROM FINAL TABLE"), is(equalTo(true)));
+    }
+}
@@ -1,9 +1,10 @@
 package io.github.elenaaltuhova.vouchersystem.repository;
 
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
 import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
 import io.github.elenaaltuhova.vouchersystem.model.Campaign;
-import io.github.elenaaltuhova.vouchersystem.model.Status;
 import io.github.elenaaltuhova.vouchersystem.model.Voucher;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherCheckView;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,24 +26,17 @@ public class VoucherRepositoryTest extends BaseRepositoryClass{
     @Autowired
     private VoucherRepository voucherRepository;
 
-    @Autowired
-    private StatusRepository statusRepository;
-
     @Autowired
     private CampaignRepository campaignRepository;
 
     @BeforeAll
     public void setupDB(){
-        Campaign campaign = new Campaign(1L, "Test Campaign", LocalDate.parse("2023-01-01"), null);
-        campaignRepository.save(campaign);
-        List<Status> statusList = new ArrayList<>();
-        statusList.add(new Status(1L, VoucherStatus.ISSUED));
-        statusList.add(new Status(2L, VoucherStatus.REDEEMED));
-        statusRepository.saveAll(statusList);
+        long version = campaignRepository.findById(1L).map(Campaign::getVersion).orElse(0L);
+        Campaign campaign = campaignRepository.save(new Campaign(1L, "Test Campaign", LocalDate.parse("2023-01-01"), null, version, CodeGeneratorType.RANDOM));
         List<Voucher> voucherList = new ArrayList<>();
-        voucherList.add(new Voucher(1L, UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1"), campaign, new Status(1L, VoucherStatus.ISSUED)));
-        voucherList.add(new Voucher(2L, UUID.fromString("4ada2f1c-c129-44a2-b85c-6ad71fb0614e"), campaign, new Status(1L, VoucherStatus.ISSUED)));
-        voucherList.add(new Voucher(3L, UUID.fromString("77b760ec-5396-4e6e-878d-4dea79331f4a"), campaign, new Status(1L, VoucherStatus.ISSUED)));
+        voucherList.add(new Voucher(1L, UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1"), campaign, VoucherStatus.ISSUED));
+        voucherList.add(new Voucher(2L, UUID.fromString("4ada2f1c-c129-44a2-b85c-6ad71fb0614e"), campaign, VoucherStatus.ISSUED));
+        voucherList.add(new Voucher(3L, UUID.fromString("77b760ec-5396-4e6e-878d-4dea79331f4a"), campaign, VoucherStatus.ISSUED));
         voucherRepository.saveAll(voucherList);
     }
 
@@ -50,7 +45,7 @@ public class VoucherRepositoryTest extends BaseRepositoryClass{
     public void findByCodeShouldReturnVoucher() {
         //Given
         Campaign campaign = new Campaign(1L, "Test Campaign", LocalDate.parse("2023-01-01"), null);
-        Status status = new Status(1L, VoucherStatus.ISSUED);
+        VoucherStatus status = VoucherStatus.ISSUED;
         Voucher expectedVoucher = new Voucher(1L, UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1"), campaign, status);
 
         //When
@@ -75,7 +70,7 @@ public class VoucherRepositoryTest extends BaseRepositoryClass{
     @DisplayName("Successfully update voucher status")
     public void updateVoucherStatus() {
         //Given
-        Status status = new Status(2L, VoucherStatus.REDEEMED);
+        VoucherStatus status = VoucherStatus.REDEEMED;
 
         //When
         voucherRepository.updateStatusById(2L, status);
@@ -83,14 +78,14 @@ public class VoucherRepositoryTest extends BaseRepositoryClass{
 
         //Then
         assertThat(voucher, notNullValue());
-        assertThat(voucher.get().getStatus().getStatusName(), is(equalTo(VoucherStatus.REDEEMED)));
+        assertThat(voucher.get().getStatus(), is(equalTo(VoucherStatus.REDEEMED)));
     }
 
     @Test
     @DisplayName("Find first voucher by campaign and status")
     public void findVoucherByCampaignAndStatus() {
         //Given
-        Status status = new Status(1L, VoucherStatus.ISSUED);
+        VoucherStatus status = VoucherStatus.ISSUED;
         Campaign campaign = new Campaign(1L, "Test Campaign", LocalDate.parse("2023-01-01"), null);
 
         //When
@@ -98,7 +93,41 @@ public class VoucherRepositoryTest extends BaseRepositoryClass{
 
         //Then
         assertThat(voucher, notNullValue());
-        assertThat(voucher.get().getStatus().getStatusName(), is(equalTo(VoucherStatus.ISSUED)));
+        assertThat(voucher.get().getStatus(), is(equalTo(VoucherStatus.ISSUED)));
         assertThat(voucher.get().getCode(), is(equalTo(UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1"))));
     }
+
+    @Test
+    @DisplayName("Read a voucher together with its campaign by code")
+    public void findCheckViewByCode() {
+        //When
+        Optional<VoucherCheckView> view = voucherRepository.findCheckViewByCode(UUID.fromString("77b760ec-5396-4e6e-878d-4dea79331f4a"));
+
+        //Then
+        assertThat(view.get().getId(), is(equalTo(3L)));
+        assertThat(view.get().getCampaignId(), is(equalTo(1L)));
+        assertThat(view.get().getStatus(), is(equalTo(VoucherStatus.ISSUED)));
+        assertThat(view.get().getCampaignTitle(), is(equalTo("Test Campaign")));
+        assertThat(view.get().getStartDate(), is(equalTo(LocalDate.parse("2023-01-01"))));
+        assertThat(view.get().getCodeGenerator(), is(equalTo(CodeGeneratorType.RANDOM)));
+    }
+
+    @Test
+    @DisplayName("Read several vouchers together with their campaigns by code in one query")
+    public void findCheckViewsByCodes() {
+        //Given
+        UUID first = UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1");
+        UUID third = UUID.fromString("77b760ec-5396-4e6e-878d-4dea79331f4a");
+
+        //When
+        Map<UUID, VoucherCheckView> views = voucherRepository.findCheckViewsByCodes(
+            List.of(first, third, UUID.fromString("00000000-0000-4000-8000-000000000000")));
+
+        //Then
+        assertThat(views.size(), is(equalTo(2)));
+        assertThat(views.get(first).getId(), is(equalTo(1L)));
+        assertThat(views.get(third).getId(), is(equalTo(3L)));
+        assertThat(views.get(third).getCampaignTitle(), is(equalTo("Test Campaign")));
+        assertThat(views.get(third).getStatus(), is(equalTo(VoucherStatus.ISSUED)));
+    }
 }
@@ -1,16 +1,17 @@
 package io.github.elenaaltuhova.vouchersystem.service;
 
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignCache;
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignSendLimiter;
 import io.github.elenaaltuhova.vouchersystem.dto.CampaignDTO;
 import io.github.elenaaltuhova.vouchersystem.dto.CampaignResponseDTO;
 import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
-import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
 import io.github.elenaaltuhova.vouchersystem.exception.CampaignAlreadyExistsException;
 import io.github.elenaaltuhova.vouchersystem.exception.VoucherCreationLimitException;
 import io.github.elenaaltuhova.vouchersystem.model.Campaign;
-import io.github.elenaaltuhova.vouchersystem.model.Status;
-import io.github.elenaaltuhova.vouchersystem.model.Voucher;
+import io.github.elenaaltuhova.vouchersystem.model.IssuedVoucher;
 import io.github.elenaaltuhova.vouchersystem.repository.CampaignRepository;
 import io.github.elenaaltuhova.vouchersystem.repository.VoucherRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.BDDMockito;
@@ -22,6 +23,7 @@ import org.springframework.boot.test.mock.mockito.MockitoTestExecutionListener;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestExecutionListeners;
 import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -49,6 +51,24 @@ public class CampaignServiceTest {
     @MockBean
     private VoucherRepository voucherRepository;
 
+    @Autowired
+    private CampaignCache campaignCache;
+
+    @Autowired
+    private CampaignSendLimiter campaignSendLimiter;
+
+    @Autowired
+    private VoucherBulkInsertService voucherBulkInsertService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void clearCache() {
+        campaignCache.clear();
+        campaignSendLimiter.clear();
+    }
+
     @Test
     @DisplayName("Successfully create a campaign")
     public void createCampaign() throws CampaignAlreadyExistsException {
@@ -127,7 +147,7 @@ public class CampaignServiceTest {
         BDDMockito.given(campaignRepository.findById(1L))
             .willReturn(Optional.of(getMockValidCampaign()));
 
-        BDDMockito.given(voucherRepository.saveAll(Mockito.anyList()))
+        BDDMockito.given(voucherRepository.insertIssuedVouchers(Mockito.anyLong(), Mockito.anyList()))
             .willReturn(getMockGeneratedVouchers());
 
         //When
@@ -136,6 +156,36 @@ public class CampaignServiceTest {
         //Then
         assertThat(voucherResponseDTOS.isEmpty(), is(false));
         assertThat(voucherResponseDTOS.size(), is(3));
+        assertThat(voucherResponseDTOS.get(0).getStatus(), is(equalTo("ISSUED")));
+        assertThat(voucherResponseDTOS.get(0).getCampaignName(), is(equalTo("Test Campaign")));
+    }
+
+    @Test
+    @DisplayName("A campaign is restocked only once the transaction that inserted its vouchers commits")
+    public void campaignIsRestockedAfterCommit() {
+        //Given
+        BDDMockito.given(campaignRepository.findById(1L))
+            .willReturn(Optional.of(getMockValidCampaign()));
+        BDDMockito.given(voucherRepository.insertIssuedVouchers(Mockito.anyLong(), Mockito.anyList()))
+            .willReturn(getMockGeneratedVouchers());
+        campaignSendLimiter.markExhausted(1L);
+        campaignSendLimiter.markExhausted(2L);
+        boolean[] exhaustedBeforeCommit = new boolean[1];
+
+        //When
+        transactionTemplate.executeWithoutResult(status -> {
+            voucherBulkInsertService.insert(1L, 3, vouchers -> { });
+            exhaustedBeforeCommit[0] = campaignSendLimiter.isExhausted(1L);
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            voucherBulkInsertService.insert(2L, 3, vouchers -> { });
+            status.setRollbackOnly();
+        });
+
+        //Then
+        assertThat(exhaustedBeforeCommit[0], is(true));
+        assertThat(campaignSendLimiter.isExhausted(1L), is(false));
+        assertThat(campaignSendLimiter.isExhausted(2L), is(true));
     }
 
     @Test
@@ -145,7 +195,7 @@ public class CampaignServiceTest {
         BDDMockito.given(campaignRepository.findById(1L))
             .willReturn(Optional.of(getMockValidCampaign()));
 
-        BDDMockito.given(voucherRepository.saveAll(Mockito.anyList()))
+        BDDMockito.given(voucherRepository.insertIssuedVouchers(Mockito.anyLong(), Mockito.anyList()))
             .willReturn(getMockGeneratedVouchers());
 
         //When
@@ -164,7 +214,7 @@ public class CampaignServiceTest {
         BDDMockito.given(campaignRepository.findById(2L))
             .willReturn(Optional.ofNullable(null));
 
-        BDDMockito.given(voucherRepository.saveAll(Mockito.anyList()))
+        BDDMockito.given(voucherRepository.insertIssuedVouchers(Mockito.anyLong(), Mockito.anyList()))
             .willReturn(getMockGeneratedVouchers());
 
         //When
@@ -184,13 +234,12 @@ public class CampaignServiceTest {
         return new Campaign(2L, "Test Campaign 2", LocalDate.parse("2023-05-01"), null);
     }
 
-    private List<Voucher> getMockGeneratedVouchers() {
-        List<Voucher> vouchers = new ArrayList<>();
-        Campaign campaign = new Campaign(1L, "Test Campaign", LocalDate.parse("2023-01-01"), null);
+    private List<IssuedVoucher> getMockGeneratedVouchers() {
+        List<IssuedVoucher> vouchers = new ArrayList<>();
 
-        vouchers.add(new Voucher(1L, UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1"), campaign, new Status(1L, VoucherStatus.ISSUED)));
-        vouchers.add(new Voucher(2L, UUID.fromString("4ada2f1c-c129-44a2-b85c-6ad71fb0614e"), campaign, new Status(1L, VoucherStatus.ISSUED)));
-        vouchers.add(new Voucher(3L, UUID.fromString("77b760ec-5396-4e6e-878d-4dea79331f4a"), campaign, new Status(1L, VoucherStatus.ISSUED)));
+        vouchers.add(new IssuedVoucher(1L, UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1")));
+        vouchers.add(new IssuedVoucher(2L, UUID.fromString("4ada2f1c-c129-44a2-b85c-6ad71fb0614e")));
+        vouchers.add(new IssuedVoucher(3L, UUID.fromString("77b760ec-5396-4e6e-878d-4dea79331f4a")));
 
         return vouchers;
     }
@@ -1,18 +1,30 @@
 package io.github.elenaaltuhova.vouchersystem.service;
 
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignCache;
+import io.github.elenaaltuhova.vouchersystem.cache.CampaignSendLimiter;
+import io.github.elenaaltuhova.vouchersystem.cache.VoucherCheckCache;
+import io.github.elenaaltuhova.vouchersystem.cache.VoucherCodeFilter;
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherCheckResultDTO;
+import io.github.elenaaltuhova.vouchersystem.dto.VoucherRedemptionDTO;
 import io.github.elenaaltuhova.vouchersystem.dto.VoucherResponseDTO;
+import io.github.elenaaltuhova.vouchersystem.enums.CodeGeneratorType;
+import io.github.elenaaltuhova.vouchersystem.enums.RedemptionOutcome;
 import io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus;
 import io.github.elenaaltuhova.vouchersystem.exception.CampaignExpiredException;
 import io.github.elenaaltuhova.vouchersystem.exception.NoValidVouchersAvailableException;
 import io.github.elenaaltuhova.vouchersystem.exception.VoucherAlreadyRedeemedException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherBatchLimitException;
 import io.github.elenaaltuhova.vouchersystem.exception.VoucherExpiredException;
 import io.github.elenaaltuhova.vouchersystem.exception.VoucherNotValidException;
+import io.github.elenaaltuhova.vouchersystem.exception.VoucherSendThrottledException;
+import io.github.elenaaltuhova.vouchersystem.generator.SignedVoucherCodes;
 import io.github.elenaaltuhova.vouchersystem.model.Campaign;
-import io.github.elenaaltuhova.vouchersystem.model.Status;
-import io.github.elenaaltuhova.vouchersystem.model.Voucher;
+import io.github.elenaaltuhova.vouchersystem.model.ClaimedVoucher;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherCheckView;
+import io.github.elenaaltuhova.vouchersystem.model.VoucherRedemption;
 import io.github.elenaaltuhova.vouchersystem.repository.CampaignRepository;
-import io.github.elenaaltuhova.vouchersystem.repository.StatusRepository;
 import io.github.elenaaltuhova.vouchersystem.repository.VoucherRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -28,13 +40,16 @@ import org.springframework.test.context.TestExecutionListeners;
 import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.LongStream;
 
 import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.ISSUED;
 import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.REDEEMED;
-import static io.github.elenaaltuhova.vouchersystem.enums.VoucherStatus.SENT;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -54,18 +69,40 @@ public class VoucherServiceTest {
     @MockBean
     private CampaignRepository campaignRepository;
 
+    @Autowired
+    private VoucherCheckCache voucherCheckCache;
+
+    @Autowired
+    private CampaignCache campaignCache;
+
+    @Autowired
+    private CampaignSendLimiter campaignSendLimiter;
+
     @MockBean
-    private StatusRepository statusRepository;
+    private VoucherCodeFilter voucherCodeFilter;
+
+    @Autowired
+    private SignedVoucherCodes signedVoucherCodes;
+
+    @BeforeEach
+    public void clearCache() {
+        voucherCheckCache.clear();
+        campaignCache.clear();
+        campaignSendLimiter.clear();
+        Mockito.clearInvocations(voucherRepository, campaignRepository);
+        BDDMockito.given(voucherCodeFilter.mightContain(Mockito.any(UUID.class)))
+            .willReturn(true);
+    }
 
     @DisplayName("Check a valid voucher")
     @ParameterizedTest
     @ValueSource(strings = {"aafefde5-d7cf-474f-90c9-6957958456a1", "191e1f74-8c48-4099-9a49-717e8e5cf015"})
     public void checkAValidVoucher(String code) throws VoucherNotValidException, VoucherAlreadyRedeemedException, VoucherExpiredException {
         //Given
-        BDDMockito.given(voucherRepository.findByCode(UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1")))
-            .willReturn(getMockValidVoucherWithStatus(ISSUED));
-        BDDMockito.given(voucherRepository.findByCode(UUID.fromString("191e1f74-8c48-4099-9a49-717e8e5cf015")))
-            .willReturn(getMockValidVoucherWithEndDate());
+        BDDMockito.given(voucherRepository.findCheckViewByCode(UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1")))
+            .willReturn(Optional.of(getMockValidVoucherWithStatus(ISSUED)));
+        BDDMockito.given(voucherRepository.findCheckViewByCode(UUID.fromString("191e1f74-8c48-4099-9a49-717e8e5cf015")))
+            .willReturn(Optional.of(getMockValidVoucherWithEndDate()));
 
         //When
         VoucherResponseDTO voucherResponseDTO = voucherService.check(code);
@@ -82,8 +119,8 @@ public class VoucherServiceTest {
     @DisplayName("Check an expired voucher")
     public void checkExpiredCampaignVoucher() {
         //Given
-        BDDMockito.given(voucherRepository.findByCode(UUID.fromString("4ada2f1c-c129-44a2-b85c-6ad71fb0614e")))
-            .willReturn(getMockExpiredVoucher());
+        BDDMockito.given(voucherRepository.findCheckViewByCode(UUID.fromString("4ada2f1c-c129-44a2-b85c-6ad71fb0614e")))
+            .willReturn(Optional.of(getMockExpiredVoucher()));
 
         //When
         Exception exception = assertThrows(VoucherExpiredException.class, () -> {
@@ -98,8 +135,24 @@ public class VoucherServiceTest {
     @DisplayName("Check non existing voucher")
     public void checkNonExistingVoucher() {
         //Given
-        BDDMockito.given(voucherRepository.findByCode(UUID.fromString("d490e225-8271-4093-a047-1598ee6b4c1b")))
-            .willReturn(null);
+        BDDMockito.given(voucherRepository.findCheckViewByCode(UUID.fromString("d490e225-8271-4093-a047-1598ee6b4c1b")))
+            .willReturn(Optional.empty());
+
+        //When
+        Exception exception = assertThrows(VoucherNotValidException.class, () -> {
+            voucherService.check("d490e225-8271-4093-a047-1598ee6b4c1b");
+        });
+
+        //Then
+        assertThat(exception.getMessage(), is(equalTo("Voucher not valid.")));
+    }
+
+    @Test
+    @DisplayName("Reject a code unknown to the code filter without reading it")
+    public void checkCodeRejectedByFilter() {
+        //Given
+        BDDMockito.given(voucherCodeFilter.mightContain(UUID.fromString("d490e225-8271-4093-a047-1598ee6b4c1b")))
+            .willReturn(false);
 
         //When
         Exception exception = assertThrows(VoucherNotValidException.class, () -> {
@@ -108,14 +161,68 @@ public class VoucherServiceTest {
 
         //Then
         assertThat(exception.getMessage(), is(equalTo("Voucher not valid.")));
+        Mockito.verify(voucherRepository, Mockito.never()).findCheckViewByCode(Mockito.any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("Check a valid signed voucher")
+    public void checkValidSignedVoucher() throws VoucherNotValidException, VoucherAlreadyRedeemedException, VoucherExpiredException {
+        //Given
+        UUID code = signedVoucherCodes.sign(1L, 42L);
+        BDDMockito.given(campaignRepository.findById(1L))
+            .willReturn(Optional.of(new Campaign(1L, "Test Campaign", LocalDate.parse("2023-01-01"), null)));
+        BDDMockito.given(voucherRepository.findCheckViewByCode(code))
+            .willReturn(Optional.of(getMockValidVoucherWithStatus(ISSUED)));
+
+        //When
+        VoucherResponseDTO voucherResponseDTO = voucherService.check(code.toString());
+
+        //Then
+        assertThat(voucherResponseDTO.getCode(), is(equalTo(code.toString())));
+        assertThat(voucherResponseDTO.getStatus(), is(equalTo("ISSUED")));
+    }
+
+    @Test
+    @DisplayName("Reject a forged signed voucher without reading anything")
+    public void checkForgedSignedVoucher() {
+        //Given
+        UUID signed = signedVoucherCodes.sign(1L, 42L);
+        UUID forged = new UUID(signed.getMostSignificantBits(), signed.getLeastSignificantBits() ^ 1);
+
+        //When
+        Exception exception = assertThrows(VoucherNotValidException.class, () -> {
+            voucherService.check(forged.toString());
+        });
+
+        //Then
+        assertThat(exception.getMessage(), is(equalTo("Voucher not valid.")));
+        Mockito.verifyNoInteractions(voucherRepository, campaignRepository);
+    }
+
+    @Test
+    @DisplayName("Reject a signed voucher of an expired campaign without reading the voucher")
+    public void checkSignedVoucherOfExpiredCampaign() {
+        //Given
+        UUID code = signedVoucherCodes.sign(2L, 42L);
+        BDDMockito.given(campaignRepository.findById(2L))
+            .willReturn(Optional.of(new Campaign(2L, "Expired Test Campaign", LocalDate.parse("2023-01-01"), LocalDate.parse("2023-01-02"))));
+
+        //When
+        Exception exception = assertThrows(VoucherExpiredException.class, () -> {
+            voucherService.check(code.toString());
+        });
+
+        //Then
+        assertThat(exception.getMessage(), is(equalTo("Voucher is expired.")));
+        Mockito.verify(voucherRepository, Mockito.never()).findCheckViewByCode(Mockito.any(UUID.class));
     }
 
     @Test
     @DisplayName("Check redeemed voucher")
     public void checkRedeemedVoucher() {
         //Given
-        BDDMockito.given(voucherRepository.findByCode(UUID.fromString("000bbf73-0e4d-4e09-aaea-81c41f019fbd")))
-            .willReturn(getMockValidVoucherWithStatus(REDEEMED));
+        BDDMockito.given(voucherRepository.findCheckViewByCode(UUID.fromString("000bbf73-0e4d-4e09-aaea-81c41f019fbd")))
+            .willReturn(Optional.of(getMockValidVoucherWithStatus(REDEEMED)));
 
         //When
         Exception exception = assertThrows(VoucherAlreadyRedeemedException.class, () -> {
@@ -130,8 +237,8 @@ public class VoucherServiceTest {
     @DisplayName("Check voucher for not yet started campaign")
     public void checkVoucherForCampaignTatHasNotStarted() {
         //Given
-        BDDMockito.given(voucherRepository.findByCode(UUID.fromString("72c72023-849b-4fe2-9731-bcb286ae405d")))
-            .willReturn(getMockNotStartedVoucher());
+        BDDMockito.given(voucherRepository.findCheckViewByCode(UUID.fromString("72c72023-849b-4fe2-9731-bcb286ae405d")))
+            .willReturn(Optional.of(getMockNotStartedVoucher()));
 
         //When
         Exception exception = assertThrows(VoucherNotValidException.class, () -> {
@@ -142,13 +249,75 @@ public class VoucherServiceTest {
         assertThat(exception.getMessage(), is(equalTo("Voucher not valid.")));
     }
 
+    @Test
+    @DisplayName("Check a cached voucher without reading the voucher again")
+    public void checkCachedVoucher() throws VoucherNotValidException, VoucherAlreadyRedeemedException, VoucherExpiredException {
+        //Given
+        UUID code = UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1");
+        BDDMockito.given(voucherRepository.findCheckViewByCode(code))
+            .willReturn(Optional.of(getMockValidVoucherWithStatus(ISSUED)));
+        voucherService.check(code.toString());
+
+        //When
+        VoucherResponseDTO voucherResponseDTO = voucherService.check(code.toString());
+
+        //Then
+        Mockito.verify(voucherRepository, Mockito.times(1)).findCheckViewByCode(code);
+        assertThat(voucherResponseDTO.getCode(), is(equalTo(code.toString())));
+        assertThat(voucherResponseDTO.getCampaignName(), is(equalTo("Test Campaign")));
+        assertThat(voucherResponseDTO.getStatus(), is(equalTo("ISSUED")));
+        Mockito.verify(campaignRepository, Mockito.never()).findById(Mockito.anyLong());
+        assertThat(voucherCheckCache.stats().getHits(), is(equalTo(1L)));
+    }
+
+    @Test
+    @DisplayName("A check that read the voucher before a concurrent redeem does not cache the old state")
+    public void checkRacingRedeemDoesNotCacheStaleState() throws VoucherNotValidException, VoucherAlreadyRedeemedException, VoucherExpiredException {
+        //Given
+        UUID code = UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1");
+        BDDMockito.given(voucherRepository.findCheckViewByCode(code))
+            .willAnswer(invocation -> {
+                voucherCheckCache.invalidate(code);
+                return Optional.of(getMockValidVoucherWithStatus(ISSUED));
+            })
+            .willReturn(Optional.of(getMockValidVoucherWithStatus(REDEEMED)));
+
+        //When
+        VoucherResponseDTO raced = voucherService.check(code.toString());
+        Exception exception = assertThrows(VoucherAlreadyRedeemedException.class, () -> voucherService.check(code.toString()));
+
+        //Then
+        assertThat(raced.getStatus(), is(equalTo("ISSUED")));
+        assertThat(exception.getMessage(), is(equalTo("Voucher is already redeemed.")));
+        Mockito.verify(voucherRepository, Mockito.times(2)).findCheckViewByCode(code);
+    }
+
+    @Test
+    @DisplayName("Redeem drops the voucher from the check cache")
+    public void redeemInvalidatesCachedVoucher() throws VoucherNotValidException, VoucherAlreadyRedeemedException, VoucherExpiredException {
+        //Given
+        BDDMockito.given(voucherRepository.findCheckViewByCode(UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1")))
+            .willReturn(Optional.of(getMockValidVoucherWithStatus(ISSUED)), Optional.of(getMockValidVoucherWithStatus(REDEEMED)));
+        BDDMockito.given(voucherRepository.redeemByCode(Mockito.eq(UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1")), Mockito.any(LocalDate.class)))
+            .willReturn(getMockRedemption(RedemptionOutcome.REDEEMED));
+        voucherService.check("aafefde5-d7cf-474f-90c9-6957958456a1");
+
+        //When
+        voucherService.redeemByCode("aafefde5-d7cf-474f-90c9-6957958456a1");
+        Exception exception = assertThrows(VoucherAlreadyRedeemedException.class, () -> {
+            voucherService.check("aafefde5-d7cf-474f-90c9-6957958456a1");
+        });
+
+        //Then
+        assertThat(exception.getMessage(), is(equalTo("Voucher is already redeemed.")));
+    }
+
     @Test
     @DisplayName("Redeem Valid Voucher")
     public void redeemValidVoucher() throws VoucherNotValidException, VoucherAlreadyRedeemedException, VoucherExpiredException {
         //Given
-        BDDMockito.given(voucherRepository.findById((1L)))
-            .willReturn(Optional.of(getMockValidVoucherWithStatus(ISSUED)))
-            .willReturn(Optional.of(getMockValidVoucherWithStatus(REDEEMED)));
+        BDDMockito.given(voucherRepository.redeemById(Mockito.eq(1L), Mockito.any(LocalDate.class)))
+            .willReturn(getMockRedemption(RedemptionOutcome.REDEEMED));
 
         //When
        VoucherResponseDTO voucherResponseDTO = voucherService.redeem(1L);
@@ -160,22 +329,64 @@ public class VoucherServiceTest {
         assertThat(voucherResponseDTO.getId(), is(equalTo(1L)));
     }
 
+    @Test
+    @DisplayName("Redeem Valid Voucher by code")
+    public void redeemValidVoucherByCode() throws VoucherNotValidException, VoucherAlreadyRedeemedException, VoucherExpiredException {
+        //Given
+        BDDMockito.given(voucherRepository.redeemByCode(Mockito.eq(UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1")), Mockito.any(LocalDate.class)))
+            .willReturn(getMockRedemption(RedemptionOutcome.REDEEMED));
+
+        //When
+        VoucherResponseDTO voucherResponseDTO = voucherService.redeemByCode("aafefde5-d7cf-474f-90c9-6957958456a1");
+
+        //Then
+        assertThat(voucherResponseDTO, notNullValue());
+        assertThat(voucherResponseDTO.getCode(), is(equalTo("aafefde5-d7cf-474f-90c9-6957958456a1")));
+        assertThat(voucherResponseDTO.getStatus(), is(equalTo("REDEEMED")));
+    }
+
+    @Test
+    @DisplayName("Redeem already redeemed voucher")
+    public void redeemAlreadyRedeemedVoucher() {
+        //Given
+        BDDMockito.given(voucherRepository.redeemById(Mockito.eq(1L), Mockito.any(LocalDate.class)))
+            .willReturn(getMockRedemption(RedemptionOutcome.ALREADY_REDEEMED));
+
+        //When
+        Exception exception = assertThrows(VoucherAlreadyRedeemedException.class, () -> {
+            voucherService.redeem(1L);
+        });
+
+        //Then
+        assertThat(exception.getMessage(), is(equalTo("Voucher is already redeemed.")));
+    }
+
+    @Test
+    @DisplayName("Redeem non existing voucher")
+    public void redeemNonExistingVoucher() {
+        //Given
+        BDDMockito.given(voucherRepository.redeemById(Mockito.eq(2L), Mockito.any(LocalDate.class)))
+            .willReturn(VoucherRedemption.notFound());
+
+        //When
+        Exception exception = assertThrows(VoucherNotValidException.class, () -> {
+            voucherService.redeem(2L);
+        });
+
+        //Then
+        assertThat(exception.getMessage(), is(equalTo("Voucher not valid.")));
+    }
+
     @Test
     @DisplayName("Get Valid Voucher for a campaign")
-    public void getValidVoucherForCampaign() throws CampaignExpiredException, NoValidVouchersAvailableException {
+    public void getValidVoucherForCampaign() throws CampaignExpiredException, NoValidVouchersAvailableException, VoucherSendThrottledException {
         //Given
-        Status status = new Status(1L, VoucherStatus.ISSUED);
         Campaign campaign = new Campaign(1L, "Test Campaign", LocalDate.parse("2023-01-01"), null);
 
         BDDMockito.given(campaignRepository.findById((1L)))
             .willReturn(Optional.of(campaign));
-        BDDMockito.given(statusRepository.findByStatusName(ISSUED))
-            .willReturn(status);
-
-        BDDMockito.given(voucherRepository.findFirstByCampaignAndStatus(Mockito.eq(campaign), Mockito.eq(status)))
-            .willReturn(Optional.of(getMockValidVoucherWithStatus(ISSUED)));
-        BDDMockito.given(voucherRepository.findByCode(UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1")))
-            .willReturn(getMockValidVoucherWithStatus(SENT));
+        BDDMockito.given(voucherRepository.claimIssuedVoucher(1L))
+            .willReturn(Optional.of(new ClaimedVoucher(1L, UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1"))));
 
         //When
         VoucherResponseDTO voucherResponseDTO = voucherService.sendValidVoucherForACampaign(1L);
@@ -183,6 +394,7 @@ public class VoucherServiceTest {
         //Then
         assertThat(voucherResponseDTO, notNullValue());
         assertThat(voucherResponseDTO.getCampaignName(), is(equalTo("Test Campaign")));
+        assertThat(voucherResponseDTO.getCode(), is(equalTo("aafefde5-d7cf-474f-90c9-6957958456a1")));
         assertThat(voucherResponseDTO.getStatus(), is(equalTo("SENT")));
         assertThat(voucherResponseDTO.getId(), is(equalTo(1L)));
     }
@@ -191,16 +403,12 @@ public class VoucherServiceTest {
     @DisplayName("Get Valid Voucher for a campaign when no vouchers available")
     public void noValidVouchersForCampaign() {
         //Given
-        Status status = new Status(1L, VoucherStatus.ISSUED);
         Campaign campaign = new Campaign(1L, "Test Campaign", LocalDate.parse("2023-01-01"), null);
 
         BDDMockito.given(campaignRepository.findById((1L)))
             .willReturn(Optional.of(campaign));
-        BDDMockito.given(statusRepository.findByStatusName(ISSUED))
-            .willReturn(status);
-
-        BDDMockito.given(voucherRepository.findFirstByCampaignAndStatus(Mockito.eq(campaign), Mockito.eq(status)))
-            .willReturn(Optional.ofNullable(null));
+        BDDMockito.given(voucherRepository.claimIssuedVoucher(1L))
+            .willReturn(Optional.empty());
 
         //When
         Exception exception = assertThrows(NoValidVouchersAvailableException.class, () -> {
@@ -211,17 +419,33 @@ public class VoucherServiceTest {
         assertThat(exception.getMessage(), is(equalTo("There are no available vouchers available for this campaign.")));
     }
 
+    @Test
+    @DisplayName("Get Valid Voucher for an exhausted campaign without querying again until vouchers are created")
+    public void exhaustedCampaignIsNotQueriedAgain() {
+        //Given
+        Campaign campaign = new Campaign(1L, "Test Campaign", LocalDate.parse("2023-01-01"), null);
+
+        BDDMockito.given(campaignRepository.findById((1L)))
+            .willReturn(Optional.of(campaign));
+        BDDMockito.given(voucherRepository.claimIssuedVoucher(1L))
+            .willReturn(Optional.empty());
+
+        //When
+        assertThrows(NoValidVouchersAvailableException.class, () -> voucherService.sendValidVoucherForACampaign(1L));
+        assertThrows(NoValidVouchersAvailableException.class, () -> voucherService.sendValidVoucherForACampaign(1L));
+        campaignSendLimiter.markRestocked(1L);
+        assertThrows(NoValidVouchersAvailableException.class, () -> voucherService.sendValidVoucherForACampaign(1L));
+
+        //Then
+        Mockito.verify(voucherRepository, Mockito.times(2)).claimIssuedVoucher(1L);
+    }
+
     @Test
     @DisplayName("Get Valid Voucher for inexisting campaign")
     public void noValidVouchersForNonExistingCampaign() {
         //Given
-        Status status = new Status(1L, VoucherStatus.ISSUED);
-
         BDDMockito.given(campaignRepository.findById((1L)))
             .willReturn(Optional.ofNullable(null));
-        BDDMockito.given(statusRepository.findByStatusName(ISSUED))
-            .willReturn(status);
-
         //When
         Exception exception = assertThrows(NoSuchElementException.class, () -> {
             voucherService.sendValidVoucherForACampaign(1L);
@@ -235,14 +459,10 @@ public class VoucherServiceTest {
     @DisplayName("Get Valid Voucher for expired campaign")
     public void validVouchersForExpiredCampaign() {
         //Given
-        Status status = new Status(1L, VoucherStatus.ISSUED);
         Campaign campaign = new Campaign(1L, "Test Campaign", LocalDate.parse("2023-01-01"), LocalDate.parse("2023-01-02"));
 
         BDDMockito.given(campaignRepository.findById((1L)))
             .willReturn(Optional.of(campaign));
-        BDDMockito.given(statusRepository.findByStatusName(ISSUED))
-            .willReturn(status);
-
         //When
         Exception exception = assertThrows(CampaignExpiredException.class, () -> {
             voucherService.sendValidVoucherForACampaign(1L);
@@ -252,23 +472,98 @@ public class VoucherServiceTest {
         assertThat(exception.getMessage(), is(equalTo("Campaign has already expired.")));
     }
 
-    private Voucher getMockValidVoucherWithStatus(VoucherStatus status) {
-        Campaign campaign = new Campaign(1L, "Test Campaign", LocalDate.parse("2023-01-01"), null);
-        return new Voucher(1L, UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1"), campaign, new Status(1L, status));
+    private VoucherCheckView getMockValidVoucherWithStatus(VoucherStatus status) {
+        return new VoucherCheckView(1L, 1L, status, "Test Campaign", LocalDate.parse("2023-01-01"), null, 0, CodeGeneratorType.RANDOM);
+    }
+
+    @Test
+    @DisplayName("Check a batch of vouchers with a single read")
+    public void checkBatchOfVouchers() throws VoucherBatchLimitException {
+        //Given
+        UUID validCode = UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1");
+        UUID redeemedCode = UUID.fromString("000bbf73-0e4d-4e09-aaea-81c41f019fbd");
+        UUID expiredCode = UUID.fromString("4ada2f1c-c129-44a2-b85c-6ad71fb0614e");
+        BDDMockito.given(voucherRepository.findCheckViewsByCodes(Mockito.anyCollection()))
+            .willReturn(Map.of(validCode, getMockValidVoucherWithStatus(ISSUED),
+                redeemedCode, new VoucherCheckView(2L, 1L, REDEEMED, "Test Campaign", LocalDate.parse("2023-01-01"), null, 0, CodeGeneratorType.RANDOM),
+                expiredCode, new VoucherCheckView(3L, 3L, ISSUED, "Expired Campaign", LocalDate.parse("2023-01-01"), LocalDate.parse("2023-01-31"), 0, CodeGeneratorType.RANDOM)));
+
+        //When
+        List<VoucherCheckResultDTO> results = voucherService.checkBatch(List.of(validCode.toString(), redeemedCode.toString(),
+            expiredCode.toString(), "d490e225-8271-4093-a047-1598ee6b4c1b", "not-a-code"));
+
+        //Then
+        Mockito.verify(voucherRepository, Mockito.times(1)).findCheckViewsByCodes(Mockito.anyCollection());
+        Mockito.verify(voucherRepository, Mockito.never()).findCheckViewByCode(Mockito.any(UUID.class));
+        assertThat(results.size(), is(equalTo(5)));
+        assertThat(results.get(0).getOutcome(), is(equalTo("valid")));
+        assertThat(results.get(0).getStatus(), is(equalTo("ISSUED")));
+        assertThat(results.get(0).getCampaignName(), is(equalTo("Test Campaign")));
+        assertThat(results.get(1).getOutcome(), is(equalTo("already_redeemed")));
+        assertThat(results.get(2).getOutcome(), is(equalTo("expired")));
+        assertThat(results.get(3).getOutcome(), is(equalTo("not_found")));
+        assertThat(results.get(3).getId(), is(equalTo(null)));
+        assertThat(results.get(4).getCode(), is(equalTo("not-a-code")));
+        assertThat(results.get(4).getOutcome(), is(equalTo("not_found")));
+    }
+
+    @Test
+    @DisplayName("Redeem a batch of vouchers by ids and codes")
+    public void redeemBatchOfVouchers() throws VoucherBatchLimitException {
+        //Given
+        UUID expiredCode = UUID.fromString("4ada2f1c-c129-44a2-b85c-6ad71fb0614e");
+        BDDMockito.given(voucherRepository.redeemAll(Mockito.anyCollection(), Mockito.anyCollection(), Mockito.any(LocalDate.class)))
+            .willReturn(List.of(getMockRedemption(RedemptionOutcome.REDEEMED),
+                new VoucherRedemption(3L, expiredCode, 2L, "Expired Campaign", RedemptionOutcome.EXPIRED)));
+
+        //When
+        List<VoucherRedemptionDTO> redemptions = voucherService.redeemBatch(List.of(1L, 2L),
+            List.of("aafefde5-d7cf-474f-90c9-6957958456a1", expiredCode.toString(), "not-a-code"));
+
+        //Then
+        Mockito.verify(voucherRepository).redeemAll(Set.of(1L, 2L),
+            Set.of(UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1"), expiredCode), LocalDate.now());
+        assertThat(redemptions.size(), is(equalTo(5)));
+        assertThat(redemptions.get(0).getOutcome(), is(equalTo("redeemed")));
+        assertThat(redemptions.get(0).getCampaignName(), is(equalTo("Test Campaign")));
+        assertThat(redemptions.get(1).getId(), is(equalTo(2L)));
+        assertThat(redemptions.get(1).getOutcome(), is(equalTo("not_found")));
+        assertThat(redemptions.get(2).getOutcome(), is(equalTo("already_redeemed")));
+        assertThat(redemptions.get(3).getId(), is(equalTo(3L)));
+        assertThat(redemptions.get(3).getOutcome(), is(equalTo("expired")));
+        assertThat(redemptions.get(4).getCode(), is(equalTo("not-a-code")));
+        assertThat(redemptions.get(4).getOutcome(), is(equalTo("not_found")));
+    }
+
+    @Test
+    @DisplayName("Redeem a batch of vouchers over the limit")
+    public void redeemBatchOverTheLimit() {
+        //Given
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+
+        //When
+        Exception exception = assertThrows(VoucherBatchLimitException.class, () -> {
+            voucherService.redeemBatch(ids, null);
+        });
+
+        //Then
+        assertThat(exception.getMessage(), is(equalTo("Limit of vouchers redeemed at once exceeded. Should be less than 1000")));
+        Mockito.verify(voucherRepository, Mockito.never()).redeemAll(Mockito.anyCollection(), Mockito.anyCollection(), Mockito.any(LocalDate.class));
+    }
+
+        private VoucherRedemption getMockRedemption(RedemptionOutcome outcome) {
+        return new VoucherRedemption(1L, UUID.fromString("aafefde5-d7cf-474f-90c9-6957958456a1"), 1L, "Test Campaign", outcome);
     }
 
-    private Voucher getMockValidVoucherWithEndDate() {
-        Campaign campaign = new Campaign(2L, "Test Campaign", LocalDate.parse("2023-01-01"), LocalDate.parse("2025-01-01"));
-        return new Voucher(1L, UUID.fromString("191e1f74-8c48-4099-9a49-717e8e5cf015"), campaign, new Status(1L, VoucherStatus.ISSUED));
+    private VoucherCheckView getMockValidVoucherWithEndDate() {
+        return new VoucherCheckView(1L, 2L, ISSUED, "Test Campaign", LocalDate.parse("2023-01-01"), LocalDate.parse("2099-01-01"), 0, CodeGeneratorType.RANDOM);
     }
 
-    private Voucher getMockExpiredVoucher() {
-        Campaign campaign = new Campaign(2L, "Expired Test Campaign", LocalDate.parse("2023-01-01"), LocalDate.parse("2023-01-02"));
-        return new Voucher(1L, UUID.fromString("4ada2f1c-c129-44a2-b85c-6ad71fb0614e"), campaign, new Status(1L, VoucherStatus.ISSUED));
+    private VoucherCheckView getMockExpiredVoucher() {
+        return new VoucherCheckView(1L, 2L, ISSUED, "Expired Test Campaign", LocalDate.parse("2023-01-01"), LocalDate.parse("2023-01-02"), 0, CodeGeneratorType.RANDOM);
     }
 
-    private Voucher getMockNotStartedVoucher() {
-        Campaign campaign = new Campaign(1L, "Test Campaign", LocalDate.parse("2025-01-01"), null);
-        return new Voucher(1L, UUID.fromString("72c72023-849b-4fe2-9731-bcb286ae405d"), campaign, new Status(1L, VoucherStatus.ISSUED));
+    private VoucherCheckView getMockNotStartedVoucher() {
+        return new VoucherCheckView(1L, 1L, ISSUED, "Test Campaign", LocalDate.parse("2099-01-01"), null, 0, CodeGeneratorType.RANDOM);
     }
 }
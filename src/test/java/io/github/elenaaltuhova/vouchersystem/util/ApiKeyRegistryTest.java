@@ -0,0 +1,91 @@
+package io.github.elenaaltuhova.vouchersystem.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ApiKeyRegistryTest {
+    private static final int KEYS = 5000;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("The configured token is accepted with all scopes and unknown keys are rejected")
+    public void configuredTokenHasAllScopes() {
+        //Given
+        ApiKeyRegistry registry = new ApiKeyRegistry("testkey", null);
+
+        //When
+        Optional<ApiKeyAuthentication> authentication = registry.authenticate("testkey");
+
+        //Then
+        assertThat(authentication.get().getName(), is(equalTo("default")));
+        assertThat(authentication.get().hasScope(ApiKeyRegistry.SCOPE_CAMPAIGNS), is(true));
+        assertThat(authentication.get().hasScope(ApiKeyRegistry.SCOPE_VOUCHERS), is(true));
+        assertThat(authentication.get().hasScope(ApiKeyRegistry.SCOPE_METRICS), is(true));
+        assertThat(registry.authenticate("testkey2"), is(equalTo(Optional.empty())));
+        assertThat(registry.authenticate(null), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    @DisplayName("Thousands of hashed keys are indexed with their scopes and reuse one authentication each")
+    public void keysFileIsIndexed() throws IOException {
+        //Given
+        StringBuilder lines = new StringBuilder("# name sha256-hex-of-key scopes\n");
+        for (int i = 0; i < KEYS; i++) {
+            lines.append("partner-").append(i).append(' ').append(ApiKeyRegistry.digestOf("key-" + i))
+                .append(i % 2 == 0 ? " vouchers\n" : " campaigns,metrics\n");
+        }
+        Path keysFile = Files.writeString(directory.resolve("api-keys.txt"), lines);
+
+        //When
+        ApiKeyRegistry registry = new ApiKeyRegistry("", new FileSystemResource(keysFile));
+
+        //Then
+        assertThat(registry.size(), is(equalTo(KEYS)));
+        for (int i = 0; i < KEYS; i++) {
+            ApiKeyAuthentication authentication = registry.authenticate("key-" + i).get();
+            assertThat(authentication.getName(), is(equalTo("partner-" + i)));
+            assertThat(authentication.hasScope(ApiKeyRegistry.SCOPE_VOUCHERS), is(i % 2 == 0));
+            assertThat(authentication.hasScope(ApiKeyRegistry.SCOPE_METRICS), is(i % 2 == 1));
+        }
+        assertThat(registry.authenticate("key-1").get() == registry.authenticate("key-1").get(), is(true));
+        assertThat(registry.authenticate("key-" + KEYS), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    @DisplayName("A changed keys file is reloaded and a broken one keeps the loaded keys")
+    public void keysFileIsReloaded() throws IOException {
+        //Given
+        Path keysFile = Files.writeString(directory.resolve("api-keys.txt"), "first " + ApiKeyRegistry.digestOf("first-key") + " *\n");
+        ApiKeyRegistry registry = new ApiKeyRegistry("", new FileSystemResource(keysFile));
+
+        //When
+        Files.writeString(keysFile, "second " + ApiKeyRegistry.digestOf("second-key") + " vouchers\n");
+        Files.setLastModifiedTime(keysFile, FileTime.fromMillis(Files.getLastModifiedTime(keysFile).toMillis() + 1000));
+        registry.reload();
+        boolean firstAfterReload = registry.authenticate("first-key").isPresent();
+        boolean secondAfterReload = registry.authenticate("second-key").isPresent();
+
+        Files.writeString(keysFile, "broken line\n");
+        Files.setLastModifiedTime(keysFile, FileTime.fromMillis(Files.getLastModifiedTime(keysFile).toMillis() + 2000));
+        registry.reload();
+
+        //Then
+        assertThat(firstAfterReload, is(false));
+        assertThat(secondAfterReload, is(true));
+        assertThat(registry.authenticate("second-key").isPresent(), is(true));
+    }
+}